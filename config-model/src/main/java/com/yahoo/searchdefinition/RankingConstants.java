@@ -6,11 +6,14 @@ import com.yahoo.vespa.model.AbstractService;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 /**
  * Constant values for ranking/model execution tied to a search definition, or globally to an application
- * package
+ * package.
+ * This is thread safe, as global constants may be added by model conversion while search definitions are derived
+ * in parallel.
  *
  * @author bratseth
  */
@@ -18,7 +21,7 @@ public class RankingConstants {
 
     private final Map<String, RankingConstant> constants = new HashMap<>();
 
-    public void add(RankingConstant constant) {
+    public synchronized void add(RankingConstant constant) {
         constant.validate();
         String name = constant.getName();
         if (constants.containsKey(name))
@@ -26,19 +29,25 @@ public class RankingConstants {
         constants.put(name, constant);
     }
 
+    /** Adds the given constant unless a constant with the same name is already present */
+    public synchronized void addIfAbsent(RankingConstant constant) {
+        if ( ! constants.containsKey(constant.getName()))
+            add(constant);
+    }
+
     /** Returns the ranking constant with the given name, or null if not present */
-    public RankingConstant get(String name) {
+    public synchronized RankingConstant get(String name) {
         return constants.get(name);
     }
 
-    /** Returns a read-only map of the ranking constants in this indexed by name */
-    public Map<String, RankingConstant> asMap() {
-        return Collections.unmodifiableMap(constants);
+    /** Returns a read-only snapshot of the ranking constants in this indexed by name */
+    public synchronized Map<String, RankingConstant> asMap() {
+        return Collections.unmodifiableMap(new LinkedHashMap<>(constants));
     }
 
     /** Initiate sending of these constants to some services over file distribution */
     public void sendTo(Collection<? extends AbstractService> services) {
-        constants.values().forEach(constant -> constant.sendTo(services));
+        asMap().values().forEach(constant -> constant.sendTo(services));
     }
 
 }
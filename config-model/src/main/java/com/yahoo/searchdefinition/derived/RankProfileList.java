@@ -15,8 +15,11 @@ import com.yahoo.searchdefinition.Search;
 import com.yahoo.vespa.config.search.core.OnnxModelsConfig;
 import com.yahoo.vespa.config.search.core.RankingConstantsConfig;
 import com.yahoo.vespa.model.AbstractService;
+import com.yahoo.vespa.model.utils.Parallel;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.logging.Logger;
 
@@ -67,18 +70,23 @@ public class RankProfileList extends Derived implements RankProfilesConfig.Produ
                                     Search search,
                                     AttributeFields attributeFields,
                                     ModelContext.Properties deployProperties) {
-        if (search != null) { // profiles belonging to a search have a default profile
-            RawRankProfile defaultProfile = new RawRankProfile(rankProfileRegistry.get(search, "default"),
-                                                               queryProfiles, importedModels, attributeFields, deployProperties);
-            rankProfiles.put(defaultProfile.getName(), defaultProfile);
-        }
+        List<RankProfile> profiles = new ArrayList<>();
+        if (search != null) // profiles belonging to a search have a default profile
+            profiles.add(rankProfileRegistry.get(search, "default"));
 
         for (RankProfile rank : rankProfileRegistry.rankProfilesOf(search)) {
             if (search != null && "default".equals(rank.getName())) continue;
+            profiles.add(rank);
+        }
 
-            RawRankProfile rawRank = new RawRankProfile(rank, queryProfiles, importedModels, attributeFields, deployProperties);
+        // Compiling may add constants from models to the search, which are used to resolve types when
+        // compiling later profiles, so profiles are compiled in order, and then derived in parallel
+        List<RankProfile> compiledProfiles = new ArrayList<>(profiles.size());
+        for (RankProfile rank : profiles)
+            compiledProfiles.add(rank.compile(queryProfiles, importedModels));
+        for (RawRankProfile rawRank : Parallel.map(compiledProfiles, compiled -> new RawRankProfile(compiled, attributeFields,
+                                                                                                    deployProperties)))
             rankProfiles.put(rawRank.getName(), rawRank);
-        }
     }
 
     public Map<String, RawRankProfile> getRankProfiles() {
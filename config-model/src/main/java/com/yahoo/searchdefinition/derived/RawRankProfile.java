@@ -56,8 +56,16 @@ public class RawRankProfile implements RankProfilesConfig.Producer {
      * Creates a raw rank profile from the given rank profile
      */
     public RawRankProfile(RankProfile rankProfile, QueryProfileRegistry queryProfiles, ImportedMlModels importedModels, AttributeFields attributeFields, ModelContext.Properties deployProperties) {
-        this.name = rankProfile.getName();
-        compressedProperties = compress(new Deriver(rankProfile, queryProfiles, importedModels, attributeFields, deployProperties).derive());
+        this(rankProfile.compile(queryProfiles, importedModels), attributeFields, deployProperties);
+    }
+
+    /**
+     * Creates a raw rank profile from the given compiled rank profile.
+     * This does not modify any shared state, so raw profiles can be created from compiled profiles in parallel.
+     */
+    RawRankProfile(RankProfile compiled, AttributeFields attributeFields, ModelContext.Properties deployProperties) {
+        this.name = compiled.getName();
+        compressedProperties = compress(new Deriver(compiled, attributeFields, deployProperties).derive());
     }
 
     /**
@@ -163,12 +171,9 @@ public class RawRankProfile implements RankProfilesConfig.Producer {
         private Set<String> filterFields = new java.util.LinkedHashSet<>();
 
         /**
-         * Creates a raw rank profile from the given rank profile
+         * Creates a raw rank profile from the given compiled rank profile
          */
-        Deriver(RankProfile rankProfile, QueryProfileRegistry queryProfiles, ImportedMlModels importedModels,
-                       AttributeFields attributeFields, ModelContext.Properties deployProperties)
-        {
-            RankProfile compiled = rankProfile.compile(queryProfiles, importedModels);
+        Deriver(RankProfile compiled, AttributeFields attributeFields, ModelContext.Properties deployProperties) {
             attributeTypes = compiled.getAttributeTypes();
             queryFeatureTypes = compiled.getQueryFeatureTypes();
             deriveRankingFeatures(compiled, deployProperties);
@@ -23,6 +23,7 @@ import com.yahoo.config.provision.TransientException;
 import com.yahoo.config.provision.Zone;
 import com.yahoo.vespa.config.VespaVersion;
 import com.yahoo.vespa.model.application.validation.Validation;
+import com.yahoo.vespa.model.ml.CachingMlModelImporter;
 import org.xml.sax.SAXException;
 
 import java.io.IOException;
@@ -32,6 +33,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.logging.Logger;
+import java.util.stream.Collectors;
 
 /**
  * Factory for creating {@link VespaModel} instances.
@@ -60,7 +62,9 @@ public class VespaModelFactory implements ModelFactory {
             }
         }
         this.configModelRegistry = new MapConfigModelRegistry(modelBuilders);
-        this.modelImporters = modelImporters.allComponents();
+        this.modelImporters = modelImporters.allComponents().stream()
+                                            .map(CachingMlModelImporter::new)
+                                            .collect(Collectors.toList());
         this.zone = zone;
 
         this.clock = Clock.systemUTC();
@@ -89,6 +89,7 @@ public class VespaMetricSet {
         metrics.add(new Metric("configserver.latency.count"));
         metrics.add(new Metric("configserver.latency.average")); // TODO: Remove in Vespa 8
         metrics.add(new Metric("configserver.cacheConfigElems.last"));
+        metrics.add(new Metric("configserver.cacheConfigBytes.last"));
         metrics.add(new Metric("configserver.cacheChecksumElems.last"));
         metrics.add(new Metric("configserver.hosts.last"));
         metrics.add(new Metric("configserver.delayedResponses.count"));
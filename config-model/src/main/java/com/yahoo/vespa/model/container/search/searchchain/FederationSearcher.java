@@ -47,6 +47,7 @@ public class FederationSearcher extends Searcher<FederationSearcherModel> implem
                 searchChainId(searchChain.getGlobalComponentId().stringValue()).
                 timeoutMillis(resolvedOptions.getTimeoutInMilliseconds()).
                 requestTimeoutMillis(resolvedOptions.getRequestTimeoutInMilliseconds()).
+                hedgeAfterMillis(resolvedOptions.getHedgeAfterInMilliseconds()).
                 optional(resolvedOptions.getOptional()).
                 useByDefault(resolvedOptions.getUseByDefault()).
                 documentTypes(documentTypes);
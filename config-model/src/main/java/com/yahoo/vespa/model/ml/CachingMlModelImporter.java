@@ -0,0 +1,156 @@
+// Copyright Verizon Media. Licensed under the terms of the Apache 2.0 license. See LICENSE in the project root.
+package com.yahoo.vespa.model.ml;
+
+import ai.vespa.rankingexpression.importer.configmodelview.ImportedMlModel;
+import ai.vespa.rankingexpression.importer.configmodelview.MlModelImporter;
+import net.jpountz.xxhash.StreamingXXHash64;
+import net.jpountz.xxhash.XXHashFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.ref.SoftReference;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * A model importer which returns the model imported previously when the files of a model are unchanged,
+ * rather than importing it again. Importing large models is a significant part of building an application
+ * model, and most deployments do not change the models of the application.
+ *
+ * Imported models are only read when building application models, so they can be shared between them.
+ * Models are kept up to a total size of their model files, and only softly referenced, so the cache
+ * gives way to other use of memory.
+ */
+public class CachingMlModelImporter implements MlModelImporter {
+
+    /** The default max total size of the model files of the imported models to keep */
+    static final long defaultMaxCachedBytes = 1L << 30;
+
+    private final MlModelImporter importer;
+    private final long maxCachedBytes;
+
+    /** Imported models by name and fingerprint of the model files, in access order. Guarded by itself */
+    private final Map<String, CachedModel> cache = new LinkedHashMap<>(16, 0.75f, true);
+
+    /** The total size of the model files of the models in the cache */
+    private long cachedBytes = 0;
+
+    public CachingMlModelImporter(MlModelImporter importer) {
+        this(importer, defaultMaxCachedBytes);
+    }
+
+    CachingMlModelImporter(MlModelImporter importer, long maxCachedBytes) {
+        this.importer = importer;
+        this.maxCachedBytes = maxCachedBytes;
+    }
+
+    @Override
+    public boolean canImport(String modelPath) {
+        return importer.canImport(modelPath);
+    }
+
+    @Override
+    public ImportedMlModel importModel(String modelName, File modelPath) {
+        List<Path> files = filesOf(modelPath.toPath());
+        long size = sizeOf(files);
+        if (size > maxCachedBytes) return importer.importModel(modelName, modelPath);
+
+        String key = modelName + "@" + fingerprintOf(modelPath.toPath(), files);
+        synchronized (cache) {
+            CachedModel cached = cache.get(key);
+            if (cached != null) {
+                ImportedMlModel model = cached.model.get();
+                if (model != null) return model;
+                remove(key);
+            }
+        }
+        ImportedMlModel model = importer.importModel(modelName, modelPath);
+        synchronized (cache) {
+            remove(key);
+            cache.put(key, new CachedModel(model, size));
+            cachedBytes += size;
+            evict();
+        }
+        return model;
+    }
+
+    /** Removes the least recently used models, and those already collected, until the cache is within bounds */
+    private void evict() {
+        for (Iterator<CachedModel> oldest = cache.values().iterator(); oldest.hasNext(); ) {
+            CachedModel cached = oldest.next();
+            if (cachedBytes <= maxCachedBytes && cached.model.get() != null) continue;
+            oldest.remove();
+            cachedBytes -= cached.size;
+        }
+    }
+
+    private void remove(String key) {
+        CachedModel removed = cache.remove(key);
+        if (removed != null)
+            cachedBytes -= removed.size;
+    }
+
+    /** Returns the regular files of the given model file or directory, sorted by path */
+    private static List<Path> filesOf(Path modelPath) {
+        try (Stream<Path> paths = Files.walk(modelPath)) {
+            return paths.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException("Failed listing files of " + modelPath, e);
+        }
+    }
+
+    private static long sizeOf(List<Path> files) {
+        long size = 0;
+        for (Path file : files)
+            size += file.toFile().length();
+        return size;
+    }
+
+    /** Returns a hash of the relative names and contents of the given files */
+    private static String fingerprintOf(Path modelPath, List<Path> files) {
+        StreamingXXHash64 hasher = XXHashFactory.fastestInstance().newStreamingHash64(0);
+        byte[] buffer = new byte[1 << 16];
+        for (Path file : files) {
+            byte[] name = modelPath.relativize(file).toString().getBytes(StandardCharsets.UTF_8);
+            hasher.update(name, 0, name.length);
+            try (InputStream in = Files.newInputStream(file)) {
+                for (int read; (read = in.read(buffer)) > 0; )
+                    hasher.update(buffer, 0, read);
+            }
+            catch (IOException e) {
+                throw new UncheckedIOException("Failed reading " + file, e);
+            }
+        }
+        return files.size() + ":" + sizeOf(files) + ":" + Long.toHexString(hasher.getValue());
+    }
+
+    @Override
+    public String toString() {
+        return "caching " + importer;
+    }
+
+    private static class CachedModel {
+
+        private final SoftReference<ImportedMlModel> model;
+
+        /** The size of the model files of this */
+        private final long size;
+
+        CachedModel(ImportedMlModel model, long size) {
+            this.model = new SoftReference<>(model);
+            this.size = size;
+        }
+
+    }
+
+}
@@ -3,6 +3,8 @@ package com.yahoo.vespa.model.ml;
 
 import ai.vespa.rankingexpression.importer.configmodelview.ImportedMlFunction;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
 import com.yahoo.collections.Pair;
 import com.yahoo.config.application.api.ApplicationFile;
 import com.yahoo.config.application.api.ApplicationPackage;
@@ -56,6 +58,12 @@ import java.util.stream.Collectors;
  */
 public class ConvertedModel {
 
+    /**
+     * Locks on model names, held while a model store is written or read, as rank profiles using the same model
+     * may be compiled in parallel, and large constants are stored by the local model name
+     */
+    private static final Interner<String> storeLocks = Interners.newWeakInterner();
+
     private final ModelName modelName;
     private final String modelDescription;
     private final ImmutableMap<String, ExpressionFunction> expressions;
@@ -110,10 +118,12 @@ public class ConvertedModel {
                                             ImportedMlModel importedModel) {
         try {
             ModelStore modelStore = new ModelStore(rankProfile.applicationPackage(), modelName);
-            return new ConvertedModel(modelName,
-                                      modelDescription,
-                                      convertAndStore(importedModel, rankProfile, queryProfileRegistry, modelStore),
-                                      Optional.of(importedModel));
+            synchronized (storeLock(modelName)) {
+                return new ConvertedModel(modelName,
+                                          modelDescription,
+                                          convertAndStore(importedModel, rankProfile, queryProfileRegistry, modelStore),
+                                          Optional.of(importedModel));
+            }
         }
         catch (IllegalArgumentException e) {
             throw new IllegalArgumentException("In " + rankProfile + ": Could not create model '" + modelName +
@@ -126,10 +136,12 @@ public class ConvertedModel {
                                            RankProfile rankProfile) {
         try {
             ModelStore modelStore = new ModelStore(rankProfile.applicationPackage(), modelName);
-            return new ConvertedModel(modelName,
-                                      modelDescription,
-                                      convertStored(modelStore, rankProfile),
-                                      Optional.empty());
+            synchronized (storeLock(modelName)) {
+                return new ConvertedModel(modelName,
+                                          modelDescription,
+                                          convertStored(modelStore, rankProfile),
+                                          Optional.empty());
+            }
         }
         catch (IllegalArgumentException e) {
             throw new IllegalArgumentException("In " + rankProfile + ": Could not create model '" + modelName +
@@ -137,6 +149,10 @@ public class ConvertedModel {
         }
     }
 
+    private static Object storeLock(ModelName modelName) {
+        return storeLocks.intern(modelName.localName());
+    }
+
     /**
      * Returns all the output expressions of this indexed by name. The names consist of one or two parts
      * separated by dot, where the first part is the signature name
@@ -259,10 +275,8 @@ public class ConvertedModel {
         for (Pair<String, Tensor> constant : store.readSmallConstants())
             profile.addConstant(constant.getFirst(), asValue(constant.getSecond()));
 
-        for (RankingConstant constant : store.readLargeConstants()) {
-            if ( ! profile.rankingConstants().asMap().containsKey(constant.getName()))
-                profile.rankingConstants().add(constant);
-        }
+        for (RankingConstant constant : store.readLargeConstants())
+            profile.rankingConstants().addIfAbsent(constant);
 
         for (Pair<String, RankingExpression> function : store.readFunctions()) {
             addGeneratedFunctionToProfile(profile, function.getFirst(), function.getSecond());
@@ -295,10 +309,8 @@ public class ConvertedModel {
         }
         else {
             Path constantPath = store.writeLargeConstant(constantName, constantValue);
-            if ( ! profile.rankingConstants().asMap().containsKey(constantName)) {
-                profile.rankingConstants().add(new RankingConstant(constantName, constantValue.type(),
-                                                                   constantPath.toString()));
-            }
+            profile.rankingConstants().addIfAbsent(new RankingConstant(constantName, constantValue.type(),
+                                                                       constantPath.toString()));
         }
     }
 
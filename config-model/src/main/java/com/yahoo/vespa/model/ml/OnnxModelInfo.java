@@ -23,6 +23,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 /**
@@ -39,7 +40,7 @@ public class OnnxModelInfo {
     private final String defaultOutput;
     private final Map<String, OnnxTypeInfo> inputs;
     private final Map<String, OnnxTypeInfo> outputs;
-    private final Map<String, TensorType> vespaTypes = new HashMap<>();
+    private final Map<String, TensorType> vespaTypes = new ConcurrentHashMap<>();
 
     private OnnxModelInfo(Map<String, OnnxTypeInfo> inputs, Map<String, OnnxTypeInfo> outputs, String defaultOutput) {
         this.inputs = Collections.unmodifiableMap(inputs);
@@ -1,6 +1,8 @@
 // Copyright 2017 Yahoo Holdings. Licensed under the terms of the Apache 2.0 license. See LICENSE in the project root.
 package com.yahoo.vespa.model.search;
 
+import com.yahoo.collections.Pair;
+import com.yahoo.config.application.api.DeployLogger;
 import com.yahoo.config.model.deploy.DeployState;
 import com.yahoo.config.model.producer.AbstractConfigProducer;
 import com.yahoo.prelude.fastsearch.DocumentdbInfoConfig;
@@ -16,6 +18,7 @@ import com.yahoo.vespa.configdefinition.IlscriptsConfig;
 import com.yahoo.vespa.model.container.docproc.DocprocChain;
 import com.yahoo.vespa.model.content.DispatchSpec;
 import com.yahoo.vespa.model.content.SearchCoverage;
+import com.yahoo.vespa.model.utils.Parallel;
 
 import java.io.File;
 import java.util.ArrayList;
@@ -23,6 +26,9 @@ import java.util.Collections;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.logging.Level;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 /**
  * @author baldersheim
@@ -196,21 +202,49 @@ public class IndexedSearchCluster extends SearchCluster
 
     @Override
     protected void deriveAllSchemas(List<SchemaSpec> localSearches, DeployState deployState) {
-        for (SchemaSpec spec : localSearches) {
-            com.yahoo.searchdefinition.Search search = spec.getSearchDefinition().getSearch();
-            if ( ! (search instanceof DocumentOnlySearch)) {
-                DocumentDatabase db = new DocumentDatabase(this, search.getName(),
-                                                           new DerivedConfiguration(search,
-                                                                                    deployState.getDeployLogger(),
-                                                                                    deployState.getProperties(),
-                                                                                    deployState.rankProfileRegistry(),
-                                                                                    deployState.getQueryProfiles().getRegistry(),
-                                                                                    deployState.getImportedModels()));
-                // TODO: remove explicit adding of user configs when the complete content model is built using builders.
-                db.mergeUserConfigs(spec.getUserConfigs());
-                documentDbs.add(db);
-            }
+        List<SchemaSpec> schemas = localSearches.stream()
+                                                .filter(spec -> ! (spec.getSearchDefinition().getSearch() instanceof DocumentOnlySearch))
+                                                .collect(Collectors.toList());
+        // Deriving from one search definition does not modify others, so these are derived in parallel,
+        // each logging to its own buffer, which are logged in order afterwards
+        List<BufferedDeployLogger> loggers = schemas.stream().map(__ -> new BufferedDeployLogger()).collect(Collectors.toList());
+        List<DerivedConfiguration> derivedConfigurations;
+        try {
+            derivedConfigurations =
+                    Parallel.map(IntStream.range(0, schemas.size()).boxed().collect(Collectors.toList()),
+                                 i -> new DerivedConfiguration(schemas.get(i).getSearchDefinition().getSearch(),
+                                                               loggers.get(i),
+                                                               deployState.getProperties(),
+                                                               deployState.rankProfileRegistry(),
+                                                               deployState.getQueryProfiles().getRegistry(),
+                                                               deployState.getImportedModels()));
+        }
+        finally {
+            loggers.forEach(logger -> logger.logTo(deployState.getDeployLogger()));
+        }
+        for (int i = 0; i < schemas.size(); i++) {
+            SchemaSpec spec = schemas.get(i);
+            DocumentDatabase db = new DocumentDatabase(this, spec.getSearchDefinition().getSearch().getName(), derivedConfigurations.get(i));
+            // TODO: remove explicit adding of user configs when the complete content model is built using builders.
+            db.mergeUserConfigs(spec.getUserConfigs());
+            documentDbs.add(db);
+        }
+    }
+
+    /** A deploy logger which keeps messages until they are logged to another logger */
+    private static class BufferedDeployLogger implements DeployLogger {
+
+        private final List<Pair<Level, String>> messages = new ArrayList<>();
+
+        @Override
+        public void log(Level level, String message) {
+            messages.add(new Pair<>(level, message));
         }
+
+        void logTo(DeployLogger logger) {
+            messages.forEach(message -> logger.log(message.getFirst(), message.getSecond()));
+        }
+
     }
 
     public List<DocumentDatabase> getDocumentDbs() {
@@ -0,0 +1,70 @@
+// Copyright Verizon Media. Licensed under the terms of the Apache 2.0 license. See LICENSE in the project root.
+package com.yahoo.vespa.model.utils;
+
+import com.yahoo.concurrent.ThreadFactoryFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.function.Function;
+
+/**
+ * Applies a function to independent elements in parallel, for CPU bound work such as deriving configs from
+ * several search definitions or rank profiles.
+ *
+ * The work runs in a dedicated pool with one thread per processor, shared by all models built in this JVM,
+ * such that concurrent deployments cannot use more threads than this between them. The calling thread also
+ * runs any elements not yet started by the pool, which lets calls be nested without waiting for pool threads
+ * which are busy waiting themselves.
+ *
+ * Results are returned in the order of the input, and if any application fails, the exception of the
+ * first failing element is thrown as-is after all have completed, so the outcome does not depend on scheduling.
+ */
+public class Parallel {
+
+    private static final ExecutorService executor =
+            Executors.newFixedThreadPool(Math.max(1, Runtime.getRuntime().availableProcessors()),
+                                         ThreadFactoryFactory.getDaemonThreadFactory("config-model-parallel"));
+
+    private Parallel() {}
+
+    /** Returns the results of applying the given function to each of the given elements, in the same order */
+    public static <T, R> List<R> map(List<T> elements, Function<T, R> function) {
+        List<R> results = new ArrayList<>(elements.size());
+        if (elements.size() < 2) {
+            for (T element : elements)
+                results.add(function.apply(element));
+            return results;
+        }
+
+        List<FutureTask<R>> tasks = new ArrayList<>(elements.size());
+        for (T element : elements)
+            tasks.add(new FutureTask<>(() -> function.apply(element)));
+        for (FutureTask<R> task : tasks.subList(1, tasks.size()))
+            executor.execute(task);
+        for (FutureTask<R> task : tasks)
+            task.run(); // does nothing if the task is already started by the pool
+
+        RuntimeException failure = null;
+        for (FutureTask<R> task : tasks) {
+            try {
+                results.add(task.get());
+            }
+            catch (ExecutionException e) {
+                if (failure == null)
+                    failure = e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause()
+                                                                       : new RuntimeException(e.getCause());
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while waiting for " + elements.size() + " tasks", e);
+            }
+        }
+        if (failure != null) throw failure;
+        return results;
+    }
+
+}
@@ -0,0 +1,114 @@
+// Copyright Verizon Media. Licensed under the terms of the Apache 2.0 license. See LICENSE in the project root.
+package com.yahoo.searchdefinition.derived;
+
+import ai.vespa.rankingexpression.importer.configmodelview.ImportedMlModels;
+import com.yahoo.searchdefinition.RankProfile;
+import com.yahoo.searchdefinition.SearchBuilder;
+import com.yahoo.searchdefinition.parser.ParseException;
+import com.yahoo.vespa.config.search.RankProfilesConfig;
+import org.junit.Ignore;
+import org.junit.Test;
+
+import java.util.logging.Logger;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Derives a search definition with many rank profiles, and logs the time spent deriving the profiles
+ * sequentially and in parallel, as done when preparing an application. The measurements are ignored,
+ * as they are a benchmark to be run manually, while a smaller search definition is used to check that
+ * parallel derivation gives the same config as sequential.
+ */
+public class RankProfileDerivationBenchmarkTestCase {
+
+    private static final Logger log = Logger.getLogger(RankProfileDerivationBenchmarkTestCase.class.getName());
+
+    private static final int NUM_PROFILES = 64;
+    private static final int NUM_FUNCTIONS = 40;
+
+    @Test
+    public void parallel_derivation_gives_the_same_config_as_sequential() throws ParseException {
+        SearchBuilder builder = SearchBuilder.createFromString(searchDefinition(8, 4));
+        ImportedMlModels models = new ImportedMlModels();
+        AttributeFields attributes = new AttributeFields(builder.getSearch());
+
+        RankProfilesConfig parallel = deriveInParallel(builder, attributes, models);
+        assertEquals(8 + 2, parallel.rankprofile().size()); // including "default" and "unranked"
+        assertEquals(deriveSequentially(builder, attributes, models), parallel);
+    }
+
+    @Test
+    @Ignore
+    public void runRankProfileDerivationMeasurements() throws ParseException {
+        SearchBuilder builder = SearchBuilder.createFromString(searchDefinition(NUM_PROFILES, NUM_FUNCTIONS));
+        ImportedMlModels models = new ImportedMlModels();
+        AttributeFields attributes = new AttributeFields(builder.getSearch());
+
+        for (int i = 0; i < 3; i++) { // warmup
+            deriveSequentially(builder, attributes, models);
+            deriveInParallel(builder, attributes, models);
+        }
+
+        long sequentialNanos = System.nanoTime();
+        RankProfilesConfig sequential = deriveSequentially(builder, attributes, models);
+        sequentialNanos = System.nanoTime() - sequentialNanos;
+
+        long parallelNanos = System.nanoTime();
+        RankProfilesConfig parallel = deriveInParallel(builder, attributes, models);
+        parallelNanos = System.nanoTime() - parallelNanos;
+
+        assertEquals(NUM_PROFILES + 2, parallel.rankprofile().size()); // including "default" and "unranked"
+        assertEquals(sequential, parallel);
+        log.info(String.format("Deriving %d rank profiles: %d ms sequentially, %d ms in parallel on %d cores",
+                               parallel.rankprofile().size(),
+                               sequentialNanos / 1_000_000,
+                               parallelNanos / 1_000_000,
+                               Runtime.getRuntime().availableProcessors()));
+    }
+
+    private static RankProfilesConfig deriveSequentially(SearchBuilder builder, AttributeFields attributes, ImportedMlModels models) {
+        RankProfilesConfig.Builder config = new RankProfilesConfig.Builder();
+        new RawRankProfile(builder.getRankProfileRegistry().get(builder.getSearch(), "default"),
+                           builder.getQueryProfileRegistry(), models, attributes).getConfig(config);
+        for (RankProfile profile : builder.getRankProfileRegistry().rankProfilesOf(builder.getSearch())) {
+            if (profile.getName().equals("default")) continue;
+            new RawRankProfile(profile, builder.getQueryProfileRegistry(), models, attributes).getConfig(config);
+        }
+        return new RankProfilesConfig(config);
+    }
+
+    private static RankProfilesConfig deriveInParallel(SearchBuilder builder, AttributeFields attributes, ImportedMlModels models) {
+        RankProfilesConfig.Builder config = new RankProfilesConfig.Builder();
+        new DerivedConfiguration(builder.getSearch(), builder.getRankProfileRegistry(), builder.getQueryProfileRegistry(), models)
+                .getRankProfileList().getConfig(config);
+        return new RankProfilesConfig(config);
+    }
+
+    private static String searchDefinition(int numProfiles, int numFunctions) {
+        StringBuilder sd = new StringBuilder();
+        sd.append("search test {\n");
+        sd.append("  document test {\n");
+        for (int i = 0; i < 10; i++)
+            sd.append("    field f").append(i).append(" type double { indexing: attribute }\n");
+        sd.append("  }\n");
+        for (int p = 0; p < numProfiles; p++) {
+            sd.append("  rank-profile p").append(p).append(" {\n");
+            for (int f = 0; f < numFunctions; f++) {
+                sd.append("    function fun").append(f).append("() {\n");
+                sd.append("      expression: ");
+                if (f > 0)
+                    sd.append("fun").append(f - 1).append(" + ");
+                for (int i = 0; i < 10; i++)
+                    sd.append(i > 0 ? " + " : "").append(p + f + i).append(" * attribute(f").append(i).append(")");
+                sd.append("\n    }\n");
+            }
+            sd.append("    first-phase {\n");
+            sd.append("      expression: fun").append(numFunctions - 1).append("\n");
+            sd.append("    }\n");
+            sd.append("  }\n");
+        }
+        sd.append("}\n");
+        return sd.toString();
+    }
+
+}
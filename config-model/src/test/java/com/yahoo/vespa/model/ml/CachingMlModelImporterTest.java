@@ -0,0 +1,109 @@
+// Copyright Verizon Media. Licensed under the terms of the Apache 2.0 license. See LICENSE in the project root.
+package com.yahoo.vespa.model.ml;
+
+import ai.vespa.rankingexpression.importer.configmodelview.ImportedMlFunction;
+import ai.vespa.rankingexpression.importer.configmodelview.ImportedMlModel;
+import ai.vespa.rankingexpression.importer.configmodelview.MlModelImporter;
+import com.yahoo.io.IOUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class CachingMlModelImporterTest {
+
+    @Rule
+    public TemporaryFolder tmpFolder = new TemporaryFolder();
+
+    @Test
+    public void unchanged_models_are_not_imported_again() throws IOException {
+        CountingImporter counting = new CountingImporter();
+        CachingMlModelImporter importer = new CachingMlModelImporter(counting);
+
+        File first = writeModel("session1", "content");
+        File second = writeModel("session2", "content");
+        File changed = writeModel("session3", "changed content");
+
+        ImportedMlModel model = importer.importModel("my_model", first);
+        assertSame(model, importer.importModel("my_model", second));
+        assertEquals(1, counting.imports);
+
+        assertNotSame(model, importer.importModel("my_model", changed));
+        assertNotSame(model, importer.importModel("other_model", first));
+        assertEquals(3, counting.imports);
+    }
+
+    @Test
+    public void cache_is_bounded_by_size_of_model_files() throws IOException {
+        CountingImporter counting = new CountingImporter();
+        File modelFile = writeModel("session", "content");
+        CachingMlModelImporter importer = new CachingMlModelImporter(counting, 3 * modelFile.length());
+
+        for (int i = 0; i < 4; i++)
+            importer.importModel("model" + i, modelFile);
+        importer.importModel("model3", modelFile);
+        importer.importModel("model1", modelFile);
+        assertEquals(4, counting.imports);
+        importer.importModel("model0", modelFile);
+        assertEquals(5, counting.imports);
+
+        File largeModel = writeModel("large", "much larger content than the cache can hold");
+        importer.importModel("large", largeModel);
+        importer.importModel("large", largeModel);
+        assertEquals(7, counting.imports);
+    }
+
+    @Test
+    public void models_in_directories_are_cached_by_content() throws IOException {
+        CountingImporter counting = new CountingImporter();
+        CachingMlModelImporter importer = new CachingMlModelImporter(counting);
+
+        File first = writeModel("session1", "content").getParentFile();
+        File second = writeModel("session2", "content").getParentFile();
+        IOUtils.writeFile(new File(second, "extra.txt"), "extra", false);
+
+        ImportedMlModel model = importer.importModel("my_model", first);
+        assertNotSame(model, importer.importModel("my_model", second));
+        assertSame(model, importer.importModel("my_model", first));
+        assertEquals(2, counting.imports);
+    }
+
+    private File writeModel(String directory, String content) throws IOException {
+        File file = new File(tmpFolder.newFolder(directory), "model.onnx");
+        IOUtils.writeFile(file, content, false);
+        return file;
+    }
+
+    private static class CountingImporter implements MlModelImporter {
+
+        int imports = 0;
+
+        @Override
+        public boolean canImport(String modelPath) { return true; }
+
+        @Override
+        public ImportedMlModel importModel(String modelName, File modelPath) {
+            imports++;
+            return new ImportedMlModel() {
+                @Override public String name() { return modelName; }
+                @Override public String source() { return modelPath.toString(); }
+                @Override public Optional<String> inputTypeSpec(String input) { return Optional.empty(); }
+                @Override public Map<String, String> smallConstants() { return Map.of(); }
+                @Override public Map<String, String> largeConstants() { return Map.of(); }
+                @Override public Map<String, String> functions() { return Map.of(); }
+                @Override public List<ImportedMlFunction> outputExpressions() { return List.of(); }
+            };
+        }
+
+    }
+
+}
@@ -0,0 +1,47 @@
+// Copyright Verizon Media. Licensed under the terms of the Apache 2.0 license. See LICENSE in the project root.
+package com.yahoo.vespa.model.utils;
+
+import org.junit.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class ParallelTest {
+
+    @Test
+    public void results_are_in_input_order() {
+        List<Integer> input = IntStream.range(0, 1000).boxed().collect(Collectors.toList());
+        assertEquals(input.stream().map(i -> "#" + i).collect(Collectors.toList()),
+                     Parallel.map(input, i -> "#" + i));
+        assertEquals(List.of(), Parallel.map(List.of(), i -> i));
+    }
+
+    @Test
+    public void nested_calls_complete_when_outer_calls_occupy_the_pool() {
+        int width = Runtime.getRuntime().availableProcessors() * 2;
+        List<Integer> outer = IntStream.range(0, width).boxed().collect(Collectors.toList());
+        List<Integer> sums = Parallel.map(outer, i -> Parallel.map(outer, j -> i * j).stream().mapToInt(Integer::intValue).sum());
+        for (int i = 0; i < width; i++)
+            assertEquals(i * (width * (width - 1) / 2), (int) sums.get(i));
+    }
+
+    @Test
+    public void failure_of_first_failing_element_is_thrown_unchanged() {
+        List<Integer> input = IntStream.range(0, 100).boxed().collect(Collectors.toList());
+        try {
+            Parallel.map(input, i -> {
+                if (i % 10 == 3) throw new IllegalArgumentException("Element " + i + " is invalid");
+                return i;
+            });
+            fail("Expected exception");
+        }
+        catch (IllegalArgumentException e) {
+            assertEquals("Element 3 is invalid", e.getMessage());
+        }
+    }
+
+}
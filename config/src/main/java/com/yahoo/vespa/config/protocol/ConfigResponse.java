@@ -5,6 +5,7 @@ import com.yahoo.text.Utf8Array;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.function.LongConsumer;
 
 /**
  * A config response encapsulates the payload and some meta information. This makes it possible to
@@ -18,6 +19,11 @@ public interface ConfigResponse {
 
     Utf8Array getPayload();
 
+    /** Returns the payload of this with the given compression, converting it if necessary */
+    default Payload getPayload(CompressionType compressionType) {
+        return Payload.from(getPayload(), getCompressionInfo()).withCompression(compressionType);
+    }
+
     long getGeneration();
 
     boolean applyOnRestart();
@@ -36,4 +42,15 @@ public interface ConfigResponse {
 
     CompressionInfo getCompressionInfo();
 
+    /** Returns the number of payload bytes held by this, including any payloads converted and kept for reuse */
+    default long getHeldBytes() {
+        return getPayload().getByteLength();
+    }
+
+    /**
+     * Sets a listener which is called with the number of bytes of each payload this converts and keeps
+     * from now on, replacing any previous listener. Does nothing if this does not keep converted payloads.
+     */
+    default void setConvertedPayloadListener(LongConsumer listener) { }
+
 }
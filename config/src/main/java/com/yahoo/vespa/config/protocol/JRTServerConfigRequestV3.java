@@ -145,7 +145,7 @@ public class JRTServerConfigRequestV3 implements JRTServerConfigRequest {
 
     @Override
     public Payload payloadFromResponse(ConfigResponse response) {
-        return Payload.from(response.getPayload(), response.getCompressionInfo());
+        return response.getPayload(getCompressionType());
     }
 
     private DefContent getSchema() {
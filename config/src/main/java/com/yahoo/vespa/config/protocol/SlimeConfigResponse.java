@@ -6,6 +6,9 @@ import com.yahoo.vespa.config.ConfigPayload;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongConsumer;
 
 /**
  * Class for serializing config responses based on {@link com.yahoo.slime.Slime} implementing the {@link ConfigResponse} interface.
@@ -20,6 +23,11 @@ public class SlimeConfigResponse implements ConfigResponse {
     private final boolean applyOnRestart;
     private final String configMd5;
 
+    /** The payload in each compression requested so far, as responses are cached and returned to many clients */
+    private final Map<CompressionType, Payload> payloads = new ConcurrentHashMap<>();
+
+    private volatile LongConsumer convertedPayloadListener = bytes -> { };
+
     public static SlimeConfigResponse fromConfigPayload(ConfigPayload payload, long generation,
                                                         boolean applyOnRestart, String configMd5) {
         Utf8Array data = payload.toUtf8Array(true);
@@ -45,6 +53,16 @@ public class SlimeConfigResponse implements ConfigResponse {
         return payload;
     }
 
+    @Override
+    public Payload getPayload(CompressionType compressionType) {
+        return payloads.computeIfAbsent(compressionType, type -> {
+            Payload converted = Payload.from(payload, compressionInfo).withCompression(type);
+            if (converted.getData() != payload)
+                convertedPayloadListener.accept(converted.getData().getByteLength());
+            return converted;
+        });
+    }
+
     @Override
     public long getGeneration() {
         return generation;
@@ -60,7 +78,7 @@ public class SlimeConfigResponse implements ConfigResponse {
 
     @Override
     public void serialize(OutputStream os, CompressionType type) throws IOException {
-        os.write(Payload.from(payload, compressionInfo).withCompression(type).getData().getBytes());
+        os.write(getPayload(type).getData().getBytes());
     }
 
     @Override
@@ -73,4 +91,18 @@ public class SlimeConfigResponse implements ConfigResponse {
     @Override
     public CompressionInfo getCompressionInfo() { return compressionInfo; }
 
+    @Override
+    public long getHeldBytes() {
+        long bytes = payload.getByteLength();
+        for (Payload converted : payloads.values())
+            if (converted.getData() != payload) // payloads in the original compression share its data
+                bytes += converted.getData().getByteLength();
+        return bytes;
+    }
+
+    @Override
+    public void setConvertedPayloadListener(LongConsumer listener) {
+        this.convertedPayloadListener = listener;
+    }
+
 }
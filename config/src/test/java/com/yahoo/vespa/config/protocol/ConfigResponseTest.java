@@ -14,6 +14,7 @@ import java.nio.charset.StandardCharsets;
 import static org.hamcrest.core.Is.is;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertThat;
 
 /**
@@ -54,4 +55,15 @@ public class ConfigResponseTest {
         assertThat(baos.toString(), is("{\"boolval\":false,\"doubleval\":0.0,\"enumval\":\"VAL1\",\"intval\":0,\"longval\":0,\"stringval\":\"s\"}"));
     }
 
+    @Test
+    public void require_that_slime_response_compresses_payload_once() {
+        ConfigPayload configPayload = ConfigPayload.fromInstance(new SimpletypesConfig(new SimpletypesConfig.Builder()));
+        ConfigResponse response = SlimeConfigResponse.fromConfigPayload(configPayload, 3, false, "mymd5");
+        Payload compressed = response.getPayload(CompressionType.LZ4);
+        assertThat(compressed.getCompressionInfo().getCompressionType(), is(CompressionType.LZ4));
+        assertThat(compressed.getCompressionInfo().getUncompressedSize(), is(response.getPayload().getByteLength()));
+        assertSame(compressed, response.getPayload(CompressionType.LZ4));
+        assertSame(response.getPayload(), response.getPayload(CompressionType.UNCOMPRESSED).getData());
+    }
+
 }
@@ -8,7 +8,11 @@ import com.yahoo.vespa.config.buildergen.ConfigDefinition;
 import com.yahoo.vespa.config.protocol.ConfigResponse;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 
 /**
  * Cache that holds configs and config definitions (builtin and user config definitions).
@@ -23,7 +27,10 @@ public class ServerCache {
     // NOTE: The reason we do a double mapping here is to de-dupe configs that have the same md5.
     private final Map<ConfigCacheKey, String> md5Sums = new ConcurrentHashMap<>();
     private final Map<String, ConfigResponse> md5ToConfig = new ConcurrentHashMap<>();
+    private final AtomicLong configBytes = new AtomicLong();
 
+    /** Configs which are currently being resolved by some thread */
+    private final Map<ConfigCacheKey, CompletableFuture<ConfigResponse>> resolving = new ConcurrentHashMap<>();
 
     public ServerCache(ConfigDefinitionRepo builtinConfigDefinitions, ConfigDefinitionRepo userConfigDefinitions) {
         this.builtinConfigDefinitions = builtinConfigDefinitions;
@@ -37,7 +44,14 @@ public class ServerCache {
 
     public void put(ConfigCacheKey key, ConfigResponse config, String configMd5) {
         md5Sums.put(key, configMd5);
-        md5ToConfig.put(configMd5, config);
+        config.setConvertedPayloadListener(configBytes::addAndGet);
+        ConfigResponse previous = md5ToConfig.put(configMd5, config);
+        if (previous == config) return;
+        configBytes.addAndGet(config.getHeldBytes());
+        if (previous != null) {
+            previous.setConvertedPayloadListener(bytes -> { });
+            configBytes.addAndGet(-previous.getHeldBytes());
+        }
     }
 
     public ConfigResponse get(ConfigCacheKey key) {
@@ -46,6 +60,45 @@ public class ServerCache {
         return md5ToConfig.get(md5);
     }
 
+    /**
+     * Returns the config for the given key, resolving and caching it if it is not already cached.
+     * Concurrent calls for the same key wait for a single resolution, such that the subscribers which are
+     * all answered at once when a new config generation is activated, do not all resolve the same config.
+     * Failures to resolve are thrown to all the waiting callers.
+     */
+    public ConfigResponse computeIfAbsent(ConfigCacheKey key, Supplier<ConfigResponse> resolver) {
+        ConfigResponse config = get(key);
+        if (config != null) return config;
+
+        CompletableFuture<ConfigResponse> resolution = new CompletableFuture<>();
+        CompletableFuture<ConfigResponse> ongoing = resolving.putIfAbsent(key, resolution);
+        if (ongoing != null) return join(ongoing);
+        try {
+            config = get(key); // The previous resolution may have completed after we checked
+            if (config == null) {
+                config = resolver.get();
+                put(key, config, config.getConfigMd5());
+            }
+            resolution.complete(config);
+            return config;
+        } catch (RuntimeException | Error e) {
+            resolution.completeExceptionally(e);
+            throw e;
+        } finally {
+            resolving.remove(key, resolution);
+        }
+    }
+
+    private static ConfigResponse join(CompletableFuture<ConfigResponse> resolution) {
+        try {
+            return resolution.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+            if (e.getCause() instanceof Error) throw (Error) e.getCause();
+            throw e;
+        }
+    }
+
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder();
@@ -54,6 +107,7 @@ public class ServerCache {
         sb.append("user defs:    ").append(userConfigDefinitions.getConfigDefinitions().size()).append("\n");
         sb.append("md5sums:      ").append(md5Sums.size()).append("\n");
         sb.append("md5ToConfig:  ").append(md5ToConfig.size()).append("\n");
+        sb.append("configBytes:  ").append(configBytes.get()).append("\n");
 
         return sb.toString();
     }
@@ -79,4 +133,13 @@ public class ServerCache {
         return md5Sums.size();
     }
 
+    /**
+     * The total size of the payloads held by the {@link ConfigResponse} elements, including payloads
+     * converted to other compression types when served
+     * @return bytes
+     */
+    public long configBytes() {
+        return configBytes.get();
+    }
+
 }
@@ -118,8 +118,22 @@ public class Application implements ModelResult {
                 metricUpdater.incrementProcTime(System.currentTimeMillis() - start);
                 return config;
             }
+            // Requests for this config arriving while it is resolved, e.g. after activation, wait for that resolution
+            config = cache.computeIfAbsent(cacheKey, () -> createConfigResponse(req, responseFactory));
+            metricUpdater.incrementProcTime(System.currentTimeMillis() - start);
+            metricUpdater.setCacheConfigElems(cache.configElems());
+            metricUpdater.setCacheChecksumElems(cache.checkSumElems());
+            metricUpdater.setCacheConfigBytes(cache.configBytes());
+            return config;
         }
 
+        ConfigResponse configResponse = createConfigResponse(req, responseFactory);
+        metricUpdater.incrementProcTime(System.currentTimeMillis() - start);
+        return configResponse;
+    }
+
+    private ConfigResponse createConfigResponse(GetConfigRequest req, ConfigResponseFactory responseFactory) {
+        ConfigKey<?> configKey = req.getConfigKey();
         ConfigDefinition def = getTargetDef(req);
         if (def == null) {
             metricUpdater.incrementFailedRequests();
@@ -158,16 +172,7 @@ public class Application implements ModelResult {
             throw new ConfigurationRuntimeException("Unable to get config for " + app, e);
         }
 
-        ConfigResponse configResponse = responseFactory.createResponse(payload,
-                                                                       applicationGeneration,
-                                                                       applyOnRestart);
-        metricUpdater.incrementProcTime(System.currentTimeMillis() - start);
-        if (useCache(req)) {
-            cache.put(cacheKey, configResponse, configResponse.getConfigMd5());
-            metricUpdater.setCacheConfigElems(cache.configElems());
-            metricUpdater.setCacheChecksumElems(cache.checkSumElems());
-        }
-        return configResponse;
+        return responseFactory.createResponse(payload, applicationGeneration, applyOnRestart);
     }
 
     private boolean useCache(GetConfigRequest request) {
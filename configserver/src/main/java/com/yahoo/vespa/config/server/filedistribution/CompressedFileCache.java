@@ -0,0 +1,178 @@
+// Copyright Verizon Media. Licensed under the terms of the Apache 2.0 license. See LICENSE in the project root.
+package com.yahoo.vespa.config.server.filedistribution;
+
+import com.yahoo.config.FileReference;
+import com.yahoo.io.IOUtils;
+import com.yahoo.vespa.filedistribution.CompressedFileReference;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Compressed archives of file references which are directories, such that each is compressed once,
+ * rather than once per node requesting it. File references are named by their content, so an archive
+ * is valid for as long as it is kept.
+ *
+ * The most recently used archives are kept, up to a total size, except that the newest archive is kept
+ * until the next is added even if it alone exceeds this. Archives are acquired for serving and closed
+ * when served, and an archive which is evicted while it is being served is deleted when closed.
+ */
+class CompressedFileCache {
+
+    private static final Logger log = Logger.getLogger(CompressedFileCache.class.getName());
+
+    private final File cacheDir;
+    private final long maxBytes;
+
+    /** Archives by reference and format, in access order. Guarded by itself, as are the fields of each entry. */
+    private final Map<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    /** The total size of the archives in entries which are compressed */
+    private long bytes = 0;
+
+    CompressedFileCache(File cacheDir, long maxBytes) {
+        this.cacheDir = cacheDir;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Returns an archive of the given directory, compressing it if no archive exists.
+     * The archive is not deleted until the returned archive is closed.
+     */
+    Archive acquire(FileReference reference, File directory, CompressedFileReference.Format format) throws IOException {
+        String key = reference.value() + "." + format.name();
+        Entry entry;
+        boolean compress = false;
+        synchronized (entries) {
+            entry = entries.get(key);
+            if (entry == null) {
+                entry = new Entry();
+                entries.put(key, entry);
+                compress = true;
+            }
+            entry.users++;
+        }
+
+        if (compress)
+            compress(key, entry, directory, format);
+
+        try {
+            return new Archive(entry, entry.file.join());
+        }
+        catch (CompletionException e) {
+            release(entry);
+            if (e.getCause() instanceof IOException) throw (IOException) e.getCause();
+            if (e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+            throw e;
+        }
+    }
+
+    void close() {
+        synchronized (entries) {
+            entries.clear();
+            bytes = 0;
+        }
+        IOUtils.recursiveDeleteDir(cacheDir);
+    }
+
+    private void compress(String key, Entry entry, File directory, CompressedFileReference.Format format) {
+        File file = null;
+        try {
+            Files.createDirectories(cacheDir.toPath());
+            file = Files.createTempFile(cacheDir.toPath(), "filereferencedata", key).toFile();
+            File archive = CompressedFileReference.compress(directory.getParentFile(), file, format);
+            synchronized (entries) {
+                entry.size = archive.length();
+                if (entries.get(key) == entry) {
+                    bytes += entry.size;
+                    evictAllBut(entry);
+                }
+            }
+            entry.file.complete(archive);
+        }
+        catch (IOException | RuntimeException e) {
+            if (file != null)
+                delete(file);
+            synchronized (entries) {
+                entries.remove(key, entry);
+                entry.evicted = true;
+            }
+            entry.file.completeExceptionally(e);
+        }
+    }
+
+    /** Removes the least recently used compressed archives, except the given one, until the total size is within bounds */
+    private void evictAllBut(Entry newest) {
+        for (Iterator<Entry> oldest = entries.values().iterator(); bytes > maxBytes && oldest.hasNext(); ) {
+            Entry entry = oldest.next();
+            if (entry == newest) continue;
+            if (entry.size < 0) continue; // still compressing
+            oldest.remove();
+            bytes -= entry.size;
+            entry.evicted = true;
+            if (entry.users == 0)
+                entry.file.thenAccept(CompressedFileCache::delete);
+        }
+    }
+
+    private void release(Entry entry) {
+        synchronized (entries) {
+            entry.users--;
+            if (entry.evicted && entry.users == 0)
+                entry.file.thenAccept(CompressedFileCache::delete);
+        }
+    }
+
+    private static void delete(File file) {
+        if ( ! file.delete())
+            log.log(Level.FINE, () -> "Could not delete evicted archive " + file);
+    }
+
+    private static class Entry {
+
+        /** The compressed archive, completed when compressed */
+        private final CompletableFuture<File> file = new CompletableFuture<>();
+
+        /** The size of the compressed archive, or -1 if it is not compressed yet */
+        private long size = -1;
+
+        /** The number of acquired archives of this which are not closed */
+        private int users = 0;
+
+        /** Whether this is removed from the cache, such that its archive should be deleted when no longer used */
+        private boolean evicted = false;
+
+    }
+
+    /** An acquired archive, which is kept until this is closed */
+    class Archive implements AutoCloseable {
+
+        private final Entry entry;
+        private final File file;
+        private boolean closed = false;
+
+        private Archive(Entry entry, File file) {
+            this.entry = entry;
+            this.file = file;
+        }
+
+        File file() { return file; }
+
+        @Override
+        public void close() {
+            if (closed) return;
+            closed = true;
+            release(entry);
+        }
+
+    }
+
+}
@@ -15,15 +15,18 @@ import com.yahoo.vespa.filedistribution.FileReferenceData;
 import com.yahoo.vespa.filedistribution.EmptyFileReferenceData;
 import com.yahoo.vespa.filedistribution.FileReferenceDownload;
 import com.yahoo.vespa.filedistribution.LazyFileReferenceData;
-import com.yahoo.vespa.filedistribution.LazyTemporaryStorageFileReferenceData;
+import com.yahoo.vespa.flags.FlagSource;
+import com.yahoo.vespa.flags.Flags;
+import com.yahoo.vespa.flags.StringFlag;
 import com.yahoo.yolean.Exceptions;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
-import java.nio.file.Path;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -33,10 +36,15 @@ import static com.yahoo.vespa.config.server.filedistribution.FileDistributionUti
 public class FileServer {
     private static final Logger log = Logger.getLogger(FileServer.class.getName());
 
+    /** The max total size of the compressed archives of directories kept for serving */
+    private static final long compressedFileCacheBytes = 2L * 1024 * 1024 * 1024;
+
     private final FileDirectory root;
     private final ExecutorService pushExecutor;
     private final ExecutorService pullExecutor;
     private final FileDownloader downloader;
+    private final CompressedFileCache compressedFiles;
+    private final Supplier<CompressedFileReference.Format> compressionFormat;
 
     private enum FileApiErrorCodes {
         OK(0, "OK"),
@@ -69,9 +77,10 @@ public class FileServer {
 
     @SuppressWarnings("WeakerAccess") // Created by dependency injection
     @Inject
-    public FileServer(ConfigserverConfig configserverConfig) {
+    public FileServer(ConfigserverConfig configserverConfig, FlagSource flagSource) {
         this(new File(Defaults.getDefaults().underVespaHome(configserverConfig.fileReferencesDir())),
-             new FileDownloader(createConnectionPool(configserverConfig)));
+             new FileDownloader(createConnectionPool(configserverConfig)),
+             compressionFormat(Flags.FILE_DISTRIBUTION_COMPRESSION_FORMAT.bindTo(flagSource)));
     }
 
     // For testing only
@@ -80,8 +89,19 @@ public class FileServer {
     }
 
     public FileServer(File rootDir, FileDownloader fileDownloader) {
+        this(rootDir, fileDownloader, () -> CompressedFileReference.Format.gzip);
+    }
+
+    FileServer(File rootDir, FileDownloader fileDownloader, Supplier<CompressedFileReference.Format> compressionFormat) {
         this.downloader = fileDownloader;
         this.root = new FileDirectory(rootDir);
+        this.compressionFormat = compressionFormat;
+        try {
+            this.compressedFiles = new CompressedFileCache(Files.createTempDirectory("filereferencedata").toFile(),
+                                                           compressedFileCacheBytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
         this.pushExecutor = Executors.newFixedThreadPool(Math.max(8, Runtime.getRuntime().availableProcessors()),
                                                          new DaemonThreadFactory("file server push"));
         this.pullExecutor = Executors.newFixedThreadPool(Math.max(8, Runtime.getRuntime().availableProcessors()),
@@ -142,9 +162,14 @@ public class FileServer {
         File file = root.getFile(reference);
 
         if (file.isDirectory()) {
-            Path tempFile = Files.createTempFile("filereferencedata", reference.value());
-            File compressedFile = CompressedFileReference.compress(file.getParentFile(), tempFile.toFile());
-            return new LazyTemporaryStorageFileReferenceData(reference, file.getName(), FileReferenceData.Type.compressed, compressedFile);
+            CompressedFileCache.Archive archive = compressedFiles.acquire(reference, file, compressionFormat.get());
+            try {
+                return new CachedArchiveFileReferenceData(reference, file.getName(), archive);
+            }
+            catch (IOException | RuntimeException e) {
+                archive.close();
+                throw e;
+            }
         } else {
             return new LazyFileReferenceData(reference, file.getName(), FileReferenceData.Type.file, file);
         }
@@ -202,6 +227,41 @@ public class FileServer {
         downloader.close();
         pullExecutor.shutdown();
         pushExecutor.shutdown();
+        compressedFiles.close();
+    }
+
+    private static Supplier<CompressedFileReference.Format> compressionFormat(StringFlag flag) {
+        return () -> {
+            String format = flag.value();
+            try {
+                return CompressedFileReference.Format.valueOf(format);
+            } catch (IllegalArgumentException e) {
+                log.log(Level.WARNING, "Unknown compression format '" + format + "', using gzip");
+                return CompressedFileReference.Format.gzip;
+            }
+        };
+    }
+
+    /** Data of a compressed archive from the cache, which is released when this is closed */
+    private static class CachedArchiveFileReferenceData extends LazyFileReferenceData {
+
+        private final CompressedFileCache.Archive archive;
+
+        CachedArchiveFileReferenceData(FileReference reference, String filename, CompressedFileCache.Archive archive) throws IOException {
+            super(reference, filename, Type.compressed, archive.file());
+            this.archive = archive;
+        }
+
+        @Override
+        public void close() {
+            try {
+                super.close();
+            }
+            finally {
+                archive.close();
+            }
+        }
+
     }
 
 }
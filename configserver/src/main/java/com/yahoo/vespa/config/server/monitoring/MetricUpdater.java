@@ -31,6 +31,7 @@ public class MetricUpdater {
     private static final String METRIC_APPLICATIONS = getMetricName("applications");
     private static final String METRIC_CACHE_CONFIG_ELEMENTS = getMetricName("cacheConfigElems");
     private static final String METRIC_CACHE_CONFIG_CHECKSUMS = getMetricName("cacheChecksumElems");
+    private static final String METRIC_CACHE_CONFIG_BYTES = getMetricName("cacheConfigBytes");
     private static final String METRIC_DELAYED_RESPONSES = getMetricName("delayedResponses");
     private static final String METRIC_RPCSERVER_WORK_QUEUE_SIZE = getMetricName("rpcServerWorkQueueSize");
 
@@ -76,6 +77,15 @@ public class MetricUpdater {
         staticMetrics.put(METRIC_CACHE_CONFIG_CHECKSUMS, elems);
     }
 
+    /**
+     * Sets the total size of the config payloads in the {@link ServerCache}
+     *
+     * @param bytes size in bytes
+     */
+    public void setCacheConfigBytes(long bytes) {
+        staticMetrics.put(METRIC_CACHE_CONFIG_BYTES, bytes);
+    }
+
     /**
      * Sets the number of outstanding responses (unchanged config in long poll)
      *
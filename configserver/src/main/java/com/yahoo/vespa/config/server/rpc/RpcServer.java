@@ -266,8 +266,7 @@ public class RpcServer implements Runnable, ReloadListener, TenantListener {
         }
         int responsesSent = 0;
         CompletionService<Boolean> completionService = new ExecutorCompletionService<>(executorService);
-        while (!responses.isEmpty()) {
-            DelayedConfigResponses.DelayedConfigResponse delayedConfigResponse = responses.remove(0);
+        for (DelayedConfigResponses.DelayedConfigResponse delayedConfigResponse : responses) {
             // Discard the ones that we have already answered
             // Doing cancel here deals with the case where the timer is already running or has not run, so
             // there is no need for any extra check.
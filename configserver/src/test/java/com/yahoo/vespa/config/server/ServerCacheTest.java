@@ -6,13 +6,25 @@ import com.yahoo.vespa.config.ConfigDefinitionKey;
 import com.yahoo.vespa.config.ConfigKey;
 import com.yahoo.vespa.config.ConfigPayload;
 import com.yahoo.vespa.config.buildergen.ConfigDefinition;
+import com.yahoo.vespa.config.protocol.CompressionType;
 import com.yahoo.vespa.config.protocol.ConfigResponse;
 import com.yahoo.vespa.config.protocol.SlimeConfigResponse;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
 
@@ -75,4 +87,52 @@ public class ServerCacheTest {
     public void testThatCacheWorksWithDifferentKeySameMd5() {
         assertTrue(cache.get(fooBarCacheKey) == cache.get(bazQuuxCacheKey));
     }
+
+    @Test
+    public void testThatPayloadSizeIsAccountedOncePerMd5() {
+        long size = SlimeConfigResponse.fromConfigPayload(ConfigPayload.empty(), 2, false, configMd5).getPayload().getByteLength();
+        assertEquals(2 * size, cache.configBytes());
+    }
+
+    @Test
+    public void testThatConvertedPayloadsAreAccounted() {
+        long before = cache.configBytes();
+        ConfigResponse response = cache.get(fooBarCacheKey);
+        long compressed = response.getPayload(CompressionType.LZ4).getData().getByteLength();
+        response.getPayload(CompressionType.UNCOMPRESSED);
+        assertEquals(before + compressed, cache.configBytes());
+    }
+
+    @Test
+    public void testThatConcurrentRequestsForSameConfigResolveItOnce() throws Exception {
+        ConfigCacheKey key = new ConfigCacheKey(new ConfigKey<>("foo", "id3", "bar"), defMd5);
+        ConfigResponse response = SlimeConfigResponse.fromConfigPayload(ConfigPayload.empty(), 3, false, "md5_3");
+        AtomicInteger resolutions = new AtomicInteger();
+        CountDownLatch resolving = new CountDownLatch(1);
+        CountDownLatch proceed = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<ConfigResponse>> results = new ArrayList<>();
+            results.add(executor.submit(() -> cache.computeIfAbsent(key, () -> {
+                resolutions.incrementAndGet();
+                resolving.countDown();
+                try { proceed.await(); } catch (InterruptedException e) { throw new RuntimeException(e); }
+                return response;
+            })));
+            resolving.await();
+            for (int i = 0; i < 7; i++)
+                results.add(executor.submit(() -> cache.computeIfAbsent(key, () -> {
+                    resolutions.incrementAndGet();
+                    return response;
+                })));
+            proceed.countDown();
+            for (Future<ConfigResponse> result : results)
+                assertSame(response, result.get(1, TimeUnit.MINUTES));
+            assertEquals(1, resolutions.get());
+            assertSame(response, cache.get(key));
+        }
+        finally {
+            executor.shutdownNow();
+        }
+    }
 }
@@ -0,0 +1,71 @@
+// Copyright Verizon Media. Licensed under the terms of the Apache 2.0 license. See LICENSE in the project root.
+package com.yahoo.vespa.config.server.filedistribution;
+
+import com.yahoo.config.FileReference;
+import com.yahoo.io.IOUtils;
+import com.yahoo.vespa.filedistribution.CompressedFileReference;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+public class CompressedFileCacheTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void archives_are_kept_while_acquired_and_deleted_when_evicted_and_released() throws IOException {
+        CompressedFileCache cache = new CompressedFileCache(temporaryFolder.newFolder("cache"), 1);
+        File first = directory("first");
+        File second = directory("second");
+
+        CompressedFileCache.Archive firstArchive = cache.acquire(new FileReference("first"), first, CompressedFileReference.Format.gzip);
+        CompressedFileCache.Archive again = cache.acquire(new FileReference("first"), first, CompressedFileReference.Format.gzip);
+        assertEquals(firstArchive.file(), again.file());
+        again.close();
+
+        // The cache is too small for more than the newest archive, so the first is evicted, but kept while in use
+        CompressedFileCache.Archive secondArchive = cache.acquire(new FileReference("second"), second, CompressedFileReference.Format.gzip);
+        assertTrue(firstArchive.file().exists());
+        firstArchive.close();
+        assertFalse(firstArchive.file().exists());
+
+        // The newest archive is kept until another is added
+        secondArchive.close();
+        assertTrue(secondArchive.file().exists());
+
+        CompressedFileCache.Archive recompressed = cache.acquire(new FileReference("first"), first, CompressedFileReference.Format.gzip);
+        assertNotEquals(firstArchive.file(), recompressed.file());
+        assertFalse(secondArchive.file().exists());
+        recompressed.close();
+        cache.close();
+    }
+
+    @Test
+    public void archives_are_kept_within_size_limit() throws IOException {
+        CompressedFileCache cache = new CompressedFileCache(temporaryFolder.newFolder("cache"), 1 << 20);
+        File first = directory("first");
+        CompressedFileCache.Archive archive = cache.acquire(new FileReference("first"), first, CompressedFileReference.Format.gzip);
+        archive.close();
+        assertTrue(archive.file().exists());
+        try (CompressedFileCache.Archive again = cache.acquire(new FileReference("first"), first, CompressedFileReference.Format.gzip)) {
+            assertEquals(archive.file(), again.file());
+        }
+        cache.close();
+    }
+
+    private File directory(String name) throws IOException {
+        File root = temporaryFolder.newFolder(name);
+        IOUtils.writeFile(root + "/subdir/f1", "content of " + name, false);
+        return new File(root, "subdir");
+    }
+
+}
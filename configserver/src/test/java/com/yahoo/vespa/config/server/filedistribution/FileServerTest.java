@@ -5,9 +5,11 @@ import com.yahoo.cloud.config.ConfigserverConfig;
 import com.yahoo.config.FileReference;
 import com.yahoo.io.IOUtils;
 import com.yahoo.net.HostName;
+import com.yahoo.vespa.filedistribution.CompressedFileReference;
 import com.yahoo.vespa.filedistribution.FileDownloader;
 import com.yahoo.vespa.filedistribution.FileReferenceData;
 import com.yahoo.vespa.filedistribution.FileReferenceDownload;
+import com.yahoo.vespa.flags.InMemoryFlagSource;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -17,11 +19,13 @@ import java.io.File;
 import java.io.IOException;
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 
 import static com.yahoo.vespa.config.server.filedistribution.FileDistributionUtil.emptyConnectionPool;
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
@@ -78,6 +82,22 @@ public class FileServerTest {
         assertEquals(new String(content.get()), "dummy-data");
     }
 
+    @Test
+    public void requireThatDirectoryIsCompressedOnceForAllReceivers() throws IOException, InterruptedException, ExecutionException {
+        File rootDir = getFileServerRootDir();
+        IOUtils.writeFile(rootDir + "/12z/subdir/f1", "dummy-data", true);
+        fileServer = new FileServer(rootDir, new MockFileDownloader(rootDir), () -> CompressedFileReference.Format.zstd);
+
+        CompletableFuture<byte []> first = new CompletableFuture<>();
+        fileServer.startFileServing("12z", new FileReceiver(first));
+        CompletableFuture<byte []> second = new CompletableFuture<>();
+        fileServer.startFileServing("12z", new FileReceiver(second));
+
+        assertArrayEquals(new byte[] { 'V', 'S', 'Z', 'C' }, Arrays.copyOf(first.get(), 4));
+        assertArrayEquals(first.get(), second.get());
+        fileServer.close();
+    }
+
     @Test
     public void requireThatDifferentNumberOfConfigServersWork() throws IOException {
         // Empty connection pool in tests etc.
@@ -116,7 +136,7 @@ public class FileServerTest {
     private FileServer createFileServer(ConfigserverConfig.Builder configBuilder) throws IOException {
         File fileReferencesDir = temporaryFolder.newFolder();
         configBuilder.fileReferencesDir(fileReferencesDir.getAbsolutePath());
-        return new FileServer(new ConfigserverConfig(configBuilder));
+        return new FileServer(new ConfigserverConfig(configBuilder), new InMemoryFlagSource());
     }
 
     private static class FileReceiver implements FileServer.Receiver {
@@ -7,11 +7,15 @@ import com.yahoo.concurrent.ThreadFactoryFactory;
 import com.yahoo.container.protect.ProcessTerminator;
 import com.yahoo.jdisc.Metric;
 
+import java.util.Optional;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.Executor;
 import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 /**
  * Default implementation of {@link DefaultContainerThreadpool}.
@@ -23,6 +27,8 @@ import java.util.concurrent.TimeUnit;
  */
 public class DefaultContainerThreadpool extends AbstractComponent implements AutoCloseable, ContainerThreadPool {
 
+    private static final Logger log = Logger.getLogger(DefaultContainerThreadpool.class.getName());
+
     private final ExecutorServiceWrapper threadpool;
 
     @Inject
@@ -34,6 +40,21 @@ public class DefaultContainerThreadpool extends AbstractComponent implements Aut
         ThreadPoolMetric threadPoolMetric = new ThreadPoolMetric(metric, config.name());
         int maxNumThreads = computeMaximumThreadPoolSize(config.maxThreads());
         int coreNumThreads = computeCoreThreadPoolSize(config.minThreads(), maxNumThreads);
+        Optional<ThreadFactory> virtualThreadFactory = config.virtualThreads()
+                ? virtualThreadFactory(config.name())
+                : Optional.empty();
+        InstrumentedExecutorService executor = virtualThreadFactory.isPresent()
+                ? createVirtualThreadExecutor(config, virtualThreadFactory.get(), maxNumThreads, threadPoolMetric)
+                : createThreadPoolExecutor(config, coreNumThreads, maxNumThreads, threadPoolMetric);
+        threadpool = new ExecutorServiceWrapper(
+                executor, threadPoolMetric, processTerminator, config.maxThreadExecutionTimeSeconds() * 1000L,
+                config.name(), config.queueSize());
+    }
+
+    private static InstrumentedExecutorService createThreadPoolExecutor(ContainerThreadpoolConfig config,
+                                                                        int coreNumThreads,
+                                                                        int maxNumThreads,
+                                                                        ThreadPoolMetric threadPoolMetric) {
         WorkerCompletionTimingThreadPoolExecutor executor =
                 new WorkerCompletionTimingThreadPoolExecutor(coreNumThreads, maxNumThreads,
                         (int)config.keepAliveTime() * 1000, TimeUnit.MILLISECONDS,
@@ -44,9 +65,24 @@ public class DefaultContainerThreadpool extends AbstractComponent implements Aut
         // get the dreaded thread locals initialized even if they will never run.
         // That counters what we we want to achieve with the Q that will prefer thread locality.
         executor.prestartAllCoreThreads();
-        threadpool = new ExecutorServiceWrapper(
-                executor, threadPoolMetric, processTerminator, config.maxThreadExecutionTimeSeconds() * 1000L,
-                config.name(), config.queueSize());
+        return executor;
+    }
+
+    /** Returns a factory of virtual threads, or empty with a warning if this JVM does not support them */
+    private static Optional<ThreadFactory> virtualThreadFactory(String name) {
+        Optional<ThreadFactory> threadFactory = VirtualThreadExecutor.virtualThreadFactory(name);
+        if (threadFactory.isEmpty())
+            log.log(Level.WARNING, "Virtual threads are not supported by this JVM, using a pool of platform threads for '" +
+                                   name + "'");
+        return threadFactory;
+    }
+
+    private static InstrumentedExecutorService createVirtualThreadExecutor(ContainerThreadpoolConfig config,
+                                                                           ThreadFactory threadFactory,
+                                                                           int maxNumThreads,
+                                                                           ThreadPoolMetric threadPoolMetric) {
+        return new VirtualThreadExecutor(threadFactory, maxNumThreads, computeQueueCapacity(config.queueSize(), maxNumThreads),
+                                         threadPoolMetric);
     }
 
     @Override public Executor executor() { return threadpool; }
@@ -77,9 +113,11 @@ public class DefaultContainerThreadpool extends AbstractComponent implements Aut
     private static BlockingQueue<Runnable> createQ(int queueSize, int maxThreads) {
         return (queueSize == 0)
                 ? new SynchronousQueue<>(false)
-                : (queueSize < 0)
-                ? new ArrayBlockingQueue<>(maxThreads*4)
-                : new ArrayBlockingQueue<>(queueSize);
+                : new ArrayBlockingQueue<>(computeQueueCapacity(queueSize, maxThreads));
+    }
+
+    private static int computeQueueCapacity(int queueSize, int maxThreads) {
+        return (queueSize < 0) ? maxThreads*4 : queueSize;
     }
 
     private static int computeMaximumThreadPoolSize(int maxNumThreads) {
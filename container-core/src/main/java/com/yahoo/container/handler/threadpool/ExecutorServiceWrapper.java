@@ -20,7 +20,7 @@ import java.util.concurrent.atomic.AtomicBoolean;
  */
 class ExecutorServiceWrapper extends ForwardingExecutorService {
 
-    private final WorkerCompletionTimingThreadPoolExecutor wrapped;
+    private final InstrumentedExecutorService wrapped;
     private final ThreadPoolMetric metric;
     private final ProcessTerminator processTerminator;
     private final long maxThreadExecutionTimeMillis;
@@ -28,7 +28,7 @@ class ExecutorServiceWrapper extends ForwardingExecutorService {
     private final Thread metricReporter;
     private final AtomicBoolean closed = new AtomicBoolean(false);
 
-    ExecutorServiceWrapper(WorkerCompletionTimingThreadPoolExecutor wrapped,
+    ExecutorServiceWrapper(InstrumentedExecutorService wrapped,
                            ThreadPoolMetric metric,
                            ProcessTerminator processTerminator,
                            long maxThreadExecutionTimeMillis,
@@ -53,7 +53,7 @@ class ExecutorServiceWrapper extends ForwardingExecutorService {
             while (!closed.get()) {
                 metric.reportThreadPoolSize(wrapped.getPoolSize());
                 metric.reportActiveThreads(wrapped.getActiveCount());
-                metric.reportWorkQueueSize(wrapped.getQueue().size());
+                metric.reportWorkQueueSize(wrapped.getQueueSize());
                 metric.reportWorkQueueCapacity(queueCapacity);
                 Thread.sleep(100);
             }
@@ -78,7 +78,7 @@ class ExecutorServiceWrapper extends ForwardingExecutorService {
             super.execute(command);
         } catch (RejectedExecutionException e) {
             metric.reportRejectRequest();
-            long timeSinceLastReturnedThreadMillis = System.currentTimeMillis() - wrapped.lastThreadAssignmentTimeMillis;
+            long timeSinceLastReturnedThreadMillis = System.currentTimeMillis() - wrapped.lastThreadAssignmentTimeMillis();
             if (timeSinceLastReturnedThreadMillis > maxThreadExecutionTimeMillis)
                 processTerminator.logAndDie("No worker threads have been available for " +
                         timeSinceLastReturnedThreadMillis + " ms. Shutting down.", true);
@@ -0,0 +1,24 @@
+// Copyright Verizon Media. Licensed under the terms of the Apache 2.0 license. See LICENSE in the project root.
+package com.yahoo.container.handler.threadpool;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * An executor service exposing the state needed to emit thread pool metrics and detect that it is stuck.
+ * Package private for testing
+ */
+interface InstrumentedExecutorService extends ExecutorService {
+
+    /** Returns the current number of threads of this */
+    int getPoolSize();
+
+    /** Returns the number of tasks currently executing */
+    int getActiveCount();
+
+    /** Returns the number of tasks waiting to execute */
+    int getQueueSize();
+
+    /** Returns the last time a task was given a thread to execute in */
+    long lastThreadAssignmentTimeMillis();
+
+}
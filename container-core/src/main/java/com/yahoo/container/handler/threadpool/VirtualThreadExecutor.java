@@ -0,0 +1,148 @@
+// Copyright Verizon Media. Licensed under the terms of the Apache 2.0 license. See LICENSE in the project root.
+package com.yahoo.container.handler.threadpool;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * An executor which runs each task in a new thread from the given factory, meant to be virtual threads, such
+ * that tasks blocking on I/O do not hold on to a platform thread. The number of concurrently executing tasks
+ * is limited by a semaphore, and tasks waiting for a permit are limited by the queue capacity, as with a
+ * bounded thread pool.
+ * Package private for testing
+ */
+class VirtualThreadExecutor extends AbstractExecutorService implements InstrumentedExecutorService {
+
+    private final ThreadFactory threadFactory;
+    private final ThreadPoolMetric metric;
+    private final int maxConcurrency;
+    private final int queueCapacity;
+    private final Semaphore permits;
+
+    /** The number of tasks started and not yet completed, whether executing or waiting for a permit */
+    private final AtomicInteger tasks = new AtomicInteger(0);
+    private final Object monitor = new Object();
+    private volatile boolean shutdown = false;
+    private volatile long lastThreadAssignmentTimeMillis = System.currentTimeMillis();
+
+    VirtualThreadExecutor(ThreadFactory threadFactory, int maxConcurrency, int queueCapacity, ThreadPoolMetric metric) {
+        this.threadFactory = threadFactory;
+        this.metric = metric;
+        this.maxConcurrency = maxConcurrency;
+        this.queueCapacity = queueCapacity;
+        this.permits = new Semaphore(maxConcurrency);
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        if (shutdown)
+            throw new RejectedExecutionException("Executor is shut down");
+        if (tasks.incrementAndGet() > maxConcurrency + queueCapacity) {
+            completed();
+            throw new RejectedExecutionException("All " + maxConcurrency + " permits are taken and " +
+                                                 queueCapacity + " tasks are waiting");
+        }
+        try {
+            threadFactory.newThread(() -> run(command)).start();
+        }
+        catch (RuntimeException | Error e) {
+            completed();
+            throw e;
+        }
+    }
+
+    private void run(Runnable command) {
+        try {
+            permits.acquireUninterruptibly();
+            try {
+                lastThreadAssignmentTimeMillis = System.currentTimeMillis();
+                command.run();
+            }
+            catch (RuntimeException | Error e) {
+                metric.reportUnhandledException(e);
+                throw e;
+            }
+            finally {
+                permits.release();
+            }
+        }
+        finally {
+            completed();
+        }
+    }
+
+    private void completed() {
+        if (tasks.decrementAndGet() == 0 && shutdown) {
+            synchronized (monitor) {
+                monitor.notifyAll();
+            }
+        }
+    }
+
+    @Override
+    public int getPoolSize() { return tasks.get(); }
+
+    @Override
+    public int getActiveCount() { return maxConcurrency - permits.availablePermits(); }
+
+    @Override
+    public int getQueueSize() { return Math.max(0, tasks.get() - getActiveCount()); }
+
+    @Override
+    public long lastThreadAssignmentTimeMillis() { return lastThreadAssignmentTimeMillis; }
+
+    @Override
+    public void shutdown() { shutdown = true; }
+
+    /** Stops accepting tasks. Running tasks are not interrupted, as the threads are not tracked. */
+    @Override
+    public List<Runnable> shutdownNow() {
+        shutdown();
+        return List.of();
+    }
+
+    @Override
+    public boolean isShutdown() { return shutdown; }
+
+    @Override
+    public boolean isTerminated() { return shutdown && tasks.get() == 0; }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        synchronized (monitor) {
+            while ( ! isTerminated()) {
+                long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                if (remainingMillis <= 0) return false;
+                monitor.wait(remainingMillis);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns a factory of virtual threads with names starting with the given prefix,
+     * or empty if virtual threads are not supported by this JVM.
+     */
+    static Optional<ThreadFactory> virtualThreadFactory(String namePrefix) {
+        try {
+            // Thread.ofVirtual().name(namePrefix, 0).factory(), which is only available from Java 21
+            Class<?> builder = Class.forName("java.lang.Thread$Builder");
+            Object ofVirtual = Thread.class.getMethod("ofVirtual").invoke(null);
+            Object named = builder.getMethod("name", String.class, long.class).invoke(ofVirtual, namePrefix + "-", 0L);
+            Method factory = builder.getMethod("factory");
+            return Optional.of((ThreadFactory) factory.invoke(named));
+        }
+        catch (ReflectiveOperationException e) {
+            return Optional.empty();
+        }
+    }
+
+}
@@ -15,7 +15,7 @@ import java.util.concurrent.atomic.AtomicLong;
  * @author baldersheim
  * @author bratseth
  */
-class WorkerCompletionTimingThreadPoolExecutor extends ThreadPoolExecutor {
+class WorkerCompletionTimingThreadPoolExecutor extends ThreadPoolExecutor implements InstrumentedExecutorService {
 
     volatile long lastThreadAssignmentTimeMillis = System.currentTimeMillis();
     private final AtomicLong startedCount = new AtomicLong(0);
@@ -54,5 +54,15 @@ class WorkerCompletionTimingThreadPoolExecutor extends ThreadPoolExecutor {
         return (int)(startedCount.get() - completedCount.get());
     }
 
+    @Override
+    public int getQueueSize() {
+        return getQueue().size();
+    }
+
+    @Override
+    public long lastThreadAssignmentTimeMillis() {
+        return lastThreadAssignmentTimeMillis;
+    }
+
 }
 
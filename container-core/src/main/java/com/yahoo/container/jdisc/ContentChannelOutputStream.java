@@ -11,7 +11,6 @@ import com.yahoo.yolean.Exceptions;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.nio.ByteBuffer;
-import java.util.Arrays;
 import java.util.logging.Logger;
 
 /**
@@ -74,7 +73,11 @@ public class ContentChannelOutputStream extends OutputStream implements Writable
      */
     @Override
     public void write(byte[] b, int off, int len) throws IOException {
-        nonCopyingWrite(Arrays.copyOfRange(b, off, off + len));
+        try {
+            buffer.appendCopy(b, off, len);
+        } catch (RuntimeException e) {
+            throw new IOException(Exceptions.toMessageString(e), e);
+        }
     }
 
     /**
@@ -84,7 +87,7 @@ public class ContentChannelOutputStream extends OutputStream implements Writable
      */
     @Override
     public void write(byte[] b) throws IOException {
-            nonCopyingWrite(Arrays.copyOf(b, b.length));
+        write(b, 0, b.length);
     }
 
     /**
@@ -21,14 +21,17 @@ public final class GaugeMetric extends MetricValue {
     private double sum;
     private long count;
     private final Optional<List<Tuple2<String, Double>>> percentiles;
+    private Optional<HistogramSketch> sketch;
 
-    private GaugeMetric(double last, double max, double min, double sum, long count, Optional<List<Tuple2<String, Double>>> percentiles) {
+    private GaugeMetric(double last, double max, double min, double sum, long count,
+                        Optional<List<Tuple2<String, Double>>> percentiles, Optional<HistogramSketch> sketch) {
         this.last = last;
         this.max = max;
         this.min = min;
         this.sum = sum;
         this.count = count;
         this.percentiles = percentiles;
+        this.sketch = sketch;
     }
 
     @Override
@@ -43,6 +46,7 @@ public final class GaugeMetric extends MetricValue {
         }
         sum += dval;
         ++count;
+        sketch.ifPresent(s -> s.record(dval));
     }
 
     @Override
@@ -57,6 +61,12 @@ public final class GaugeMetric extends MetricValue {
         }
         sum += rhs.sum;
         count += rhs.count;
+        if (rhs.sketch.isPresent()) {
+            if (sketch.isPresent())
+                sketch.get().merge(rhs.sketch.get());
+            else
+                sketch = Optional.of(rhs.sketch.get().copy());
+        }
     }
 
     /**
@@ -108,6 +118,14 @@ public final class GaugeMetric extends MetricValue {
         return percentiles;
     }
 
+    /**
+     * Returns a sketch of the distribution of the values of this in the time interval, if this is a histogram metric.
+     * Unlike percentiles, sketches can be merged across intervals and nodes.
+     */
+    public Optional<HistogramSketch> getSketch() {
+        return sketch;
+    }
+
     /**
      * Create a partial clone of this gauge where the value of 'last' is
      * carried over to the new gauge with all other fields left at defaults
@@ -119,20 +137,25 @@ public final class GaugeMetric extends MetricValue {
      */
     public GaugeMetric newWithPreservedLastValue() {
         // min/max set to enforce update of these values on first call to add()
-        return new GaugeMetric(last, Double.MIN_VALUE, Double.MAX_VALUE, 0, 0, Optional.empty());
+        return new GaugeMetric(last, Double.MIN_VALUE, Double.MAX_VALUE, 0, 0, Optional.empty(), Optional.empty());
     }
 
     public static GaugeMetric newSingleValue(Number val) {
         double dval = val.doubleValue();
-        return new GaugeMetric(dval, dval, dval, dval, 1, Optional.empty());
+        return new GaugeMetric(dval, dval, dval, dval, 1, Optional.empty(), Optional.empty());
     }
 
     public static GaugeMetric newInstance(double last, double max, double min, double sum, long count) {
-        return new GaugeMetric(last, max, min, sum, count, Optional.empty());
+        return new GaugeMetric(last, max, min, sum, count, Optional.empty(), Optional.empty());
     }
 
     public static GaugeMetric newInstance(double last, double max, double min, double sum, long count, Optional<List<Tuple2<String, Double>>> percentiles) {
-        return new GaugeMetric(last, max, min, sum, count, percentiles);
+        return new GaugeMetric(last, max, min, sum, count, percentiles, Optional.empty());
+    }
+
+    public static GaugeMetric newInstance(double last, double max, double min, double sum, long count,
+                                          Optional<List<Tuple2<String, Double>>> percentiles, Optional<HistogramSketch> sketch) {
+        return new GaugeMetric(last, max, min, sum, count, percentiles, sketch);
     }
 
 }
@@ -0,0 +1,184 @@
+// Copyright Verizon Media. Licensed under the terms of the Apache 2.0 license. See LICENSE in the project root.
+package com.yahoo.container.jdisc.state;
+
+import java.util.Arrays;
+
+/**
+ * A mergeable sketch of the distribution of a gauge value, from which quantiles can be computed with a
+ * bounded relative error. Values are counted in logarithmically sized buckets, such that sketches from
+ * different threads, time intervals and nodes can be merged exactly by adding bucket counts, which is not
+ * possible with precomputed percentiles.
+ *
+ * Memory use is bounded by collapsing the lowest buckets when the range of recorded values
+ * grows beyond {@link #maxBuckets}. Values close to or below zero are counted as zero, which suits
+ * latencies and sizes, which is what this is intended for.
+ *
+ * This is not thread safe: Record into thread local instances and merge them, as simplemetrics does.
+ */
+public final class HistogramSketch {
+
+    /** The maximal relative error of the quantiles returned by any sketch */
+    public static final double relativeAccuracy = 0.01;
+
+    /** The maximal number of buckets in a sketch, bounding its size to 16 kb */
+    public static final int maxBuckets = 2048;
+
+    /** Values smaller than this are counted as zero */
+    private static final double minIndexableValue = 1e-9;
+
+    private static final int initialBuckets = 32;
+    private static final double gamma = (1 + relativeAccuracy) / (1 - relativeAccuracy);
+    private static final double logGamma = Math.log(gamma);
+
+    private long count = 0;
+    private long zeroCount = 0;
+
+    /** The index of the first element in counts */
+    private int offset = 0;
+    private long[] counts = new long[0];
+
+    public HistogramSketch() { }
+
+    private HistogramSketch(long zeroCount, int offset, long[] counts) {
+        this.zeroCount = zeroCount;
+        this.count = zeroCount;
+        for (int i = 0; i < counts.length; i++) {
+            this.count += counts[i];
+            add(offset + i, counts[i]);
+        }
+    }
+
+    /** Records a single value in this */
+    public void record(double value) {
+        record(value, 1);
+    }
+
+    /** Records the given number of occurrences of a value in this */
+    public void record(double value, long occurrences) {
+        if (Double.isNaN(value) || occurrences <= 0) return;
+        count += occurrences;
+        if (value < minIndexableValue)
+            zeroCount += occurrences;
+        else
+            add(indexOf(value), occurrences);
+    }
+
+    /** Adds all the values recorded in the given sketch to this */
+    public void merge(HistogramSketch other) {
+        zeroCount += other.zeroCount;
+        count += other.count;
+        for (int i = 0; i < other.counts.length; i++)
+            add(other.offset + i, other.counts[i]);
+    }
+
+    /** Returns the total number of values recorded in this */
+    public long getCount() { return count; }
+
+    /** Returns the number of values recorded in this which are counted as zero */
+    public long getZeroCount() { return zeroCount; }
+
+    /** Returns the bucket index of the first element in {@link #getBucketCounts} */
+    public int getBucketOffset() {
+        return offset + firstNonEmptyBucket();
+    }
+
+    /**
+     * Returns a copy of the value counts of the buckets of this, from the first to the last non-empty one,
+     * where the bucket with index i counts the values in (gamma^(i-1), gamma^i], and
+     * gamma is (1 + relativeAccuracy) / (1 - relativeAccuracy).
+     */
+    public long[] getBucketCounts() {
+        int from = firstNonEmptyBucket();
+        int to = counts.length;
+        while (to > from && counts[to - 1] == 0) to--;
+        return Arrays.copyOfRange(counts, from, to);
+    }
+
+    /**
+     * Returns the value at the given quantile, with a relative error bounded by {@link #relativeAccuracy},
+     * or NaN if nothing is recorded in this.
+     *
+     * @param quantile the quantile, in [0, 1]
+     */
+    public double getValueAtQuantile(double quantile) {
+        if (quantile < 0 || quantile > 1) throw new IllegalArgumentException("Quantile must be in [0, 1], not " + quantile);
+        if (count == 0) return Double.NaN;
+
+        long rank = (long)(quantile * (count - 1));
+        if (rank < zeroCount) return 0;
+        long cumulative = zeroCount;
+        for (int i = 0; i < counts.length; i++) {
+            cumulative += counts[i];
+            if (cumulative > rank) return valueOf(offset + i);
+        }
+        throw new IllegalStateException("Bucket counts do not add up to the total count " + count);
+    }
+
+    /** Returns a copy of this which can be modified independently */
+    public HistogramSketch copy() {
+        HistogramSketch copy = new HistogramSketch();
+        copy.count = count;
+        copy.zeroCount = zeroCount;
+        copy.offset = offset;
+        copy.counts = Arrays.copyOf(counts, counts.length);
+        return copy;
+    }
+
+    /**
+     * Creates a sketch from the content of another, as returned by {@link #getZeroCount},
+     * {@link #getBucketOffset} and {@link #getBucketCounts}.
+     */
+    public static HistogramSketch fromBuckets(long zeroCount, int bucketOffset, long[] bucketCounts) {
+        return new HistogramSketch(zeroCount, bucketOffset, bucketCounts);
+    }
+
+    private void add(int index, long valueCount) {
+        if (valueCount == 0) return;
+        if (counts.length == 0) {
+            counts = new long[initialBuckets];
+            offset = index - initialBuckets / 2;
+        }
+        if (index < offset || index >= offset + counts.length)
+            index = resizeToInclude(index);
+        counts[index - offset] += valueCount;
+    }
+
+    private int firstNonEmptyBucket() {
+        int first = 0;
+        while (first < counts.length && counts[first] == 0) first++;
+        return first == counts.length ? 0 : first;
+    }
+
+    /**
+     * Grows the buckets to include the given index, collapsing the lowest buckets into the first
+     * remaining one if this would exceed the max size, and returns the index to add to.
+     */
+    private int resizeToInclude(int index) {
+        int low = Math.min(offset, index);
+        int high = Math.max(offset + counts.length - 1, index);
+        int length = Math.min(Math.max(high - low + 1, 2 * counts.length), maxBuckets);
+        int newOffset = (index < offset || high - low + 1 > length) ? high - length + 1 : low;
+
+        long[] newCounts = new long[length];
+        for (int i = 0; i < counts.length; i++)
+            newCounts[Math.max(offset + i, newOffset) - newOffset] += counts[i];
+        counts = newCounts;
+        offset = newOffset;
+        return Math.max(index, newOffset);
+    }
+
+    private static int indexOf(double value) {
+        return (int)Math.ceil(Math.log(value) / logGamma);
+    }
+
+    /** Returns the value representing the given bucket, which is within the relative accuracy of all values in it */
+    private static double valueOf(int index) {
+        return 2 * Math.pow(gamma, index) / (gamma + 1);
+    }
+
+    @Override
+    public String toString() {
+        return "histogram sketch of " + count + " values";
+    }
+
+}
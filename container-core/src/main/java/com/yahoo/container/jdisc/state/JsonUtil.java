@@ -1,6 +1,10 @@
 // Copyright Verizon Media. Licensed under the terms of the Apache 2.0 license. See LICENSE in the project root.
 package com.yahoo.container.jdisc.state;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
 /**
  * @author bjorncs
  */
@@ -12,4 +16,17 @@ class JsonUtil {
         return (((Double) value).isNaN() || ((Double) value).isInfinite()) ? 0.0 : value;
     }
 
+    /** Returns the given sketch as a json object from which it can be recreated and merged with others */
+    static ObjectNode toJson(HistogramSketch sketch, ObjectMapper jsonMapper) {
+        ObjectNode json = jsonMapper.createObjectNode();
+        json.put("relativeAccuracy", HistogramSketch.relativeAccuracy);
+        json.put("count", sketch.getCount());
+        json.put("zeroCount", sketch.getZeroCount());
+        json.put("bucketOffset", sketch.getBucketOffset());
+        ArrayNode bucketCounts = json.putArray("bucketCounts");
+        for (long count : sketch.getBucketCounts())
+            bucketCounts.add(count);
+        return json;
+    }
+
 }
@@ -28,6 +28,7 @@ import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 import static com.yahoo.container.jdisc.state.JsonUtil.sanitizeDouble;
+import static com.yahoo.container.jdisc.state.JsonUtil.toJson;
 import static com.yahoo.container.jdisc.state.StateHandler.getSnapshotProviderOrThrow;
 
 /**
@@ -54,6 +55,7 @@ public class MetricsPacketsHandler extends AbstractRequestHandler {
     static final String STATUS_MSG_KEY  = "status_msg";
     static final String METRICS_KEY     = "metrics";
     static final String DIMENSIONS_KEY  = "dimensions";
+    static final String SKETCHES_KEY    = "sketches";
 
     static final String PACKET_SEPARATOR = "\n\n";
 
@@ -188,6 +190,7 @@ public class MetricsPacketsHandler extends AbstractRequestHandler {
     private void addMetrics(MetricSet metricSet, ObjectNode packet) {
         ObjectNode metrics = jsonMapper.createObjectNode();
         packet.set(METRICS_KEY, metrics);
+        ObjectNode sketches = null;
         for (Map.Entry<String, MetricValue> metric : metricSet) {
             String name = metric.getKey();
             MetricValue value = metric.getValue();
@@ -203,6 +206,12 @@ public class MetricsPacketsHandler extends AbstractRequestHandler {
                         metrics.put(name + "." + prefixAndValue.first + "percentile", prefixAndValue.second.doubleValue());
                     }
                 }
+                if (gauge.getSketch().isPresent()) {
+                    // Kept apart from metrics, as consumers of these expect numbers only
+                    if (sketches == null)
+                        sketches = packet.putObject(SKETCHES_KEY);
+                    sketches.set(name, toJson(gauge.getSketch().get(), jsonMapper));
+                }
             } else {
                 throw new UnsupportedOperationException("Unknown metric class: " + value.getClass().getName());
             }
@@ -32,6 +32,7 @@ import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 import static com.yahoo.container.jdisc.state.JsonUtil.sanitizeDouble;
+import static com.yahoo.container.jdisc.state.JsonUtil.toJson;
 
 /**
  * A handler which returns state (health) information from this container instance: Status, metrics and vespa version.
@@ -249,6 +250,7 @@ public class StateHandler extends AbstractRequestHandler {
                     }
                 }
                 jsonTuple.set("values", valueFields);
+                gauge.getSketch().ifPresent(sketch -> jsonTuple.set("sketch", toJson(sketch, jsonMapper)));
             } else {
                 throw new UnsupportedOperationException(tuple.val.getClass().getName());
             }
@@ -5,15 +5,22 @@ import com.yahoo.collections.Tuple2;
 import com.yahoo.concurrent.Receiver;
 import com.yahoo.container.protect.ProcessTerminator;
 import com.yahoo.jdisc.Metric;
+import org.junit.Assume;
 import org.junit.Ignore;
 import org.junit.Test;
 import org.mockito.Mockito;
 
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Executor;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 /**
@@ -87,6 +94,60 @@ public class DefaultContainerThreadPoolTest {
         assertEquals(executor.getMaximumPoolSize()*4, executor.getQueue().remainingCapacity());
     }
 
+    @Test
+    public void testThatVirtualThreadModeLimitsConcurrency() throws InterruptedException {
+        Assume.assumeTrue(VirtualThreadExecutor.virtualThreadFactory("test").isPresent());
+        ContainerThreadpoolConfig config = new ContainerThreadpoolConfig(
+                new ContainerThreadpoolConfig.Builder().maxThreads(2).queueSize(1).virtualThreads(true));
+        ContainerThreadPool threadPool = new DefaultContainerThreadpool(config, Mockito.mock(Metric.class));
+        VirtualThreadExecutor executor = (VirtualThreadExecutor) ((ExecutorServiceWrapper) threadPool.executor()).delegate();
+
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(2);
+        AtomicInteger completed = new AtomicInteger();
+        Runnable task = () -> {
+            started.countDown();
+            try { release.await(); } catch (InterruptedException e) { }
+            completed.incrementAndGet();
+        };
+        threadPool.executor().execute(task);
+        threadPool.executor().execute(task);
+        threadPool.executor().execute(task); // waits for a permit
+        assertTrue(started.await(60, TimeUnit.SECONDS));
+        assertRejected(threadPool, task);
+        assertEquals(2, executor.getActiveCount());
+        assertEquals(3, executor.getPoolSize());
+        assertEquals(1, executor.getQueueSize());
+
+        release.countDown();
+        threadPool.close();
+        assertTrue(executor.isTerminated());
+        assertEquals(3, completed.get());
+        assertRejected(threadPool, task);
+    }
+
+    @Test
+    public void testThatVirtualThreadModeFallsBackToPooledThreadsWhenUnsupported() throws Exception {
+        Assume.assumeTrue(VirtualThreadExecutor.virtualThreadFactory("test").isEmpty());
+        ContainerThreadpoolConfig config = new ContainerThreadpoolConfig(
+                new ContainerThreadpoolConfig.Builder().maxThreads(2).minThreads(2).virtualThreads(true));
+        ContainerThreadPool threadPool = new DefaultContainerThreadpool(config, Mockito.mock(Metric.class));
+        ExecutorServiceWrapper wrapper = (ExecutorServiceWrapper) threadPool.executor();
+        assertTrue(wrapper.delegate() instanceof WorkerCompletionTimingThreadPoolExecutor);
+
+        Set<Thread> threads = ConcurrentHashMap.newKeySet();
+        for (int i = 0; i < 10; i++) {
+            CountDownLatch done = new CountDownLatch(1);
+            threadPool.executor().execute(() -> {
+                threads.add(Thread.currentThread());
+                done.countDown();
+            });
+            assertTrue(done.await(60, TimeUnit.SECONDS));
+        }
+        assertTrue("Threads are reused: " + threads, threads.size() <= 2);
+        threadPool.close();
+    }
+
     private class FlipIt implements Runnable {
         public final Receiver<Boolean> didItRun = new Receiver<>();
 
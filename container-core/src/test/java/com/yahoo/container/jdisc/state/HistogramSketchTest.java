@@ -0,0 +1,85 @@
+// Copyright Verizon Media. Licensed under the terms of the Apache 2.0 license. See LICENSE in the project root.
+package com.yahoo.container.jdisc.state;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class HistogramSketchTest {
+
+    @Test
+    public void testQuantilesAreWithinRelativeAccuracy() {
+        HistogramSketch sketch = new HistogramSketch();
+        for (int i = 1; i <= 10000; i++)
+            sketch.record(i / 10.0);
+        assertEquals(10000, sketch.getCount());
+        assertWithinAccuracy(0.1, sketch.getValueAtQuantile(0));
+        assertWithinAccuracy(500.0, sketch.getValueAtQuantile(0.5));
+        assertWithinAccuracy(990.0, sketch.getValueAtQuantile(0.99));
+        assertWithinAccuracy(999.0, sketch.getValueAtQuantile(0.999));
+        assertWithinAccuracy(1000.0, sketch.getValueAtQuantile(1));
+    }
+
+    @Test
+    public void testMergingEqualsRecordingInOne() {
+        Random random = new Random(1);
+        HistogramSketch all = new HistogramSketch();
+        HistogramSketch merged = new HistogramSketch();
+        for (int part = 0; part < 4; part++) {
+            HistogramSketch sketch = new HistogramSketch();
+            for (int i = 0; i < 1000; i++) {
+                double value = Math.exp(random.nextGaussian() * (part + 1));
+                sketch.record(value);
+                all.record(value);
+            }
+            merged.merge(sketch);
+        }
+        assertEquals(all.getCount(), merged.getCount());
+        for (double quantile : new double[] { 0, 0.1, 0.5, 0.9, 0.99, 0.999, 1 })
+            assertEquals(all.getValueAtQuantile(quantile), merged.getValueAtQuantile(quantile), 0);
+    }
+
+    @Test
+    public void testZeroesAndEmptySketches() {
+        HistogramSketch sketch = new HistogramSketch();
+        assertTrue(Double.isNaN(sketch.getValueAtQuantile(0.5)));
+        sketch.record(0);
+        sketch.record(-1);
+        sketch.record(5, 2);
+        assertEquals(4, sketch.getCount());
+        assertEquals(2, sketch.getZeroCount());
+        assertEquals(0, sketch.getValueAtQuantile(0.25), 0);
+        assertWithinAccuracy(5, sketch.getValueAtQuantile(1));
+    }
+
+    @Test
+    public void testMemoryIsBounded() {
+        HistogramSketch sketch = new HistogramSketch();
+        for (double value = 1e-6; value < 1e12; value *= 1.001)
+            sketch.record(value);
+        assertTrue(sketch.getBucketCounts().length <= HistogramSketch.maxBuckets);
+        assertWithinAccuracy(1e12, sketch.getValueAtQuantile(1));
+        assertWithinAccuracy(1e3, sketch.getValueAtQuantile(0.5));
+    }
+
+    @Test
+    public void testRecreatingFromBuckets() {
+        HistogramSketch sketch = new HistogramSketch();
+        sketch.record(0);
+        for (int i = 1; i <= 1000; i++)
+            sketch.record(i);
+        HistogramSketch copy = HistogramSketch.fromBuckets(sketch.getZeroCount(),
+                                                           sketch.getBucketOffset(),
+                                                           sketch.getBucketCounts());
+        assertEquals(sketch.getCount(), copy.getCount());
+        assertEquals(sketch.getValueAtQuantile(0.95), copy.getValueAtQuantile(0.95), 0);
+    }
+
+    private static void assertWithinAccuracy(double expected, double actual) {
+        assertEquals(expected, actual, expected * HistogramSketch.relativeAccuracy);
+    }
+
+}
@@ -10,11 +10,14 @@ import org.junit.Test;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 import static com.yahoo.container.jdisc.state.MetricsPacketsHandler.APPLICATION_KEY;
 import static com.yahoo.container.jdisc.state.MetricsPacketsHandler.DIMENSIONS_KEY;
 import static com.yahoo.container.jdisc.state.MetricsPacketsHandler.METRICS_KEY;
 import static com.yahoo.container.jdisc.state.MetricsPacketsHandler.PACKET_SEPARATOR;
+import static com.yahoo.container.jdisc.state.MetricsPacketsHandler.SKETCHES_KEY;
 import static com.yahoo.container.jdisc.state.MetricsPacketsHandler.STATUS_CODE_KEY;
 import static com.yahoo.container.jdisc.state.MetricsPacketsHandler.STATUS_MSG_KEY;
 import static com.yahoo.container.jdisc.state.MetricsPacketsHandler.TIMESTAMP_KEY;
@@ -96,6 +99,32 @@ public class MetricsPacketsHandlerTest extends StateHandlerTestBase {
         assertEquals(0.2, gaugeMetric.get("gauge.max").asDouble(), 0.1);
     }
 
+    @Test
+    public void sketches_are_output_apart_from_metrics() throws Exception {
+        var context = StateMetricContext.newInstance(Map.of("dim1", "value1"));
+        var sketch = new HistogramSketch();
+        for (int i = 1; i <= 100; i++)
+            sketch.record(i);
+        var gauge = GaugeMetric.newInstance(100, 100, 1, 5050, 100, Optional.empty(), Optional.of(sketch));
+        snapshotProvider.setSnapshot(new MetricSnapshot(0, 0, TimeUnit.MILLISECONDS,
+                                                        Map.of(context, new MetricSet(Map.of("latency", gauge)))));
+
+        List<JsonNode> packets = incrementTimeAndGetJsonPackets();
+        JsonNode packet = packets.get(1);
+        assertEquals(50.5, packet.get(METRICS_KEY).get("latency.average").asDouble(), 0.001);
+        assertTrue(packet.get(METRICS_KEY).get("latency") == null);
+
+        JsonNode json = packet.get(SKETCHES_KEY).get("latency");
+        assertEquals(100, json.get("count").asLong());
+        long[] bucketCounts = new long[json.get("bucketCounts").size()];
+        for (int i = 0; i < bucketCounts.length; i++)
+            bucketCounts[i] = json.get("bucketCounts").get(i).asLong();
+        HistogramSketch recreated = HistogramSketch.fromBuckets(json.get("zeroCount").asLong(),
+                                                                json.get("bucketOffset").asInt(),
+                                                                bucketCounts);
+        assertEquals(sketch.getValueAtQuantile(0.99), recreated.getValueAtQuantile(0.99), 0);
+    }
+
     @Test
     public void dimensions_from_context_are_included() throws Exception {
         var context = StateMetricContext.newInstance(Map.of("dim1", "value1"));
@@ -71,6 +71,12 @@ public class DocsumDefinition {
         return getField(index);
     }
 
+    /** Returns the index of the field with this name, or -1 if none */
+    public int getFieldIndex(String fieldName) {
+        Integer index = fieldNameToIndex.get(fieldName);
+        return index == null ? -1 : index;
+    }
+
     /**
      * Returns the given slime value as the type specified in this, or null if the type is not known.
      * Even in a correctly configured system we may encounter field names for which we do not know the type,
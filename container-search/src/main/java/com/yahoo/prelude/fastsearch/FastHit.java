@@ -56,7 +56,8 @@ public class FastHit extends Hit {
      * The reason we keep this rather than eagerly decoding into a the field map
      * is to reduce garbage collection and decoding cost, with the assumption
      * that most fields passes through the container with no processing most
-     * of the time.
+     * of the time. Values which are accessed are decoded once and kept in the summary
+     * data, in the slot given by the field's position in its docsum definition.
      */
     private List<SummaryData> summaries = Collections.emptyList();
 
@@ -154,7 +155,7 @@ public class FastHit extends Hit {
     public int compareTo(Hit other) {
         int cmpRes = 0;
         if ((sortData != null) && (other instanceof FastHit) && hasSortData(((FastHit) other).sortDataSorting)) {
-            cmpRes =  SortDataHitSorter.getComparator(sortDataSorting, null).compare(this, other);
+            cmpRes = compareSortData(this, (FastHit) other, sortDataSorting);
         }
         return (cmpRes != 0) ? cmpRes : super.compareTo(other);
     }
@@ -184,7 +185,7 @@ public class FastHit extends Hit {
     public void addSummary(DocsumDefinition docsumDef, Inspector value) {
         if (removedFields != null)
             removedFields.removeAll(docsumDef.fieldNames());
-        if ( ! (summaries instanceof ArrayList) ) summaries = new ArrayList<>(8);
+        if ( ! (summaries instanceof ArrayList) ) summaries = new ArrayList<>(2);
         summaries.add(0, new SummaryData(this, docsumDef, value, 1 + summaries.size()));
     }
 
@@ -238,10 +239,7 @@ public class FastHit extends Hit {
     public Object getField(String name) {
         Object value = super.getField(name);
         if (value != null) return value;
-        value = getSummaryValue(name);
-        if (value != null)
-            super.setField(name, value);
-        return value;
+        return getSummaryValue(name);
     }
 
     @Override
@@ -538,6 +536,12 @@ public class FastHit extends Hit {
         /** The index from the end of this summary in the list of summaries */
         private final int index;
 
+        /**
+         * The values decoded from this so far, indexed by field position in the docsum definition,
+         * or null if none have been decoded yet
+         */
+        private Object[] decodedValues = null;
+
         SummaryData(FastHit hit, DocsumDefinition type, Inspector data, int index) {
             this.hit = hit;
             this.type = type;
@@ -545,14 +549,38 @@ public class FastHit extends Hit {
             this.index = index;
         }
 
+        /** Returns the value of the given field decoded from this, or null if this does not have the field */
         Object getField(String name) {
-            return type.convert(name, data.field(name));
+            int fieldIndex = type.getFieldIndex(name);
+            if (fieldIndex < 0) return null;
+            if (decodedValues != null && decodedValues[fieldIndex] != null) return decodedValues[fieldIndex];
+
+            Inspector value = data.field(name);
+            if ( ! value.valid()) return null;
+            Object convertedValue = type.getField(fieldIndex).convert(value);
+            if (convertedValue != null) {
+                if (decodedValues == null)
+                    decodedValues = new Object[type.getFieldCount()];
+                decodedValues[fieldIndex] = convertedValue;
+            }
+            return convertedValue;
+        }
+
+        /**
+         * Returns the value of the given field in this, decoding it from the given raw value
+         * if it has not been decoded already, without keeping the decoded value.
+         */
+        private Object convert(String name, Inspector value) {
+            int fieldIndex = type.getFieldIndex(name);
+            if (fieldIndex < 0) return null;
+            if (decodedValues != null && decodedValues[fieldIndex] != null) return decodedValues[fieldIndex];
+            return type.getField(fieldIndex).convert(value);
         }
 
         void forEachField(BiConsumer<String, Object> consumer) {
             data.traverse((ObjectTraverser)(name, value) -> {
                 if (!shadowed(name) && !removed(name)) {
-                    Object convertedValue = type.convert(name, value);
+                    Object convertedValue = convert(name, value);
                     if (convertedValue != null)
                         consumer.accept(name, convertedValue);
                 }
@@ -568,7 +596,7 @@ public class FastHit extends Hit {
                             byte[] utf8Value = value.asUtf8();
                             consumer.accept(name, utf8Value, 0, utf8Value.length);
                         } else {
-                            Object convertedValue = fieldType.convert(value);
+                            Object convertedValue = convert(name, value);
                             if (convertedValue != null)
                                 consumer.accept(name, convertedValue);
                         }
@@ -578,7 +606,7 @@ public class FastHit extends Hit {
         }
 
         Iterator<Map.Entry<String, Object>> fieldIterator() {
-            return new SummaryDataFieldIterator(this, type, data.fields().iterator());
+            return new SummaryDataFieldIterator(this, data.fields().iterator());
         }
 
         Iterator<String> fieldNameIterator() {
@@ -651,19 +679,18 @@ public class FastHit extends Hit {
         /** Iterator over the fields in a SummaryData instance. Read only. */
         private static class SummaryDataFieldIterator extends SummaryDataIterator<Map.Entry<String, Object>> {
 
-            private final DocsumDefinition type;
+            private final SummaryData summaryData;
 
             SummaryDataFieldIterator(SummaryData summaryData,
-                                     DocsumDefinition type,
                                      Iterator<Map.Entry<String, Inspector>> fieldIterator) {
                 super(summaryData, fieldIterator);
-                this.type = type;
+                this.summaryData = summaryData;
                 advanceNext();
             }
 
             @Override
             protected Map.Entry<String, Object> toValue(Map.Entry<String, Inspector> field) {
-                Object convertedValue = type.convert(field.getKey(), field.getValue());
+                Object convertedValue = summaryData.convert(field.getKey(), field.getValue());
                 if (convertedValue == null) return null;
                 return new SummaryFieldEntry(field.getKey(), convertedValue);
             }
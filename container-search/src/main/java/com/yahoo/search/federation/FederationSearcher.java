@@ -53,7 +53,11 @@ import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.logging.Logger;
 
 import static com.google.common.base.Preconditions.checkNotNull;
@@ -170,7 +174,8 @@ public class FederationSearcher extends ForkingSearcher {
                 setOptional(searchChain.optional()).
                 setUseByDefault(searchChain.useByDefault()).
                 setTimeoutInMilliseconds(searchChain.timeoutMillis()).
-                setRequestTimeoutInMilliseconds(searchChain.requestTimeoutMillis());
+                setRequestTimeoutInMilliseconds(searchChain.requestTimeoutMillis()).
+                setHedgeAfterInMilliseconds(searchChain.hedgeAfterMillis());
     }
 
     @Override
@@ -198,6 +203,8 @@ public class FederationSearcher extends ForkingSearcher {
             search(query, execution, targetHandlers, mergedResults);
         else if (shouldExecuteTargetLongerThanThread(query, targetHandlers.iterator().next()))
             search(query, execution, targetHandlers, mergedResults); // one target, but search in separate thread
+        else if (targetHandlers.iterator().next() instanceof HedgedTarget)
+            search(query, execution, targetHandlers, mergedResults); // one target, but may be hedged in another thread
         else
             search(query, execution, first(targetHandlers), mergedResults); // search in this thread
         return mergedResults;
@@ -247,10 +254,24 @@ public class FederationSearcher extends ForkingSearcher {
         long timeout = target.federationOptions().getSearchChainExecutionTimeoutInMilliseconds(query.getTimeLeft());
         if (timeout <= 0)
             return new FutureResult(() -> new Result(query, ErrorMessage.createTimeout("Timed out before federation")), execution, query);
+        if (target instanceof HedgedTarget)
+            return searchHedged(query, execution, window, timeout, (HedgedTarget)target);
         Query clonedQuery = cloneFederationQuery(query, window, timeout, target);
         return new AsyncExecution(target.getChain(), execution).search(clonedQuery);
     }
 
+    /**
+     * Searches the primary provider of a hedged target, and if it has not responded after the hedge time,
+     * or has failed, also the alternative provider, returning the result of the one which responds first.
+     */
+    private FutureResult searchHedged(Query query, Execution execution, Window window, long timeout, HedgedTarget target) {
+        // Both queries are cloned up front as the incoming query cannot be accessed from other threads
+        Query primaryQuery = cloneFederationQuery(query, window, timeout, target.primary);
+        Query alternativeQuery = cloneFederationQuery(query, window, timeout, target.alternative);
+        return new AsyncExecution(new Chain<>(new HedgingSearcher(target, alternativeQuery, timeout)), execution)
+                       .search(primaryQuery);
+    }
+
     private Query cloneFederationQuery(Query query, Window window, long timeout, Target target) {
         query.getModel().getQueryTree(); // performance: parse query before cloning such that it is only done once
         Query clonedQuery = Query.createNewQuery(query);
@@ -617,13 +638,26 @@ public class FederationSearcher extends ForkingSearcher {
                 targetHandlers.addError(ErrorMessage.createIllegalQuery("Could not find search chain '" 
                                                                         + target.searchChainId + "'"));
             } else {
-                targetHandlers.addData(new StandardTarget(target, chain));
+                targetHandlers.addData(hedgedIfConfigured(new StandardTarget(target, chain), registry));
             }
         }
 
         return targetHandlers.build();
     }
 
+    /** Returns a hedged target if hedging is configured and there is an alternative provider, and the target otherwise */
+    private Target hedgedIfConfigured(StandardTarget target, SearchChainRegistry registry) {
+        if (target.federationOptions().getHedgeAfterInMilliseconds() < 0) return target;
+
+        Optional<SearchChainInvocationSpec> alternative = searchChainResolver.alternativeProvider(target.target);
+        if (alternative.isEmpty()) return target;
+
+        Chain<Searcher> alternativeChain = registry.getChain(alternative.get().searchChainId);
+        if (alternativeChain == null) return target;
+
+        return new HedgedTarget(target, new StandardTarget(alternative.get(), alternativeChain));
+    }
+
     private static <T> List<Target> getAdditionalTargets(Query query, Execution execution, TargetSelector<T> targetSelector) {
         if (targetSelector == null) return Collections.emptyList();
 
@@ -740,6 +774,137 @@ public class FederationSearcher extends ForkingSearcher {
 
     }
 
+    /**
+     * A target which is searched in a primary provider, and also in an alternative provider of the same source
+     * if the primary does not respond in time. This holds the state of a single invocation and should not be reused.
+     */
+    private static class HedgedTarget extends Target {
+
+        private final StandardTarget primary;
+        private final StandardTarget alternative;
+
+        /** The target which produced the result of this, or null if none yet */
+        private final AtomicReference<StandardTarget> responder = new AtomicReference<>();
+
+        /** Completed with the first successful result, or exceptionally when both targets have failed */
+        private final CompletableFuture<Result> result = new CompletableFuture<>();
+
+        /** Completed when the primary fails, such that the alternative can be searched without further waiting */
+        private final CompletableFuture<Void> primaryFailure = new CompletableFuture<>();
+
+        private final AtomicInteger failures = new AtomicInteger();
+
+        HedgedTarget(StandardTarget primary, StandardTarget alternative) {
+            this.primary = primary;
+            this.alternative = alternative;
+        }
+
+        /** Searches the given target in the executor of async executions */
+        void searchAsynchronously(StandardTarget target, Query query, Execution execution) {
+            new AsyncExecution(new Chain<>(new Searcher() {
+                @Override
+                public Result search(Query targetQuery, Execution targetExecution) {
+                    HedgedTarget.this.search(target, targetQuery, targetExecution);
+                    return new Result(targetQuery);
+                }
+            }), execution).search(query);
+        }
+
+        /**
+         * Searches the given target and completes the result of this with the result unless it has been completed.
+         * A failure only completes the result of this when both targets have failed.
+         */
+        private void search(StandardTarget target, Query query, Execution execution) {
+            try {
+                Result targetResult = new Execution(target.getChain(), execution.context()).search(query);
+                if (responder.compareAndSet(null, target))
+                    result.complete(targetResult);
+            }
+            catch (RuntimeException e) {
+                if (target == primary)
+                    primaryFailure.complete(null);
+                if (failures.incrementAndGet() == 2)
+                    result.completeExceptionally(e);
+            }
+        }
+
+        /** Returns the chain of the target which responded, or the primary if none has */
+        @Override
+        Chain<Searcher> getChain() {
+            StandardTarget target = responder.get();
+            return target != null ? target.getChain() : primary.getChain();
+        }
+
+        @Override
+        void modifyTargetQuery(Query query) {}
+        @Override
+        void modifyTargetResult(Result result) {}
+
+        @Override
+        public FederationOptions federationOptions() { return primary.federationOptions(); }
+
+        @Override
+        public boolean equals(Object o) {
+            if (o == this) return true;
+            if ( ! ( o instanceof HedgedTarget)) return false;
+
+            HedgedTarget other = (HedgedTarget)o;
+            return other.primary.equals(this.primary) && other.alternative.equals(this.alternative);
+        }
+
+        @Override
+        public int hashCode() { return Objects.hash(primary, alternative); }
+
+    }
+
+    /**
+     * Searches a hedged target: The primary provider first, and the alternative provider as well if the primary
+     * has not responded within the hedge time, or has failed.
+     */
+    private static class HedgingSearcher extends Searcher {
+
+        private final HedgedTarget target;
+        private final Query alternativeQuery;
+        private final long timeout;
+
+        HedgingSearcher(HedgedTarget target, Query alternativeQuery, long timeout) {
+            this.target = target;
+            this.alternativeQuery = alternativeQuery;
+            this.timeout = timeout;
+        }
+
+        @Override
+        public Result search(Query primaryQuery, Execution execution) {
+            long startTime = System.currentTimeMillis();
+            target.searchAsynchronously(target.primary, primaryQuery, execution);
+            try {
+                try {
+                    CompletableFuture.anyOf(target.result, target.primaryFailure)
+                                     .get(target.federationOptions().getHedgeAfterInMilliseconds(), TimeUnit.MILLISECONDS);
+                }
+                catch (java.util.concurrent.TimeoutException e) {
+                    // Primary is slow: Hedge
+                }
+                if ( ! target.result.isDone())
+                    target.searchAsynchronously(target.alternative, alternativeQuery, execution);
+                long timeLeft = timeout - (System.currentTimeMillis() - startTime);
+                return target.result.get(Math.max(0, timeLeft), TimeUnit.MILLISECONDS);
+            }
+            catch (java.util.concurrent.TimeoutException e) {
+                throw new TimeoutException("Neither " + target.primary + " nor " + target.alternative +
+                                           " responded within " + timeout + " ms");
+            }
+            catch (ExecutionException e) {
+                throw e.getCause() instanceof RuntimeException ? (RuntimeException)e.getCause()
+                                                               : new RuntimeException(e.getCause());
+            }
+            catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+        }
+
+    }
+
     /** A target handler where the target generation logic is delegated to the application provided target selector */
     private static class CustomTarget<T> extends Target {
 
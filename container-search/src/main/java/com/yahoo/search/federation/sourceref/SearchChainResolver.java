@@ -9,6 +9,7 @@ import com.yahoo.search.searchchain.model.federation.FederationOptions;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 import java.util.SortedSet;
 import java.util.TreeSet;
 
@@ -149,6 +150,22 @@ public class SearchChainResolver {
         return target;
     }
 
+    /**
+     * Returns the invocation spec of another provider of the same source as the given spec:
+     * The default provider of the source if the given spec is not it, and otherwise some other provider.
+     * Returns empty if the given spec is not for a source, or its source has a single provider.
+     */
+    public Optional<SearchChainInvocationSpec> alternativeProvider(SearchChainInvocationSpec spec) {
+        if (spec.source == null) return Optional.empty();
+
+        Target target = targets.getComponent(spec.source);
+        if ( ! (target instanceof SourcesTarget)) return Optional.empty();
+
+        SourcesTarget source = (SourcesTarget)target;
+        if ( ! spec.equals(source.defaultProviderSource())) return Optional.of(source.defaultProviderSource());
+        return source.allProviderSources().stream().filter(provider -> ! provider.equals(spec)).findFirst();
+    }
+
     public SortedSet<Target> allTopLevelTargets() {
         SortedSet<Target> topLevelTargets = new TreeSet<>();
         for (Target target : targets.allComponents()) {
@@ -42,6 +42,7 @@ import com.yahoo.search.searchchain.Execution;
 import com.yahoo.search.searchchain.ExecutionFactory;
 import com.yahoo.search.searchchain.SearchChainRegistry;
 import com.yahoo.search.statistics.ElapsedTime;
+import com.yahoo.search.statistics.SearcherTimingMetrics;
 import com.yahoo.slime.Inspector;
 import com.yahoo.slime.ObjectTraverser;
 import com.yahoo.slime.SlimeUtils;
@@ -59,6 +60,7 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
@@ -103,6 +105,10 @@ public class SearchHandler extends LoggingRequestHandler {
 
     private final AtomicLong numRequestsLeftToTrace;
 
+    /** The fraction of queries for which time spent per searcher is measured and emitted as metrics */
+    private final double searcherTimingSampleRate;
+    private final SearcherTimingMetrics searcherTimingMetrics;
+
     private final class MeanConnections implements Callback {
 
         @Override
@@ -140,6 +146,7 @@ public class SearchHandler extends LoggingRequestHandler {
              queryProfileRegistry,
              executionFactory,
              containerHttpConfig.numQueriesToTraceOnDebugAfterConstruction(),
+             containerHttpConfig.searcherTimingSampleRate(),
              containerHttpConfig.hostResponseHeaderKey().equals("") ?
                      Optional.empty() : Optional.of(containerHttpConfig.hostResponseHeaderKey()));
     }
@@ -161,6 +168,7 @@ public class SearchHandler extends LoggingRequestHandler {
              QueryProfileConfigurer.createFromConfig(queryProfileConfig).compile(),
              executionFactory,
              containerHttpConfig.numQueriesToTraceOnDebugAfterConstruction(),
+             containerHttpConfig.searcherTimingSampleRate(),
              containerHttpConfig.hostResponseHeaderKey().equals("") ?
                      Optional.empty() : Optional.of( containerHttpConfig.hostResponseHeaderKey()));
     }
@@ -172,7 +180,7 @@ public class SearchHandler extends LoggingRequestHandler {
                          CompiledQueryProfileRegistry queryProfileRegistry,
                          ExecutionFactory executionFactory,
                          Optional<String> hostResponseHeaderKey) {
-        this(statistics, metric, executor, queryProfileRegistry, executionFactory, 0, hostResponseHeaderKey);
+        this(statistics, metric, executor, queryProfileRegistry, executionFactory, 0, 0.0, hostResponseHeaderKey);
     }
 
     private SearchHandler(Statistics statistics,
@@ -181,6 +189,7 @@ public class SearchHandler extends LoggingRequestHandler {
                          CompiledQueryProfileRegistry queryProfileRegistry,
                          ExecutionFactory executionFactory,
                          long numQueriesToTraceOnDebugAfterStartup,
+                         double searcherTimingSampleRate,
                          Optional<String> hostResponseHeaderKey) {
         super(executor, metric, true);
         log.log(Level.FINE, "SearchHandler.init " + System.identityHashCode(this));
@@ -197,6 +206,8 @@ public class SearchHandler extends LoggingRequestHandler {
 
         this.hostResponseHeaderKey = hostResponseHeaderKey;
         this.numRequestsLeftToTrace = new AtomicLong(numQueriesToTraceOnDebugAfterStartup);
+        this.searcherTimingSampleRate = searcherTimingSampleRate;
+        this.searcherTimingMetrics = new SearcherTimingMetrics(metric);
     }
 
     /** @deprecated use the other constructor */
@@ -393,7 +404,7 @@ public class SearchHandler extends LoggingRequestHandler {
         } else {
             execution.trace().setForceTimestamps(query.properties().getBoolean(FORCE_TIMESTAMPS, false));
         }
-        if (query.properties().getBoolean(DETAILED_TIMING_LOGGING, false)) {
+        if (query.properties().getBoolean(DETAILED_TIMING_LOGGING, false) || sampleSearcherTiming()) {
             // check and set (instead of set directly) to avoid overwriting stuff from prepareForBreakdownAnalysis()
             execution.context().setDetailedDiagnostics(true);
         }
@@ -401,6 +412,8 @@ public class SearchHandler extends LoggingRequestHandler {
 
         ensureQuerySet(result, query);
         execution.fill(result, result.getQuery().getPresentation().getSummary());
+        if (execution.context().getDetailedDiagnostics())
+            searcherTimingMetrics.report(result.getElapsedTime());
 
         traceExecutionTimes(query, result);
         traceVespaVersion(query);
@@ -408,6 +421,10 @@ public class SearchHandler extends LoggingRequestHandler {
         return result;
     }
 
+    private boolean sampleSearcherTiming() {
+        return searcherTimingSampleRate > 0 && ThreadLocalRandom.current().nextDouble() < searcherTimingSampleRate;
+    }
+
     private void traceRequestAttributes(Query query) {
         int miminumTraceLevel = 7;
         if (query.getTraceLevel() >= 7) {
@@ -18,6 +18,7 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.PriorityQueue;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -488,9 +489,14 @@ public class HitGroup extends Hit implements DataList<Hit>, Cloneable, Iterable<
      */
     public void trim(int offset, int numHits) {
         updateHits();
+        int highBound = numHits + offset; // Largest offset +1
+        if (canTrimBySelection(highBound)) {
+            trimBySelection(offset, highBound);
+            return;
+        }
+
         ensureSorted();
 
-        int highBound = numHits + offset; // Largest offset +1
         boolean needToTrim = (offset > 0) || (hits.size() > highBound);
         if ( ! needToTrim ) return;
 
@@ -510,6 +516,45 @@ public class HitGroup extends Hit implements DataList<Hit>, Cloneable, Iterable<
                 }
             }
         }
+        setHits(newHits);
+    }
+
+    /**
+     * Returns whether trimming to the given bound can be done by selecting the best hits
+     * instead of sorting all of them. This is the case when most of the hits are to be removed,
+     * all hits are concrete, and they are ordered by their natural order.
+     */
+    private boolean canTrimBySelection(int highBound) {
+        return ! orderedHits && ! hitsSorted && hitOrderer == null
+               && highBound > 0 && highBound < hits.size() / 2
+               && concreteHitCount == hits.size();
+    }
+
+    /** Keeps the hits from offset to highBound in sorted order, and removes the rest without sorting them */
+    private void trimBySelection(int offset, int highBound) {
+        hitsSorted = true;
+        PriorityQueue<Hit> best = new PriorityQueue<>(highBound + 1, Collections.reverseOrder());
+        for (Hit hit : hits) {
+            best.add(hit);
+            if (best.size() > highBound)
+                handleRemovedHit(best.poll());
+        }
+
+        Hit[] bestInOrder = new Hit[best.size()];
+        for (int i = bestInOrder.length - 1; i >= 0; i--)
+            bestInOrder[i] = best.poll();
+
+        ListenableArrayList<Hit> newHits = new ListenableArrayList<>(highBound - offset);
+        for (int i = 0; i < bestInOrder.length; i++) {
+            if (i < offset)
+                handleRemovedHit(bestInOrder[i]);
+            else
+                newHits.add(bestInOrder[i]);
+        }
+        setHits(newHits);
+    }
+
+    private void setHits(ListenableArrayList<Hit> newHits) {
         for (Runnable listener : hits.listeners())
             newHits.addListener(listener);
         hits = newHits;
@@ -18,6 +18,7 @@ public class FederationOptions implements Cloneable {
     private final Integer timeoutInMilliseconds;
     private final Integer requestTimeoutInMilliseconds;
     private final Boolean useByDefault;
+    private final Integer hedgeAfterInMilliseconds;
 
     /**
      * Creates a request with no separate requestTimeoutInMilliseconds
@@ -37,10 +38,27 @@ public class FederationOptions implements Cloneable {
      * @param useByDefault whether this should be invoked by default
      */
     public FederationOptions(Boolean optional, Integer timeoutInMilliseconds, Integer requestTimeoutInMilliseconds, Boolean useByDefault) {
+        this(optional, timeoutInMilliseconds, requestTimeoutInMilliseconds, useByDefault, null);
+    }
+
+    /**
+     * Creates a fully specified set of options
+     *
+     * @param optional whether this should be optional
+     * @param timeoutInMilliseconds the max time to wait for a result from this source, or null to use the timeout of the query
+     * @param requestTimeoutInMilliseconds the max time to allow this request to live, or null to make this the same as
+     *                                     timeoutInMilliseconds
+     * @param useByDefault whether this should be invoked by default
+     * @param hedgeAfterInMilliseconds the time to wait for this before also sending the query to another provider
+     *                                 of the same source, or null to never do that
+     */
+    public FederationOptions(Boolean optional, Integer timeoutInMilliseconds, Integer requestTimeoutInMilliseconds,
+                             Boolean useByDefault, Integer hedgeAfterInMilliseconds) {
         this.optional = optional;
         this.timeoutInMilliseconds = timeoutInMilliseconds;
         this.requestTimeoutInMilliseconds = requestTimeoutInMilliseconds;
         this.useByDefault = useByDefault;
+        this.hedgeAfterInMilliseconds = hedgeAfterInMilliseconds;
     }
 
     /** Creates a set of default options: Mandatory, no timeout restriction and not used by default */
@@ -50,22 +68,28 @@ public class FederationOptions implements Cloneable {
 
     /** Returns a set of options which are the same of this but with optional set to the given value */
     public FederationOptions setOptional(Boolean newOptional) {
-        return new FederationOptions(newOptional, timeoutInMilliseconds, requestTimeoutInMilliseconds, useByDefault);
+        return new FederationOptions(newOptional, timeoutInMilliseconds, requestTimeoutInMilliseconds, useByDefault, hedgeAfterInMilliseconds);
     }
 
     /** Returns a set of options which are the same of this but with timeout set to the given value */
     public FederationOptions setTimeoutInMilliseconds(Integer newTimeoutInMilliseconds) {
-        return new FederationOptions(optional, newTimeoutInMilliseconds, requestTimeoutInMilliseconds, useByDefault);
+        return new FederationOptions(optional, newTimeoutInMilliseconds, requestTimeoutInMilliseconds, useByDefault, hedgeAfterInMilliseconds);
     }
 
     /** Returns a set of options which are the same of this but with request timeout set to the given value */
     public FederationOptions setRequestTimeoutInMilliseconds(Integer newRequestTimeoutInMilliseconds) {
-        return new FederationOptions(optional, timeoutInMilliseconds, newRequestTimeoutInMilliseconds, useByDefault);
+        return new FederationOptions(optional, timeoutInMilliseconds, newRequestTimeoutInMilliseconds, useByDefault, hedgeAfterInMilliseconds);
     }
 
     /** Returns a set of options which are the same of this but with default set to the given value */
     public FederationOptions setUseByDefault(Boolean newUseByDefault) {
-        return new FederationOptions(optional, timeoutInMilliseconds, requestTimeoutInMilliseconds, newUseByDefault);
+        return new FederationOptions(optional, timeoutInMilliseconds, requestTimeoutInMilliseconds, newUseByDefault, hedgeAfterInMilliseconds);
+    }
+
+    /** Returns a set of options which are the same of this but with hedge after set to the given value */
+    public FederationOptions setHedgeAfterInMilliseconds(Integer newHedgeAfterInMilliseconds) {
+        return new FederationOptions(optional, timeoutInMilliseconds, requestTimeoutInMilliseconds, useByDefault,
+                                     newHedgeAfterInMilliseconds);
     }
 
     public boolean getOptional() {
@@ -82,6 +106,14 @@ public class FederationOptions implements Cloneable {
         return (requestTimeoutInMilliseconds != null) ? requestTimeoutInMilliseconds : -1;
     }
 
+    /**
+     * Returns the amount of time we should wait for this target before also sending the query to another
+     * provider of the same source, or -1 to never do that
+     */
+    public int getHedgeAfterInMilliseconds() {
+        return (hedgeAfterInMilliseconds != null) ? hedgeAfterInMilliseconds : -1;
+    }
+
     public long getSearchChainExecutionTimeoutInMilliseconds(long queryTimeout) {
         return getTimeoutInMilliseconds() >= 0 ? getTimeoutInMilliseconds() : queryTimeout;
     }
@@ -95,7 +127,8 @@ public class FederationOptions implements Cloneable {
                 inherit(optional, parent.optional),
                 inherit(timeoutInMilliseconds, parent.timeoutInMilliseconds),
                 inherit(requestTimeoutInMilliseconds, parent.requestTimeoutInMilliseconds),
-                inherit(useByDefault, parent.useByDefault));
+                inherit(useByDefault, parent.useByDefault),
+                inherit(hedgeAfterInMilliseconds, parent.hedgeAfterInMilliseconds));
     }
 
     private static <T> T inherit(T child, T parent) {
@@ -123,6 +156,7 @@ public class FederationOptions implements Cloneable {
                 "optional=" + optional +
                 ", timeoutInMilliseconds=" + timeoutInMilliseconds +
                 ", useByDefault=" + useByDefault +
+                ", hedgeAfterInMilliseconds=" + hedgeAfterInMilliseconds +
                 '}';
     }
 }
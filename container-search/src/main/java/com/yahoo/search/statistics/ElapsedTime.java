@@ -31,6 +31,10 @@ public class ElapsedTime {
         tracks.add(track);
     }
 
+    Set<TimeTracker> tracks() {
+        return tracks;
+    }
+
     private long fetcher(Activity toFetch, TimeTracker fetchFrom) {
         switch (toFetch) {
             case SEARCH: return fetchFrom.searchTime();
@@ -0,0 +1,68 @@
+// Copyright Verizon Media. Licensed under the terms of the Apache 2.0 license. See LICENSE in the project root.
+package com.yahoo.search.statistics;
+
+import com.yahoo.jdisc.Metric;
+import com.yahoo.search.statistics.TimeTracker.Activity;
+import com.yahoo.search.statistics.TimeTracker.SearcherTimer;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Emits the time spent in each searcher of the executions producing a result as metrics, separately
+ * for search and fill. For each searcher both the time spent in the searcher itself, and the total time
+ * spent in it and the searchers it invoked further down the chain is emitted.
+ *
+ * Timing per searcher is only available when detailed diagnostics is turned on in the execution context,
+ * which is done for a sample of the queries, as this is costly.
+ */
+public final class SearcherTimingMetrics {
+
+    public static final String SEARCH_SELF_TIME = "searcher_search_self_latency";
+    public static final String SEARCH_TIME = "searcher_search_latency";
+    public static final String FILL_SELF_TIME = "searcher_fill_self_latency";
+    public static final String FILL_TIME = "searcher_fill_latency";
+
+    /** The dimension holding the id of the searcher */
+    public static final String SEARCHER_DIMENSION = "searcher";
+
+    private final Metric metric;
+    private final Map<String, Metric.Context> contexts = new ConcurrentHashMap<>();
+
+    public SearcherTimingMetrics(Metric metric) {
+        this.metric = metric;
+    }
+
+    /** Emits the time spent per searcher in the given elapsed time, if any was recorded */
+    public void report(ElapsedTime elapsedTime) {
+        for (TimeTracker tracker : elapsedTime.tracks()) {
+            SearcherTimer[] searchers = tracker.searcherTracking();
+            if (searchers == null) continue;
+
+            report(Activity.SEARCH, searchers, SEARCH_SELF_TIME, SEARCH_TIME);
+            report(Activity.FILL, searchers, FILL_SELF_TIME, FILL_TIME);
+        }
+    }
+
+    private void report(Activity activity, SearcherTimer[] searchers, String selfTimeMetric, String timeMetric) {
+        // All time spent while a searcher is on the stack is attributed to it or a searcher after it in the chain,
+        // so the total time of a searcher is the sum of the self times from it to the end of the chain
+        long time = 0;
+        for (int i = searchers.length - 1; i >= 0; i--) {
+            Long invoking = searchers[i].getInvoking(activity);
+            Long returning = searchers[i].getReturning(activity);
+            if (invoking == null && returning == null) continue; // not invoked
+
+            long selfTime = (invoking == null ? 0 : invoking) + (returning == null ? 0 : returning);
+            time += selfTime;
+            Metric.Context context = contextOf(searchers[i].getName());
+            metric.set(selfTimeMetric, selfTime, context);
+            metric.set(timeMetric, time, context);
+        }
+    }
+
+    private Metric.Context contextOf(String searcher) {
+        return contexts.computeIfAbsent(searcher, name -> metric.createContext(Map.of(SEARCHER_DIMENSION, name)));
+    }
+
+}
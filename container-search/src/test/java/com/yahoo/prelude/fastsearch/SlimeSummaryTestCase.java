@@ -227,26 +227,25 @@ public class SlimeSummaryTestCase {
         assertFields(expected, hit);
 
         fieldIterator.next();
-        assertEquals("short_field", fieldIterator.next().getKey());
+        assertEquals("float_field", fieldIterator.next().getKey());
         fieldIterator.remove();
-        expected.remove("short_field");
+        expected.remove("float_field");
         assertFields(expected, hit);
 
-        fieldIterator.next();
         assertEquals("double_field", fieldIterator.next().getKey());
         fieldIterator.remove();
         expected.remove("double_field");
         assertFields(expected, hit);
 
         fieldIterator = hit.fieldIterator();
-        assertEquals("float_field", fieldIterator.next().getKey());
+        assertEquals("integer_field", fieldIterator.next().getKey());
         fieldIterator.remove();
-        expected.remove("float_field");
+        expected.remove("integer_field");
         assertFields(expected, hit);
 
-        assertEquals("integer_field", fieldIterator.next().getKey());
+        assertEquals("short_field", fieldIterator.next().getKey());
         fieldIterator.remove();
-        expected.remove("integer_field");
+        expected.remove("short_field");
         assertFields(expected, hit);
 
         // --- Add full summary
@@ -30,6 +30,9 @@ import org.junit.Before;
 import org.junit.Test;
 
 import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.Assert.*;
 import static com.yahoo.search.federation.StrictContractsConfig.PropagateSourceProperties;
@@ -341,7 +344,10 @@ public class FederationSearcherTestCase {
     }
 
     private FederationSearcher createMultiProviderFederationSearcher() {
-        FederationOptions options = new FederationOptions();
+        return createMultiProviderFederationSearcher(new FederationOptions());
+    }
+
+    private FederationSearcher createMultiProviderFederationSearcher(FederationOptions options) {
         SearchChainResolver.Builder builder = new SearchChainResolver.Builder();
 
         ComponentId provider1 = new ComponentId("provider1");
@@ -355,6 +361,119 @@ public class FederationSearcherTestCase {
         return new FederationSearcher(new ComponentId("federation"), builder.build());
     }
 
+    @Test
+    public void testSlowProviderIsHedgedToAnotherProviderOfTheSameSource() {
+        CountDownLatch primaryRelease = new CountDownLatch(1);
+        SearchChainRegistry registry = new SearchChainRegistry();
+        registry.register(new Chain<>("provider1", new BlockingProvider("provider1", primaryRelease)));
+        registry.register(new Chain<>("provider2", new MockProvider("provider2")));
+        registry.register(new Chain<>("default", createMultiProviderFederationSearcher(new FederationOptions().setHedgeAfterInMilliseconds(10))));
+        try {
+            Result result = searchNews(registry);
+            assertNull(result.hits().getError());
+            assertNotNull(result.hits().get("provider2:1"));
+            assertNull(result.hits().get("provider1:1"));
+        }
+        finally {
+            primaryRelease.countDown();
+        }
+    }
+
+    @Test
+    public void testFastProviderIsNotHedged() {
+        AtomicInteger alternativeSearches = new AtomicInteger();
+        SearchChainRegistry registry = new SearchChainRegistry();
+        registry.register(new Chain<>("provider1", new MockProvider("provider1")));
+        registry.register(new Chain<>("provider2", new Searcher() {
+            @Override
+            public Result search(Query query, Execution execution) {
+                alternativeSearches.incrementAndGet();
+                return new Result(query);
+            }
+        }));
+        registry.register(new Chain<>("default", createMultiProviderFederationSearcher(new FederationOptions().setHedgeAfterInMilliseconds(5000))));
+        Result result = searchNews(registry);
+        assertNotNull(result.hits().get("provider1:1"));
+        assertEquals(0, alternativeSearches.get());
+    }
+
+    @Test
+    public void testFailingProviderIsHedgedWithoutWaiting() {
+        SearchChainRegistry registry = new SearchChainRegistry();
+        registry.register(new Chain<>("provider1", new Searcher() {
+            @Override
+            public Result search(Query query, Execution execution) {
+                throw new IllegalStateException("provider1 failed");
+            }
+        }));
+        registry.register(new Chain<>("provider2", new MockProvider("provider2")));
+        registry.register(new Chain<>("default", createMultiProviderFederationSearcher(new FederationOptions().setHedgeAfterInMilliseconds(20000))));
+        long startTime = System.currentTimeMillis();
+        Result result = searchNews(registry);
+        assertNull(result.hits().getError());
+        assertNotNull(result.hits().get("provider2:1"));
+        assertTrue(System.currentTimeMillis() - startTime < 20000);
+    }
+
+    @Test
+    public void testPrimaryFailingAfterHedgingDoesNotHideAlternativeResult() {
+        CountDownLatch primaryRelease = new CountDownLatch(1);
+        SearchChainRegistry registry = new SearchChainRegistry();
+        registry.register(new Chain<>("provider1", new BlockingProvider("provider1", primaryRelease) {
+            @Override
+            public Result search(Query query, Execution execution) {
+                super.search(query, execution);
+                throw new IllegalStateException("provider1 failed");
+            }
+        }));
+        registry.register(new Chain<>("provider2", new Searcher() {
+            @Override
+            public Result search(Query query, Execution execution) {
+                primaryRelease.countDown(); // let the primary fail before this responds
+                try {
+                    Thread.sleep(100);
+                }
+                catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+                Result result = new Result(query);
+                result.hits().add(new Hit("provider2:1"));
+                return result;
+            }
+        }));
+        registry.register(new Chain<>("default", createMultiProviderFederationSearcher(new FederationOptions().setHedgeAfterInMilliseconds(10))));
+        Result result = searchNews(registry);
+        assertNull(result.hits().getError());
+        assertNotNull(result.hits().get("provider2:1"));
+    }
+
+    private Result searchNews(SearchChainRegistry registry) {
+        Query query = new Query(QueryTestCase.httpEncode("?query=test&model.sources=news&timeout=20s"));
+        return new Execution(registry.getComponent("default"), Execution.Context.createContextStub(registry, null)).search(query);
+    }
+
+    private static class BlockingProvider extends MockProvider {
+
+        private final CountDownLatch release;
+
+        BlockingProvider(String name, CountDownLatch release) {
+            super(name);
+            this.release = release;
+        }
+
+        @Override
+        public Result search(Query query, Execution execution) {
+            try {
+                release.await(20, TimeUnit.SECONDS);
+            }
+            catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+            return super.search(query, execution);
+        }
+
+    }
+
     private static class MockProvider extends Searcher {
 
         private final String name;
@@ -244,7 +244,68 @@ public class HitGroupTestCase {
         assertFalse(hg.isFilled("anyclass"));
         assertTrue(hg.getFilled().isEmpty());
     }
-    
+
+    @Test
+    public void testHitsAreSortedByRelevanceSetAfterAdding() {
+        HitGroup hits = new HitGroup("test");
+        Hit first = hits.add(new Hit("hit:1"));
+        Hit second = hits.add(new Hit("hit:2"));
+        Hit third = hits.add(new Hit("hit:3"));
+        first.setRelevance(0.2);
+        second.setRelevance(0.8);
+        third.setRelevance(0.5);
+
+        assertEquals("hit:2", hits.get(0).getId().toString());
+        assertEquals("hit:3", hits.get(1).getId().toString());
+        assertEquals("hit:1", hits.get(2).getId().toString());
+    }
+
+    @Test
+    public void testTrimKeepsBestHitsInOrder() {
+        HitGroup hits = new HitGroup("test");
+        double[] relevances = { 0.3, 0.9, 0.1, 0.5, 0.7, 0.2, 0.8, 0.4, 0.6, 0.0 };
+        for (int i = 0; i < relevances.length; i++)
+            hits.add(new Hit("hit:" + i, relevances[i]));
+
+        hits.trim(1, 3);
+
+        assertEquals(3, hits.size());
+        assertEquals(3, hits.getConcreteSize());
+        assertEquals("hit:6", hits.get(0).getId().toString());
+        assertEquals("hit:4", hits.get(1).getId().toString());
+        assertEquals("hit:8", hits.get(2).getId().toString());
+    }
+
+    @Test
+    public void testTrimOrdersHitsWithEqualRelevanceByAddOrder() {
+        HitGroup hits = new HitGroup("test");
+        for (int i = 0; i < 10; i++)
+            hits.add(new Hit("hit:" + i, i % 2 == 0 ? 0.5 : 0.1));
+
+        hits.trim(0, 3);
+
+        assertEquals("hit:0", hits.get(0).getId().toString());
+        assertEquals("hit:2", hits.get(1).getId().toString());
+        assertEquals("hit:4", hits.get(2).getId().toString());
+    }
+
+    @Test
+    public void testAddingHitsInAndOutOfOrder() {
+        HitGroup hits = new HitGroup("test");
+        hits.add(new Hit("hit:1", 0.9));
+        hits.add(new Hit("hit:2", 0.5));
+        hits.add(new Hit("hit:3", 0.5));
+        assertEquals("hit:1", hits.get(0).getId().toString());
+        assertEquals("hit:2", hits.get(1).getId().toString());
+        assertEquals("hit:3", hits.get(2).getId().toString());
+
+        hits.add(new Hit("hit:4", 0.7));
+        assertEquals("hit:1", hits.get(0).getId().toString());
+        assertEquals("hit:4", hits.get(1).getId().toString());
+        assertEquals("hit:2", hits.get(2).getId().toString());
+        assertEquals("hit:3", hits.get(3).getId().toString());
+    }
+
     /** Returns the (first) error hit in the given list, or empty if none */
     private Optional<ErrorHit> errorHitIn(List<Hit> hits) {
         return hits.stream().filter(h -> h instanceof ErrorHit).map(ErrorHit.class::cast).findFirst();
@@ -3,6 +3,7 @@ package com.yahoo.search.statistics;
 
 import com.yahoo.component.ComponentId;
 import com.yahoo.component.chain.Chain;
+import com.yahoo.jdisc.Metric;
 import com.yahoo.search.Query;
 import com.yahoo.search.Result;
 import com.yahoo.search.Searcher;
@@ -12,6 +13,9 @@ import com.yahoo.search.statistics.TimeTracker.Activity;
 import com.yahoo.search.statistics.TimeTracker.SearcherTimer;
 import org.junit.Test;
 
+import java.util.HashMap;
+import java.util.Map;
+
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
@@ -235,6 +239,53 @@ public class ElapsedTimeTestCase {
         checkTiming(searchers);
     }
 
+    @Test
+    public void testSearcherTimingMetrics() {
+        Chain<? extends Searcher> chain = new Chain<Searcher>(
+                new UselessSearcher("first"), new UselessSearcher("second"),
+                new UselessSearcher("third"));
+        Execution exec = new Execution(chain, Execution.Context.createContextStub());
+        exec.timer().injectTimeSource(new CreativeTimeSource(SEARCH_TIMESEQUENCE));
+        exec.context().setDetailedDiagnostics(true);
+        Result result = exec.search(new Query());
+
+        RecordingMetric metric = new RecordingMetric();
+        new SearcherTimingMetrics(metric).report(result.getElapsedTime());
+        assertEquals(2L, metric.values.get("first." + SearcherTimingMetrics.SEARCH_SELF_TIME));
+        assertEquals(2L, metric.values.get("second." + SearcherTimingMetrics.SEARCH_SELF_TIME));
+        assertEquals(2L, metric.values.get("third." + SearcherTimingMetrics.SEARCH_SELF_TIME));
+        assertEquals(6L, metric.values.get("first." + SearcherTimingMetrics.SEARCH_TIME));
+        assertEquals(4L, metric.values.get("second." + SearcherTimingMetrics.SEARCH_TIME));
+        assertEquals(2L, metric.values.get("third." + SearcherTimingMetrics.SEARCH_TIME));
+        assertNull(metric.values.get("first." + SearcherTimingMetrics.FILL_TIME));
+    }
+
+    private static class RecordingMetric implements Metric {
+
+        final Map<String, Number> values = new HashMap<>();
+
+        @Override
+        public void set(String key, Number val, Context context) {
+            values.put(((SearcherContext)context).searcher + "." + key, val);
+        }
+
+        @Override
+        public void add(String key, Number val, Context context) { }
+
+        @Override
+        public Context createContext(Map<String, ?> properties) {
+            return new SearcherContext((String)properties.get(SearcherTimingMetrics.SEARCHER_DIMENSION));
+        }
+
+        private static class SearcherContext implements Context {
+
+            final String searcher;
+
+            SearcherContext(String searcher) { this.searcher = searcher; }
+
+        }
+
+    }
 
     private void checkTiming(SearcherTimer[] searchers) {
         checkTiming(searchers, 0);
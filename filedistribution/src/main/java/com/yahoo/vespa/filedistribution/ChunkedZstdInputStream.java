@@ -0,0 +1,121 @@
+// Copyright Verizon Media. Licensed under the terms of the Apache 2.0 license. See LICENSE in the project root.
+package com.yahoo.vespa.filedistribution;
+
+import com.yahoo.compress.ZstdCompressor;
+import io.airlift.compress.zstd.ZstdDecompressor;
+
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Decompresses a stream written by {@link ChunkedZstdOutputStream}. Chunks are read ahead and decompressed
+ * on the given executor, with a bounded number of chunks in flight, and returned in order.
+ */
+class ChunkedZstdInputStream extends InputStream {
+
+    /** Decompressors keep state while decompressing, so each thread needs its own */
+    private static final ThreadLocal<ZstdDecompressor> decompressor = ThreadLocal.withInitial(ZstdDecompressor::new);
+
+    private final DataInputStream in;
+    private final Executor executor;
+    private final int maxPendingChunks;
+    private final Deque<CompletableFuture<byte[]>> pending = new ArrayDeque<>();
+    private boolean endOfInput = false;
+    private byte[] chunk = new byte[0];
+    private int position = 0;
+
+    ChunkedZstdInputStream(InputStream in, Executor executor, int maxPendingChunks) throws IOException {
+        this.in = new DataInputStream(in);
+        this.executor = executor;
+        this.maxPendingChunks = maxPendingChunks;
+        int magic = this.in.readInt();
+        if (magic != ChunkedZstdOutputStream.MAGIC)
+            throw new IOException("Not a chunked zstd stream, got magic " + Integer.toHexString(magic));
+    }
+
+    @Override
+    public int read() throws IOException {
+        if ( ! ensureAvailable()) return -1;
+        return chunk[position++] & 0xff;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) return 0;
+        if ( ! ensureAvailable()) return -1;
+        int read = Math.min(len, chunk.length - position);
+        System.arraycopy(chunk, position, b, off, read);
+        position += read;
+        return read;
+    }
+
+    @Override
+    public int available() {
+        return chunk.length - position;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    /** Makes the next chunk current if the current one is consumed, and returns whether there is more data */
+    private boolean ensureAvailable() throws IOException {
+        while (position == chunk.length) {
+            readAhead();
+            if (pending.isEmpty()) return false;
+            chunk = take(pending.poll());
+            position = 0;
+        }
+        return true;
+    }
+
+    private void readAhead() throws IOException {
+        while ( ! endOfInput && pending.size() < maxPendingChunks) {
+            int rawLength;
+            try {
+                rawLength = in.readInt();
+            }
+            catch (EOFException e) {
+                endOfInput = true;
+                return;
+            }
+            int compressedLength = in.readInt();
+            if (   rawLength < 0 || rawLength > ChunkedZstdOutputStream.MAX_CHUNK_SIZE
+                || compressedLength < 0 || compressedLength > ZstdCompressor.getMaxCompressedLength(ChunkedZstdOutputStream.MAX_CHUNK_SIZE))
+                throw new IOException("Invalid chunk lengths " + rawLength + " and " + compressedLength);
+            byte[] compressed = new byte[compressedLength];
+            in.readFully(compressed);
+            pending.add(CompletableFuture.supplyAsync(() -> decompress(compressed, rawLength), executor));
+        }
+    }
+
+    private static byte[] decompress(byte[] compressed, int rawLength) {
+        byte[] raw = new byte[rawLength];
+        int decompressedLength = decompressor.get().decompress(compressed, 0, compressed.length, raw, 0, rawLength);
+        if (decompressedLength != rawLength)
+            throw new IllegalArgumentException("Chunk decompressed to " + decompressedLength + " bytes, expected " + rawLength);
+        return raw;
+    }
+
+    private static byte[] take(CompletableFuture<byte[]> chunk) throws IOException {
+        try {
+            return chunk.get();
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while decompressing", e);
+        }
+        catch (ExecutionException e) {
+            throw new IOException("Failed decompressing chunk", e.getCause());
+        }
+    }
+
+}
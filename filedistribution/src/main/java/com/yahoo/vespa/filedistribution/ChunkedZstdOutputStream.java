@@ -0,0 +1,129 @@
+// Copyright Verizon Media. Licensed under the terms of the Apache 2.0 license. See LICENSE in the project root.
+package com.yahoo.vespa.filedistribution;
+
+import com.yahoo.compress.ZstdCompressor;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Compresses a stream as a sequence of independently zstd compressed chunks, each prefixed by its raw
+ * and compressed length, such that chunks can be compressed and decompressed in parallel.
+ * Chunks are compressed on the given executor, with a bounded number of chunks in flight,
+ * and written in order.
+ *
+ * @see ChunkedZstdInputStream
+ */
+class ChunkedZstdOutputStream extends OutputStream {
+
+    static final int MAGIC = 0x56535a43; // "VSZC"
+    static final int DEFAULT_CHUNK_SIZE = 1 << 20;
+    static final int MAX_CHUNK_SIZE = 1 << 26;
+
+    private static final ZstdCompressor compressor = new ZstdCompressor();
+
+    private final DataOutputStream out;
+    private final Executor executor;
+    private final int maxPendingChunks;
+    private final Deque<CompletableFuture<byte[]>> pending = new ArrayDeque<>();
+    private final int chunkSize;
+    private byte[] chunk;
+    private int position = 0;
+    private boolean closed = false;
+
+    ChunkedZstdOutputStream(OutputStream out, int chunkSize, Executor executor, int maxPendingChunks) throws IOException {
+        if (chunkSize < 1 || chunkSize > MAX_CHUNK_SIZE)
+            throw new IllegalArgumentException("Chunk size must be between 1 and " + MAX_CHUNK_SIZE + ", was " + chunkSize);
+        this.out = new DataOutputStream(out);
+        this.chunkSize = chunkSize;
+        this.executor = executor;
+        this.maxPendingChunks = maxPendingChunks;
+        this.chunk = new byte[chunkSize];
+        this.out.writeInt(MAGIC);
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        chunk[position++] = (byte) b;
+        if (position == chunkSize) submitChunk();
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        while (len > 0) {
+            int copied = Math.min(len, chunkSize - position);
+            System.arraycopy(b, off, chunk, position, copied);
+            position += copied;
+            off += copied;
+            len -= copied;
+            if (position == chunkSize) submitChunk();
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (position > 0) submitChunk();
+        while ( ! pending.isEmpty())
+            writeChunk(pending.poll());
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) return;
+        closed = true;
+        try {
+            flush();
+        }
+        finally {
+            out.close();
+        }
+    }
+
+    private void submitChunk() throws IOException {
+        byte[] raw = chunk;
+        int length = position;
+        pending.add(CompletableFuture.supplyAsync(() -> compress(raw, length), executor));
+        chunk = new byte[chunkSize];
+        position = 0;
+        if (pending.size() >= maxPendingChunks)
+            writeChunk(pending.poll());
+    }
+
+    private void writeChunk(CompletableFuture<byte[]> compressed) throws IOException {
+        try {
+            out.write(compressed.get());
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while compressing", e);
+        }
+        catch (ExecutionException e) {
+            throw new IOException("Failed compressing chunk", e.getCause());
+        }
+    }
+
+    /** Returns the given raw chunk as it is written to the stream, with its raw and compressed length */
+    private static byte[] compress(byte[] raw, int length) {
+        byte[] output = new byte[8 + ZstdCompressor.getMaxCompressedLength(length)];
+        int compressedLength = compressor.compress(raw, 0, length, output, 8, output.length - 8);
+        writeInt(length, output, 0);
+        writeInt(compressedLength, output, 4);
+        return Arrays.copyOf(output, 8 + compressedLength);
+    }
+
+    private static void writeInt(int value, byte[] output, int offset) {
+        output[offset] = (byte) (value >>> 24);
+        output[offset + 1] = (byte) (value >>> 16);
+        output[offset + 2] = (byte) (value >>> 8);
+        output[offset + 3] = (byte) value;
+    }
+
+}
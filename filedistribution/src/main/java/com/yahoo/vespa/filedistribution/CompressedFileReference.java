@@ -9,15 +9,19 @@ import org.apache.commons.compress.archivers.ArchiveOutputStream;
 import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
 import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
 
+import java.io.BufferedInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 import java.util.zip.GZIPInputStream;
@@ -32,19 +36,39 @@ public class CompressedFileReference {
 
     private static final Logger log = Logger.getLogger(CompressedFileReference.class.getName());
     private static final int recurseDepth = 100;
+    private static final int maxPendingChunks = 2 * Runtime.getRuntime().availableProcessors();
+
+    /**
+     * The formats a file reference can be compressed in. All formats are tar archives. Receivers detect the format,
+     * so zstd should only be served once all receivers are able to decompress it.
+     */
+    public enum Format {
+        /** A gzip stream, which is compressed and decompressed in a single thread */
+        gzip,
+        /** A sequence of independent zstd chunks, which are compressed and decompressed in parallel */
+        zstd
+    }
 
     public static File compress(File baseDir, List<File> inputFiles, File outputFile) throws IOException {
-        TarArchiveOutputStream archiveOutputStream = new TarArchiveOutputStream(new GZIPOutputStream(new FileOutputStream(outputFile)));
+        return compress(baseDir, inputFiles, outputFile, Format.gzip);
+    }
+
+    public static File compress(File baseDir, List<File> inputFiles, File outputFile, Format format) throws IOException {
+        TarArchiveOutputStream archiveOutputStream = new TarArchiveOutputStream(compressedOutputStream(new FileOutputStream(outputFile), format));
         archiveOutputStream.setLongFileMode(TarArchiveOutputStream.LONGFILE_POSIX);
         createArchiveFile(archiveOutputStream, baseDir, inputFiles);
         return outputFile;
     }
 
     public static File compress(File directory, File outputFile) throws IOException {
+        return compress(directory, outputFile, Format.gzip);
+    }
+
+    public static File compress(File directory, File outputFile, Format format) throws IOException {
         return compress(directory, Files.find(Paths.get(directory.getAbsolutePath()),
                 recurseDepth,
                 (p, basicFileAttributes) -> basicFileAttributes.isRegularFile())
-                .map(Path::toFile).collect(Collectors.toList()), outputFile);
+                .map(Path::toFile).collect(Collectors.toList()), outputFile, format);
     }
 
     public static byte[] compress(File baseDir, List<File> inputFiles) throws IOException {
@@ -57,13 +81,31 @@ public class CompressedFileReference {
 
     static void decompress(File inputFile, File outputDir) throws IOException {
         log.log(Level.FINE, () -> "Decompressing '" + inputFile + "' into '" + outputDir + "'");
-        try (ArchiveInputStream ais = new TarArchiveInputStream(new GZIPInputStream(new FileInputStream(inputFile)))) {
+        try (ArchiveInputStream ais = new TarArchiveInputStream(compressedInputStream(new FileInputStream(inputFile)))) {
             decompress(ais, outputDir);
         } catch (IllegalArgumentException e) {
             throw new RuntimeException("Unable to decompress '" + inputFile.getAbsolutePath() + "': " + e.getMessage());
         }
     }
 
+    private static OutputStream compressedOutputStream(OutputStream out, Format format) throws IOException {
+        switch (format) {
+            case gzip: return new GZIPOutputStream(out);
+            case zstd: return new ChunkedZstdOutputStream(out, ChunkedZstdOutputStream.DEFAULT_CHUNK_SIZE, ForkJoinPool.commonPool(), maxPendingChunks);
+            default: throw new IllegalArgumentException("Unknown format " + format);
+        }
+    }
+
+    /** Returns a stream decompressing the given input, which may be in any {@link Format} */
+    private static InputStream compressedInputStream(InputStream in) throws IOException {
+        BufferedInputStream buffered = new BufferedInputStream(in);
+        buffered.mark(2);
+        boolean gzip = buffered.read() == (GZIPInputStream.GZIP_MAGIC & 0xff) && buffered.read() == (GZIPInputStream.GZIP_MAGIC >> 8);
+        buffered.reset();
+        return gzip ? new GZIPInputStream(buffered)
+                    : new ChunkedZstdInputStream(buffered, ForkJoinPool.commonPool(), maxPendingChunks);
+    }
+
     private static void decompress(ArchiveInputStream archiveInputStream, File outputFile) throws IOException {
         int entries = 0;
         ArchiveEntry entry;
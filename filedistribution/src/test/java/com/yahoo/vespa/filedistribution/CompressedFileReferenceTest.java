@@ -0,0 +1,94 @@
+// Copyright Verizon Media. Licensed under the terms of the Apache 2.0 license. See LICENSE in the project root.
+package com.yahoo.vespa.filedistribution;
+
+import com.yahoo.io.IOUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class CompressedFileReferenceTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void compressed_directories_are_decompressed_in_any_format() throws IOException {
+        File directory = temporaryFolder.newFolder();
+        IOUtils.writeFile(new File(directory, "foo"), "foo content", false);
+        File subdirectory = new File(directory, "sub");
+        subdirectory.mkdir();
+        byte[] barContent = randomBytes(3 * ChunkedZstdOutputStream.DEFAULT_CHUNK_SIZE + 17);
+        Files.write(new File(subdirectory, "bar").toPath(), barContent);
+
+        for (CompressedFileReference.Format format : CompressedFileReference.Format.values()) {
+            File compressed = CompressedFileReference.compress(directory, temporaryFolder.newFile(), format);
+            File decompressed = temporaryFolder.newFolder();
+            CompressedFileReference.decompress(compressed, decompressed);
+
+            assertEquals(format.name(), "foo content", IOUtils.readFile(new File(decompressed, "foo")));
+            assertArrayEquals(format.name(), barContent, Files.readAllBytes(new File(decompressed, "sub/bar").toPath()));
+        }
+    }
+
+    @Test
+    public void chunks_are_compressed_and_decompressed_in_order() throws IOException {
+        byte[] content = randomBytes(100_000);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+            try (OutputStream out = new ChunkedZstdOutputStream(compressed, 1000, executor, 3)) {
+                out.write(content, 0, 10);
+                out.write(content[10]);
+                out.write(content, 11, content.length - 11);
+            }
+
+            InputStream in = new ChunkedZstdInputStream(new ByteArrayInputStream(compressed.toByteArray()), executor, 3);
+            ByteArrayOutputStream decompressed = new ByteArrayOutputStream();
+            byte[] buffer = new byte[777];
+            for (int read; (read = in.read(buffer)) != -1; )
+                decompressed.write(buffer, 0, read);
+            assertArrayEquals(content, decompressed.toByteArray());
+        }
+        finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void corrupt_input_is_rejected() throws IOException {
+        try {
+            new ChunkedZstdInputStream(new ByteArrayInputStream(new byte[] { 1, 2, 3, 4 }), Runnable::run, 1);
+            fail("Expected exception");
+        }
+        catch (IOException e) {
+            assertEquals("Not a chunked zstd stream, got magic 1020304", e.getMessage());
+        }
+    }
+
+    private static byte[] randomBytes(int length) {
+        // Repeat some random bytes, so the content is compressible
+        Random random = new Random(1);
+        byte[] pattern = new byte[1000];
+        random.nextBytes(pattern);
+        byte[] content = new byte[length];
+        for (int i = 0; i < length; i++)
+            content[i] = (byte) (pattern[i % pattern.length] + i / 10_000);
+        return content;
+    }
+
+}
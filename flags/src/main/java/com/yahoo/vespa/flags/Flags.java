@@ -280,6 +280,20 @@ public class Flags {
             "Enable dynamic provisioning of config servers",
             "Takes effect immediately, for subsequent provisioning");
 
+    public static final UnboundStringFlag FILE_DISTRIBUTION_COMPRESSION_FORMAT = defineStringFlag(
+            "file-distribution-compression-format", "gzip",
+            List.of("hmusum"), "2021-03-08", "2021-07-01",
+            "Format used by config servers when compressing file references that are directories, 'gzip' or 'zstd'. " +
+            "zstd can only be used when all nodes in the zone are able to decompress it",
+            "Takes effect immediately");
+
+    public static final UnboundBooleanFlag NODE_REPOSITORY_BINARY_SERIALIZATION = defineFeatureFlag(
+            "node-repository-binary-serialization", false,
+            List.of("bratseth"), "2021-03-10", "2021-07-01",
+            "Whether config servers write nodes and applications in the node repository as binary slime rather than JSON. " +
+            "Can only be enabled when all config servers in the zone are able to read binary slime",
+            "Takes effect on the next write of each node and application");
+
     /** WARNING: public for testing: All flags should be defined in {@link Flags}. */
     public static UnboundBooleanFlag defineFeatureFlag(String flagId, boolean defaultValue, List<String> owners,
                                                        String createdAt, String expiresAt, String description,
@@ -4,6 +4,7 @@ package com.yahoo.jdisc.application;
 import java.net.URI;
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 
 import static java.util.stream.Collectors.toUnmodifiableList;
@@ -19,10 +20,12 @@ public class BindingSet<T> implements Iterable<Map.Entry<UriPattern, T>>  {
 
     public static final String DEFAULT = "default";
 
-    private final Collection<Map.Entry<UriPattern, T>> bindings;
+    private final List<Map.Entry<UriPattern, T>> bindings;
+    private final PathPrefixTrie trie;
 
     BindingSet(Collection<Map.Entry<UriPattern, T>> bindings) {
         this.bindings = sorted(bindings);
+        this.trie = new PathPrefixTrie(this.bindings.stream().map(Map.Entry::getKey).collect(toUnmodifiableList()));
     }
 
     /**
@@ -34,14 +37,34 @@ public class BindingSet<T> implements Iterable<Map.Entry<UriPattern, T>>  {
      * @return A {@link BindingMatch} object describing the match found, or null if not found.
      */
     public BindingMatch<T> match(URI uri) {
-        for (Map.Entry<UriPattern, T> entry : bindings) {
-            UriPattern pattern = entry.getKey();
-            UriPattern.Match match = pattern.match(uri);
-            if (match != null) {
-                return new BindingMatch<>(match, entry.getValue(), pattern);
+        if ( ! uri.isAbsolute() || uri.getHost() == null) // Can not match any pattern, see UriPattern.match(URI).
+            return null;
+
+        // Only the bindings whose literal path prefix is a prefix of the path may match. The best of these is the
+        // first in sorted order, so only bindings before the best match so far are tried at each node of the walk.
+        String path = uri.getRawPath();
+        int best = -1;
+        UriPattern.Match bestMatch = null;
+        PathPrefixTrie.Node node = trie.root();
+        for (int i = path.isEmpty() ? 0 : 1; node != null; ++i) { // Strip leading '/', as in UriPattern.match(URI).
+            for (int candidate : node.patterns()) {
+                if (best >= 0 && candidate > best) {
+                    break;
+                }
+                UriPattern.Match match = bindings.get(candidate).getKey().match(uri);
+                if (match != null) {
+                    best = candidate;
+                    bestMatch = match;
+                    break;
+                }
             }
+            node = i < path.length() ? node.child(path.charAt(i)) : null;
+        }
+        if (best < 0) {
+            return null;
         }
-        return null;
+        Map.Entry<UriPattern, T> entry = bindings.get(best);
+        return new BindingMatch<>(bestMatch, entry.getValue(), entry.getKey());
     }
 
     /**
@@ -68,7 +91,7 @@ public class BindingSet<T> implements Iterable<Map.Entry<UriPattern, T>>  {
         return bindings.iterator();
     }
 
-    private static <T> Collection<Map.Entry<UriPattern, T>> sorted(Collection<Map.Entry<UriPattern, T>> unsorted) {
+    private static <T> List<Map.Entry<UriPattern, T>> sorted(Collection<Map.Entry<UriPattern, T>> unsorted) {
         return unsorted.stream().sorted(Map.Entry.comparingByKey()).collect(toUnmodifiableList());
     }
 
@@ -52,6 +52,11 @@ class GlobPattern implements Comparable<GlobPattern> {
         return false;
     }
 
+    /** Returns the part of this pattern which precedes its first wildcard, i.e., all of it if it has none */
+    String literalPrefix() {
+        return parts.length == 0 ? "" : parts[0];
+    }
+
     @Override
     public int compareTo(GlobPattern rhs) {
         // wildcard pattern always orders last
@@ -0,0 +1,90 @@
+// Copyright Verizon Media. Licensed under the terms of the Apache 2.0 license. See LICENSE in the project root.
+package com.yahoo.jdisc.application;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * <p>A trie over the literal path prefixes of a list of {@link UriPattern}s, i.e., the part of the path pattern which
+ * precedes its first wildcard. Each node holds the positions in the list of the patterns whose prefix ends there, in
+ * increasing order. Walking a path down this trie visits exactly the patterns which may match it.</p>
+ */
+final class PathPrefixTrie {
+
+    private static final int[] NONE = new int[0];
+
+    private final Node root;
+
+    PathPrefixTrie(List<UriPattern> patterns) {
+        Builder root = new Builder();
+        for (int i = 0; i < patterns.size(); ++i) {
+            Builder node = root;
+            String prefix = patterns.get(i).pathPrefix();
+            for (int j = 0; j < prefix.length(); ++j) {
+                node = node.children.computeIfAbsent(prefix.charAt(j), __ -> new Builder());
+            }
+            node.patterns.add(i);
+        }
+        this.root = root.build();
+    }
+
+    /** Returns the root node, whose patterns are those with an empty literal path prefix */
+    Node root() {
+        return root;
+    }
+
+    static final class Node {
+
+        private final char[] keys;
+        private final Node[] children;
+        private final int[] patterns;
+
+        private Node(char[] keys, Node[] children, int[] patterns) {
+            this.keys = keys;
+            this.children = children;
+            this.patterns = patterns;
+        }
+
+        /** Returns the positions of the patterns whose literal path prefix ends at this node, in increasing order */
+        int[] patterns() {
+            return patterns;
+        }
+
+        /** Returns the child of this node for the given character, or null if none */
+        Node child(char c) {
+            int lo = 0;
+            int hi = keys.length - 1;
+            while (lo <= hi) {
+                int mid = (lo + hi) >>> 1;
+                if (keys[mid] < c) {
+                    lo = mid + 1;
+                } else if (keys[mid] > c) {
+                    hi = mid - 1;
+                } else {
+                    return children[mid];
+                }
+            }
+            return null;
+        }
+    }
+
+    private static class Builder {
+
+        final Map<Character, Builder> children = new TreeMap<>();
+        final List<Integer> patterns = new ArrayList<>();
+
+        Node build() {
+            char[] keys = new char[children.size()];
+            Node[] nodes = new Node[children.size()];
+            int i = 0;
+            for (Map.Entry<Character, Builder> child : children.entrySet()) {
+                keys[i] = child.getKey();
+                nodes[i++] = child.getValue().build();
+            }
+            return new Node(keys, nodes, patterns.isEmpty() ? NONE : patterns.stream().mapToInt(Integer::intValue).toArray());
+        }
+    }
+
+}
@@ -117,6 +117,11 @@ public class UriPattern implements Comparable<UriPattern> {
         return new Match(schemeMatch, hostMatch, port > 0 ? 0 : uri.getPort(), pathMatch);
     }
 
+    /** Returns the part of the path pattern of this which precedes its first wildcard, without the leading '/' */
+    String pathPrefix() {
+        return path.literalPrefix();
+    }
+
     @Override
     public int hashCode() {
         return pattern.hashCode();
@@ -5,6 +5,13 @@ import java.util.Objects;
 import java.util.Queue;
 
 /**
+ * A hashed timer wheel with {@link #NUM_SLOTS} slots of {@link #MILLIS_PER_SLOT} each, where scheduling and
+ * unscheduling are constant time operations.
+ *
+ * Entries which are not due within the current rotation of the wheel are kept in an overflow wheel with a slot
+ * per rotation, and are moved into the wheel when their rotation begins. Draining a slot therefore only visits the
+ * entries which expire, also when most entries have timeouts longer than a rotation, as with long polling requests.
+ *
  * @author <a href="mailto:havardpe@yahoo-inc.com">Haavard Pettersen</a>
  * @author Simon Thoresen Hult
  */
@@ -16,8 +23,12 @@ class ScheduledQueue {
     public static final int SLOT_MASK = 511; // bitmask to modulo NUM_SLOTS
     public static final int ITER_SHIFT = 9; // number of bits to shift off SLOT_MASK
 
-    private final Entry[] slots = new Entry[NUM_SLOTS + 1];
-    private final int[] counts = new int[NUM_SLOTS + 1];
+    /** Buckets [0, NUM_SLOTS) are the wheel, NUM_SLOTS holds expired entries, and the rest is the overflow wheel */
+    private static final int EXPIRED_BUCKET = NUM_SLOTS;
+    private static final int OVERFLOW_OFFSET = NUM_SLOTS + 1;
+
+    private final Entry[] slots = new Entry[OVERFLOW_OFFSET + NUM_SLOTS];
+    private final int[] counts = new int[OVERFLOW_OFFSET + NUM_SLOTS];
     private int currIter = 0;
     private int currSlot = 0;
     private long nextTick;
@@ -32,24 +43,25 @@ class ScheduledQueue {
     }
 
     public synchronized void drainTo(long currentTimeMillis, Queue<Object> out) {
-        if (slots[NUM_SLOTS] == null && currentTimeMillis < nextTick) {
+        if (slots[EXPIRED_BUCKET] == null && currentTimeMillis < nextTick) {
             return;
         }
-        drainTo(NUM_SLOTS, 0, out);
+        drainTo(EXPIRED_BUCKET, 0, out);
         for (int i = 0; currentTimeMillis >= nextTick; i++, nextTick += MILLIS_PER_SLOT) {
             if (i < NUM_SLOTS_UNDILATED) {
                 if (++currSlot >= NUM_SLOTS) {
                     currSlot = 0;
                     currIter++;
+                    cascade(currIter);
                 }
                 drainTo(currSlot, currIter, out);
             }
         }
     }
 
-    private void drainTo(int slot, int iter, Queue<Object> out) {
-        int cnt = counts[slot];
-        Entry entry = slots[slot];
+    private void drainTo(int bucket, int iter, Queue<Object> out) {
+        int cnt = counts[bucket];
+        Entry entry = slots[bucket];
         for (int i = 0; i < cnt; i++) {
             Entry next = entry.next;
             if (entry.iter == iter) {
@@ -60,18 +72,36 @@ class ScheduledQueue {
         }
     }
 
+    /** Moves the entries of the given rotation from the overflow wheel into the wheel */
+    private void cascade(int iter) {
+        int bucket = OVERFLOW_OFFSET + (iter & SLOT_MASK);
+        int cnt = counts[bucket];
+        Entry entry = slots[bucket];
+        for (int i = 0; i < cnt; i++) {
+            Entry next = entry.next;
+            if (entry.iter == iter) {
+                linkOut(entry);
+                entry.bucket = entry.slot;
+                linkIn(entry);
+            }
+            entry = next;
+        }
+    }
+
     private synchronized void scheduleAt(Entry entry, long expireAtMillis) {
         if (entry.next != null) {
             linkOut(entry);
         }
         long delayMillis = expireAtMillis - nextTick;
         if (delayMillis < 0) {
-            entry.slot = NUM_SLOTS;
+            entry.slot = EXPIRED_BUCKET;
             entry.iter = 0;
+            entry.bucket = EXPIRED_BUCKET;
         } else {
             long ticks = 1 + (int)((delayMillis + MILLIS_PER_SLOT / 2) / MILLIS_PER_SLOT);
             entry.slot = (int)((ticks + currSlot) & SLOT_MASK);
             entry.iter = currIter + (int)((ticks + currSlot) >> ITER_SHIFT);
+            entry.bucket = entry.iter == currIter ? entry.slot : OVERFLOW_OFFSET + (entry.iter & SLOT_MASK);
         }
         linkIn(entry);
     }
@@ -83,34 +113,34 @@ class ScheduledQueue {
     }
 
     private void linkIn(Entry entry) {
-        Entry head = slots[entry.slot];
+        Entry head = slots[entry.bucket];
         if (head == null) {
             entry.next = entry;
             entry.prev = entry;
-            slots[entry.slot] = entry;
+            slots[entry.bucket] = entry;
         } else {
             entry.next = head;
             entry.prev = head.prev;
             head.prev.next = entry;
             head.prev = entry;
         }
-        ++counts[entry.slot];
+        ++counts[entry.bucket];
     }
 
     private void linkOut(Entry entry) {
-        Entry head = slots[entry.slot];
+        Entry head = slots[entry.bucket];
         if (entry.next == entry) {
-            slots[entry.slot] = null;
+            slots[entry.bucket] = null;
         } else {
             entry.prev.next = entry.next;
             entry.next.prev = entry.prev;
             if (head == entry) {
-                slots[entry.slot] = entry.next;
+                slots[entry.bucket] = entry.next;
             }
         }
         entry.next = null;
         entry.prev = null;
-        --counts[entry.slot];
+        --counts[entry.bucket];
     }
 
     public class Entry {
@@ -118,6 +148,7 @@ class ScheduledQueue {
         private final Object payload;
         private int slot;
         private int iter;
+        private int bucket;
         private Entry next;
         private Entry prev;
 
@@ -13,7 +13,7 @@ import com.yahoo.jdisc.handler.RequestHandler;
 import com.yahoo.jdisc.handler.ResponseHandler;
 
 import java.nio.ByteBuffer;
-import java.util.LinkedList;
+import java.util.ArrayDeque;
 import java.util.Queue;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
@@ -67,7 +67,7 @@ public class TimeoutManagerImpl {
     }
 
     void checkTasks(long currentTimeMillis) {
-        Queue<Object> queue = new LinkedList<>();
+        Queue<Object> queue = new ArrayDeque<>();
         for (ScheduledQueue schedule : schedules) {
             schedule.drainTo(currentTimeMillis, queue);
         }
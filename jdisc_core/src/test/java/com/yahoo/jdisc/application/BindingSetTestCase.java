@@ -474,6 +474,39 @@ public class BindingSetTestCase {
                     "http://*:4080/*");
     }
 
+    @Test
+    public void requireThatMatchingAgreesWithTryingAllPatternsInOrder() {
+        String[] schemes = { "http", "https", "*" };
+        String[] hosts = { "host", "*.host", "host.*", "*" };
+        String[] ports = { "", ":80", ":*" };
+        String[] paths = { "", "*", "a", "a/", "a/*", "a/b", "a/b/*", "a/*/c", "ab*", "*/b", "*b*", "a/b/c" };
+        BindingRepository<String> repo = new BindingRepository<>();
+        for (String scheme : schemes)
+            for (String host : hosts)
+                for (String port : ports)
+                    for (String path : paths)
+                        repo.bind(scheme + "://" + host + port + "/" + path, scheme + host + port + path);
+        BindingSet<String> bindings = repo.activate();
+
+        for (String scheme : new String[] { "http", "https", "ftp" })
+            for (String host : new String[] { "host", "a.host", "host.a", "other" })
+                for (String port : new String[] { "", ":80", ":81" })
+                    for (String path : new String[] { "", "/", "/a", "/a/", "/ab", "/a/b", "/a/b/", "/a/x/c", "/a/b/c", "/x/b", "/xbx" })
+                        assertMatchesFirstInOrder(bindings, URI.create(scheme + "://" + host + port + path));
+        assertNull(bindings.match(URI.create("/a/b")));
+    }
+
+    private static void assertMatchesFirstInOrder(BindingSet<String> bindings, URI uri) {
+        String expected = null;
+        for (Map.Entry<UriPattern, String> entry : bindings) {
+            if (entry.getKey().match(uri) != null) {
+                expected = entry.getValue();
+                break;
+            }
+        }
+        assertEquals(uri.toString(), expected, bindings.resolve(uri));
+    }
+
     private static void assertOrder(String... expected) {
         for (int off = 0; off < expected.length; ++off) {
             List<String> actual = new ArrayList<>();
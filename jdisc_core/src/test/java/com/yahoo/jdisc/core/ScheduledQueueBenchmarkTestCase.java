@@ -0,0 +1,68 @@
+// Copyright Verizon Media. Licensed under the terms of the Apache 2.0 license. See LICENSE in the project root.
+package com.yahoo.jdisc.core;
+
+import org.junit.Ignore;
+import org.junit.Test;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.Random;
+import java.util.logging.Logger;
+
+import static com.yahoo.jdisc.core.ScheduledQueue.MILLIS_PER_SLOT;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Schedules a million timeouts spread over ten minutes, as with many concurrent long polling requests,
+ * and logs the cost of scheduling, unscheduling and expiring them. This is in this package as the queue is
+ * package private, and is ignored as it is a benchmark to be run manually rather than a unit test.
+ */
+public class ScheduledQueueBenchmarkTestCase {
+
+    private static final Logger log = Logger.getLogger(ScheduledQueueBenchmarkTestCase.class.getName());
+
+    private static final int NUM_ENTRIES = 1_000_000;
+    private static final long MAX_TIMEOUT_MILLIS = 600_000;
+
+    @Test
+    @Ignore
+    public void runScheduledQueueMeasurements() {
+        runMeasurements(); // warmup
+        log.info(runMeasurements());
+    }
+
+    private static String runMeasurements() {
+        Random random = new Random(1);
+        ScheduledQueue queue = new ScheduledQueue(0);
+        ScheduledQueue.Entry[] entries = new ScheduledQueue.Entry[NUM_ENTRIES];
+
+        long scheduleNanos = System.nanoTime();
+        for (int i = 0; i < NUM_ENTRIES; ++i) {
+            entries[i] = queue.newEntry(i);
+            entries[i].scheduleAt(1000 + (long)(random.nextDouble() * MAX_TIMEOUT_MILLIS));
+        }
+        scheduleNanos = System.nanoTime() - scheduleNanos;
+
+        // Most requests complete before their timeout
+        long unscheduleNanos = System.nanoTime();
+        for (int i = 0; i < NUM_ENTRIES; i += 2) {
+            entries[i].unschedule();
+        }
+        unscheduleNanos = System.nanoTime() - unscheduleNanos;
+
+        Queue<Object> expired = new ArrayDeque<>();
+        long drainNanos = System.nanoTime();
+        for (long now = 0; now <= MAX_TIMEOUT_MILLIS + 2000; now += MILLIS_PER_SLOT) {
+            queue.drainTo(now, expired);
+        }
+        drainNanos = System.nanoTime() - drainNanos;
+        assertEquals(NUM_ENTRIES / 2, expired.size());
+
+        return String.format("Scheduled queue timings:\n%-12s %10s\n%-12s %10.1f\n%-12s %10.1f\n%-12s %10.1f\n",
+                             "operation", "ns/entry",
+                             "schedule", (double)scheduleNanos / NUM_ENTRIES,
+                             "unschedule", (double)unscheduleNanos / (NUM_ENTRIES / 2),
+                             "expire", (double)drainNanos / (NUM_ENTRIES / 2));
+    }
+
+}
@@ -107,6 +107,29 @@ public class ScheduledQueueTestCase {
         }
     }
 
+    @Test
+    public void requireThatEntriesSeveralRotationsAheadExpireOnTime() {
+        ScheduledQueue queue = new ScheduledQueue(0);
+        long rotationMillis = NUM_SLOTS * MILLIS_PER_SLOT;
+        long[] expireAt = { rotationMillis + 150, 3 * rotationMillis + 250, (NUM_SLOTS + 1) * rotationMillis + 150 };
+        Object[] payloads = new Object[expireAt.length];
+        for (int i = expireAt.length - 1; i >= 0; --i) {
+            payloads[i] = scheduleAt(queue, expireAt[i]);
+        }
+
+        Queue<Object> expired = new LinkedList<>();
+        for (long now = 0; expired.size() < payloads.length; now += MILLIS_PER_SLOT) {
+            int before = expired.size();
+            queue.drainTo(now, expired);
+            if (expired.size() > before) {
+                assertEquals(before + 1, expired.size());
+                assertTrue(now >= expireAt[before] - MILLIS_PER_SLOT);
+                assertTrue(now <= expireAt[before] + MILLIS_PER_SLOT);
+            }
+        }
+        assertEquals(Arrays.asList(payloads), expired);
+    }
+
     @Test
     public void requireThatNegativeScheduleTranslatesToNow() {
         ScheduledQueue queue = new ScheduledQueue(0);
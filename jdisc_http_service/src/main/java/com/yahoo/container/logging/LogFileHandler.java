@@ -8,6 +8,7 @@ import com.yahoo.protect.Process;
 import com.yahoo.yolean.Exceptions;
 
 import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileDescriptor;
 import java.io.FileInputStream;
@@ -20,12 +21,12 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
-import java.util.Optional;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -34,6 +35,10 @@ import java.util.zip.GZIPOutputStream;
 /**
  * Implements log file naming/rotating logic for container logs.
  *
+ * Records are formatted by the threads publishing them, into per thread buffers, and passed
+ * to the log thread through a preallocated array queue, which writes them in batches.
+ * This way formatting, which is the expensive part, is not limited to a single thread.
+ *
  * @author Bob Travis
  * @author bjorncs
  */
@@ -42,10 +47,18 @@ class LogFileHandler <LOGTYPE> {
     enum Compression {NONE, GZIP, ZSTD}
 
     private final static Logger logger = Logger.getLogger(LogFileHandler.class.getName());
-    private final BlockingQueue<Operation<LOGTYPE>> logQueue;
-    final LogThread<LOGTYPE> logThread;
+    /** The max number of operations the log thread handles between each check for whether to flush */
+    private static final int maxBatchSize = 1000;
+
+    /** Buffers grown beyond this by large records are not kept for reuse */
+    private static final int maxRetainedBufferSize = 64 * 1024;
+
+    private final BlockingQueue<Operation> logQueue;
+    private final LogWriter<LOGTYPE> logWriter;
+    private final ThreadLocal<ByteArrayOutputStream> formattingBuffer = ThreadLocal.withInitial(() -> new ByteArrayOutputStream(1024));
+    final LogThread logThread;
 
-    @FunctionalInterface private interface Pollable<T> { Operation<T> poll() throws InterruptedException; }
+    @FunctionalInterface private interface Pollable { void poll(List<Operation> operations) throws InterruptedException; }
 
     LogFileHandler(Compression compression, String filePattern, String rotationTimes, String symlinkName, int queueSize,
                    String threadName, LogWriter<LOGTYPE> logWriter) {
@@ -60,13 +73,18 @@ class LogFileHandler <LOGTYPE> {
             int queueSize,
             String threadName,
             LogWriter<LOGTYPE> logWriter) {
-        this.logQueue = new LinkedBlockingQueue<>(queueSize);
-        this.logThread = new LogThread<>(logWriter, filePattern, compression, rotationTimes, symlinkName, threadName, this::poll);
+        this.logQueue = new ArrayBlockingQueue<>(queueSize);
+        this.logWriter = logWriter;
+        this.logThread = new LogThread(filePattern, compression, rotationTimes, symlinkName, threadName, this::poll);
         this.logThread.start();
     }
 
-    private Operation<LOGTYPE> poll() throws InterruptedException {
-        return logQueue.poll(100, TimeUnit.MILLISECONDS);
+    /** Waits a short while for an operation, and then adds all available ones, up to the max batch size */
+    private void poll(List<Operation> operations) throws InterruptedException {
+        Operation first = logQueue.poll(100, TimeUnit.MILLISECONDS);
+        if (first == null) return;
+        operations.add(first);
+        logQueue.drainTo(operations, maxBatchSize - 1);
     }
 
     /**
@@ -75,36 +93,57 @@ class LogFileHandler <LOGTYPE> {
      * @param r logrecord to publish
      */
     public void publish(LOGTYPE r) {
-        addOperation(new Operation<>(r));
+        byte[] record = format(r);
+        if (record != null)
+            addOperation(new Operation(record, false));
     }
 
     void publishAndWait(LOGTYPE r) {
-        addOperationAndWait(new Operation<>(r));
+        byte[] record = format(r);
+        if (record != null)
+            addOperationAndWait(new Operation(record, true));
     }
 
     public void flush() {
-        addOperationAndWait(new Operation<>(Operation.Type.flush));
+        addOperationAndWait(new Operation(Operation.Type.flush));
     }
 
     /**
      * Force file rotation now, independent of schedule.
      */
     void rotateNow() {
-        addOperationAndWait(new Operation<>(Operation.Type.rotate));
+        addOperationAndWait(new Operation(Operation.Type.rotate));
     }
 
     public void close() {
-        addOperationAndWait(new Operation<>(Operation.Type.close));
+        addOperationAndWait(new Operation(Operation.Type.close));
     }
 
-    private void addOperation(Operation<LOGTYPE> op) {
+    /** Returns the given record as a new line terminated byte array, or null if it could not be formatted */
+    private byte[] format(LOGTYPE r) {
+        ByteArrayOutputStream buffer = formattingBuffer.get();
+        buffer.reset();
+        try {
+            logWriter.write(r, buffer);
+            buffer.write('\n');
+            return buffer.toByteArray();
+        } catch (IOException e) {
+            logger.warning("Failed formatting log record: " + Exceptions.toMessageString(e));
+            return null;
+        } finally {
+            if (buffer.size() > maxRetainedBufferSize)
+                formattingBuffer.remove();
+        }
+    }
+
+    private void addOperation(Operation op) {
         try {
             logQueue.put(op);
         } catch (InterruptedException e) {
         }
     }
 
-    private void addOperationAndWait(Operation<LOGTYPE> op) {
+    private void addOperationAndWait(Operation op) {
         try {
             logQueue.put(op);
             op.countDownLatch.await();
@@ -188,14 +227,13 @@ class LogFileHandler <LOGTYPE> {
     /**
      * Handle logging and file operations
      */
-    static class LogThread<LOGTYPE> extends Thread {
-        private final Pollable<LOGTYPE> operationProvider;
+    static class LogThread extends Thread {
+        private final Pollable operationProvider;
         long lastFlush = 0;
         private PageCacheFriendlyFileOutputStream fileOutput = null;
         private long nextRotationTime = 0;
         private final String filePattern;  // default to current directory, ms time stamp
         private volatile String fileName;
-        private final LogWriter<LOGTYPE> logWriter;
         private final Compression compression;
         private final long[] rotationTimes;
         private final String symlinkName;
@@ -203,16 +241,14 @@ class LogFileHandler <LOGTYPE> {
         private final NativeIO nativeIO = new NativeIO();
 
 
-        LogThread(LogWriter<LOGTYPE> logWriter,
-                  String filePattern,
+        LogThread(String filePattern,
                   Compression compression,
                   long[] rotationTimes,
                   String symlinkName,
                   String threadName,
-                  Pollable<LOGTYPE> operationProvider) {
+                  Pollable operationProvider) {
             super(threadName);
             setDaemon(true);
-            this.logWriter = logWriter;
             this.filePattern = filePattern;
             this.compression = compression;
             this.rotationTimes = rotationTimes;
@@ -242,9 +278,15 @@ class LogFileHandler <LOGTYPE> {
         }
 
         private void handleLogOperations() throws InterruptedException {
+            List<Operation> operations = new ArrayList<>(maxBatchSize);
             while (!isInterrupted()) {
-                Operation<LOGTYPE> r = operationProvider.poll();
-                if (r != null) {
+                operations.clear();
+                operationProvider.poll(operations);
+                if (operations.isEmpty()) {
+                    flushIfOld(100, TimeUnit.MILLISECONDS);
+                    continue;
+                }
+                for (Operation r : operations) {
                     if (r.type == Operation.Type.flush) {
                         internalFlush();
                     } else if (r.type == Operation.Type.close) {
@@ -253,13 +295,12 @@ class LogFileHandler <LOGTYPE> {
                         internalRotateNow();
                         lastFlush = System.nanoTime();
                     } else if (r.type == Operation.Type.log) {
-                        internalPublish(r.log.get());
-                        flushIfOld(3, TimeUnit.SECONDS);
+                        internalPublish(r.record);
                     }
-                    r.countDownLatch.countDown();
-                } else {
-                    flushIfOld(100, TimeUnit.MILLISECONDS);
+                    if (r.countDownLatch != null)
+                        r.countDownLatch.countDown();
                 }
+                flushIfOld(3, TimeUnit.SECONDS);
             }
         }
 
@@ -293,7 +334,7 @@ class LogFileHandler <LOGTYPE> {
             }
         }
 
-        private void internalPublish(LOGTYPE r) {
+        private void internalPublish(byte[] record) {
             // first check to see if new file needed.
             // if so, use this.internalRotateNow() to do it
 
@@ -305,8 +346,7 @@ class LogFileHandler <LOGTYPE> {
                 internalRotateNow();
             }
             try {
-                logWriter.write(r, fileOutput);
-                fileOutput.write('\n');
+                fileOutput.write(record);
             } catch (IOException e) {
                 logger.warning("Failed writing log record: " + Exceptions.toMessageString(e));
             }
@@ -482,25 +522,29 @@ class LogFileHandler <LOGTYPE> {
 
     }
 
-    private static class Operation<LOGTYPE> {
+    private static class Operation {
         enum Type {log, flush, close, rotate}
 
         final Type type;
 
-        final Optional<LOGTYPE> log;
-        final CountDownLatch countDownLatch = new CountDownLatch(1);
+        /** The formatted record of a log operation, or null */
+        final byte[] record;
+
+        /** The latch to count down when this is done, or null if nobody waits for it */
+        final CountDownLatch countDownLatch;
 
         Operation(Type type) {
-            this(type, Optional.empty());
+            this(type, null, true);
         }
 
-        Operation(LOGTYPE log) {
-            this(Type.log, Optional.of(log));
+        Operation(byte[] record, boolean await) {
+            this(Type.log, record, await);
         }
 
-        private Operation(Type type, Optional<LOGTYPE> log) {
+        private Operation(Type type, byte[] record, boolean await) {
             this.type = type;
-            this.log = log;
+            this.record = record;
+            this.countDownLatch = await ? new CountDownLatch(1) : null;
         }
     }
 
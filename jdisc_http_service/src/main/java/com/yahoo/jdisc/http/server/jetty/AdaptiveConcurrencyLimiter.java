@@ -0,0 +1,154 @@
+// Copyright Verizon Media. Licensed under the terms of the Apache 2.0 license. See LICENSE in the project root.
+package com.yahoo.jdisc.http.server.jetty;
+
+import com.yahoo.jdisc.http.ServerConfig;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Admits requests while the number of requests in flight is below a limit, which is adapted to the
+ * observed request latency: When recent latency rises above the long term latency, requests are queueing
+ * somewhere, and the limit is reduced by the ratio between them. Otherwise the limit is increased by about
+ * the square root of itself, if the current limit is being used. This is the gradient algorithm of
+ * Netflix' concurrency-limits library, which keeps latency flat under overload by rejecting the excess
+ * requests quickly rather than letting all requests slow down until they time out.
+ *
+ * Requests are assigned a share of the limit by priority classes given by path prefix, such that
+ * classes with lower shares are rejected first.
+ *
+ * This is thread safe.
+ */
+class AdaptiveConcurrencyLimiter {
+
+    /** How much more recent latency can be than long term latency before the limit is reduced */
+    private static final double latencyTolerance = 1.5;
+
+    /** The weight of each new sample in the short term latency average */
+    private static final double shortWeight = 0.1;
+
+    /** The weight of each new sample in the long term latency average */
+    private static final double longWeight = 1.0 / 600;
+
+    /** How quickly the limit moves towards the value computed from each sample */
+    private static final double smoothing = 0.2;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double defaultLimitShare;
+    private final List<Priority> priorities;
+    private final LongSupplier nanoClock;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile double limit;
+
+    // GuardedBy("this")
+    private double shortLatency = -1;
+    private double longLatency = -1;
+
+    AdaptiveConcurrencyLimiter(ServerConfig.AdmissionControl config) {
+        this(config, System::nanoTime);
+    }
+
+    AdaptiveConcurrencyLimiter(ServerConfig.AdmissionControl config, LongSupplier nanoClock) {
+        this.minLimit = Math.max(1, config.minLimit());
+        this.maxLimit = Math.max(minLimit, config.maxLimit());
+        this.limit = Math.max(minLimit, Math.min(maxLimit, config.initialLimit()));
+        this.defaultLimitShare = config.defaultLimitShare();
+        this.priorities = config.priority().stream()
+                                .map(priority -> new Priority(priority.pathPrefix(), priority.limitShare()))
+                                .sorted(Comparator.comparingInt((Priority priority) -> priority.pathPrefix.length()).reversed())
+                                .collect(toList());
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Returns a permit which must be released when the request is completed,
+     * or null if the request should be rejected.
+     *
+     * @param path the path of the request, which determines its priority
+     */
+    Permit tryAcquire(String path) {
+        double allowed = limit * limitShareOf(path);
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= allowed) return null;
+        } while ( ! inFlight.compareAndSet(current, current + 1));
+        return new Permit(nanoClock.getAsLong());
+    }
+
+    /** Returns the current concurrency limit */
+    int limit() { return (int)limit; }
+
+    /** Returns the number of requests currently in flight */
+    int inFlight() { return inFlight.get(); }
+
+    private double limitShareOf(String path) {
+        if (path != null) {
+            for (Priority priority : priorities)
+                if (path.startsWith(priority.pathPrefix)) return priority.limitShare;
+        }
+        return defaultLimitShare;
+    }
+
+    private void release(long startNanos) {
+        int inFlightAtCompletion = inFlight.getAndDecrement();
+        update(nanoClock.getAsLong() - startNanos, inFlightAtCompletion);
+    }
+
+    private synchronized void update(long latencyNanos, int inFlightAtCompletion) {
+        double latency = Math.max(1, latencyNanos);
+        if (longLatency < 0) {
+            shortLatency = longLatency = latency;
+            return;
+        }
+        shortLatency = shortLatency * (1 - shortWeight) + latency * shortWeight;
+        longLatency = longLatency * (1 - longWeight) + latency * longWeight;
+
+        // Let the long term latency adapt quickly when latency drops, e.g after an overload period
+        if (longLatency / shortLatency > 2)
+            longLatency *= 0.95;
+
+        // Latency is not caused by concurrency when the limit is not used
+        if (inFlightAtCompletion < limit / 2) return;
+
+        double gradient = Math.max(0.5, Math.min(1.0, latencyTolerance * longLatency / shortLatency));
+        double newLimit = limit * gradient + Math.sqrt(limit);
+        newLimit = limit * (1 - smoothing) + newLimit * smoothing;
+        limit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+    }
+
+    /** A permit to run one request, which must be released exactly once */
+    class Permit {
+
+        private final long startNanos;
+
+        private Permit(long startNanos) {
+            this.startNanos = startNanos;
+        }
+
+        /** Releases this, noting the latency of the request */
+        void release() {
+            AdaptiveConcurrencyLimiter.this.release(startNanos);
+        }
+
+    }
+
+    private static class Priority {
+
+        final String pathPrefix;
+        final double limitShare;
+
+        Priority(String pathPrefix, double limitShare) {
+            this.pathPrefix = pathPrefix;
+            this.limitShare = limitShare;
+        }
+
+    }
+
+}
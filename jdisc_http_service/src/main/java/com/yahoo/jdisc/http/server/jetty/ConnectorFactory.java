@@ -7,6 +7,11 @@ import com.yahoo.jdisc.http.ConnectorConfig;
 import com.yahoo.jdisc.http.ssl.SslContextFactoryProvider;
 import com.yahoo.security.tls.MixedMode;
 import com.yahoo.security.tls.TransportSecurityUtils;
+import org.eclipse.jetty.alpn.java.server.JDK9ServerALPNProcessor;
+import org.eclipse.jetty.alpn.server.ALPNServerConnectionFactory;
+import org.eclipse.jetty.http2.server.AbstractHTTP2ServerConnectionFactory;
+import org.eclipse.jetty.http2.server.HTTP2CServerConnectionFactory;
+import org.eclipse.jetty.http2.server.HTTP2ServerConnectionFactory;
 import org.eclipse.jetty.server.ConnectionFactory;
 import org.eclipse.jetty.server.DetectorConnectionFactory;
 import org.eclipse.jetty.server.HttpConfiguration;
@@ -18,6 +23,7 @@ import org.eclipse.jetty.server.ServerConnector;
 import org.eclipse.jetty.server.SslConnectionFactory;
 import org.eclipse.jetty.util.ssl.SslContextFactory;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -76,18 +82,23 @@ public class ConnectorFactory {
     }
 
     private List<ConnectionFactory> createConnectionFactories(Metric metric) {
-        HttpConnectionFactory httpFactory = newHttpConnectionFactory();
+        HttpConfiguration httpConfig = newHttpConfiguration();
+        HttpConnectionFactory httpFactory = new HttpConnectionFactory(httpConfig);
         if (!isSslEffectivelyEnabled(connectorConfig)) {
-            return List.of(httpFactory);
+            return connectionFactoriesForHttp(httpConfig, httpFactory);
         } else if (connectorConfig.ssl().enabled()) {
-            return connectionFactoriesForHttps(metric, httpFactory);
+            return connectionFactoriesForHttps(metric, httpConfig, httpFactory);
         } else if (TransportSecurityUtils.isTransportSecurityEnabled()) {
             switch (TransportSecurityUtils.getInsecureMixedMode()) {
                 case TLS_CLIENT_MIXED_SERVER:
                 case PLAINTEXT_CLIENT_MIXED_SERVER:
-                    return List.of(new DetectorConnectionFactory(newSslConnectionFactory(metric, httpFactory)), httpFactory);
+                    List<ConnectionFactory> factories = new ArrayList<>();
+                    factories.add(new DetectorConnectionFactory(newSslConnectionFactory(metric, httpFactory)));
+                    factories.addAll(connectionFactoriesForHttp(httpConfig, httpFactory));
+                    factories.addAll(http2ConnectionFactoriesForHttps(httpConfig, httpFactory));
+                    return factories;
                 case DISABLED:
-                    return connectionFactoriesForHttps(metric, httpFactory);
+                    return connectionFactoriesForHttps(metric, httpConfig, httpFactory);
                 default:
                     throw new IllegalStateException();
             }
@@ -96,21 +107,48 @@ public class ConnectorFactory {
         }
     }
 
-    private List<ConnectionFactory> connectionFactoriesForHttps(Metric metric, HttpConnectionFactory httpFactory) {
+    /** Returns the HTTP/1.1 factory, followed by the HTTP/2 cleartext factory if enabled, for upgrades and prior knowledge */
+    private List<ConnectionFactory> connectionFactoriesForHttp(HttpConfiguration httpConfig, HttpConnectionFactory httpFactory) {
+        if ( ! connectorConfig.http2().enabled()) return List.of(httpFactory);
+        return List.of(httpFactory, configure(new HTTP2CServerConnectionFactory(httpConfig)));
+    }
+
+    private List<ConnectionFactory> connectionFactoriesForHttps(Metric metric, HttpConfiguration httpConfig, HttpConnectionFactory httpFactory) {
         ConnectorConfig.ProxyProtocol proxyProtocolConfig = connectorConfig.proxyProtocol();
         SslConnectionFactory sslFactory = newSslConnectionFactory(metric, httpFactory);
+        List<ConnectionFactory> factories = new ArrayList<>();
         if (proxyProtocolConfig.enabled()) {
             if (proxyProtocolConfig.mixedMode()) {
-                return List.of(new DetectorConnectionFactory(sslFactory, new ProxyConnectionFactory(sslFactory.getProtocol())), sslFactory, httpFactory);
+                factories.add(new DetectorConnectionFactory(sslFactory, new ProxyConnectionFactory(sslFactory.getProtocol())));
             } else {
-                return List.of(new ProxyConnectionFactory(sslFactory.getProtocol()), sslFactory, httpFactory);
+                factories.add(new ProxyConnectionFactory(sslFactory.getProtocol()));
             }
-        } else {
-            return List.of(sslFactory, httpFactory);
         }
+        factories.add(sslFactory);
+        factories.add(httpFactory);
+        factories.addAll(http2ConnectionFactoriesForHttps(httpConfig, httpFactory));
+        return factories;
+    }
+
+    /** Returns the factories negotiating HTTP/2 or HTTP/1.1 with ALPN after the TLS handshake, if HTTP/2 is enabled */
+    private List<ConnectionFactory> http2ConnectionFactoriesForHttps(HttpConfiguration httpConfig, HttpConnectionFactory httpFactory) {
+        if ( ! connectorConfig.http2().enabled()) return List.of();
+        HTTP2ServerConnectionFactory http2Factory = configure(new HTTP2ServerConnectionFactory(httpConfig));
+        ALPNServerConnectionFactory alpnFactory = newAlpnConnectionFactory(http2Factory.getProtocol(), httpFactory.getProtocol());
+        alpnFactory.setDefaultProtocol(httpFactory.getProtocol());
+        return List.of(alpnFactory, http2Factory);
     }
 
-    private HttpConnectionFactory newHttpConnectionFactory() {
+    private <T extends AbstractHTTP2ServerConnectionFactory> T configure(T http2Factory) {
+        ConnectorConfig.Http2 http2Config = connectorConfig.http2();
+        http2Factory.setMaxConcurrentStreams(http2Config.maxConcurrentStreams());
+        http2Factory.setStreamIdleTimeout((long)(http2Config.streamIdleTimeout() * 1000.0));
+        http2Factory.setInitialStreamRecvWindow(http2Config.initialStreamRecvWindow());
+        http2Factory.setInitialSessionRecvWindow(http2Config.initialSessionRecvWindow());
+        return http2Factory;
+    }
+
+    private HttpConfiguration newHttpConfiguration() {
         HttpConfiguration httpConfig = new HttpConfiguration();
         httpConfig.setSendDateHeader(true);
         httpConfig.setSendServerVersion(false);
@@ -122,16 +160,32 @@ public class ConnectorFactory {
         if (isSslEffectivelyEnabled(connectorConfig)) {
             httpConfig.addCustomizer(new SecureRequestCustomizer());
         }
-        return new HttpConnectionFactory(httpConfig);
+        return httpConfig;
     }
 
     private SslConnectionFactory newSslConnectionFactory(Metric metric, HttpConnectionFactory httpFactory) {
         SslContextFactory ctxFactory = sslContextFactoryProvider.getInstance(connectorConfig.name(), connectorConfig.listenPort());
-        SslConnectionFactory connectionFactory = new SslConnectionFactory(ctxFactory, httpFactory.getProtocol());
+        String nextProtocol = connectorConfig.http2().enabled() ? "alpn" : httpFactory.getProtocol();
+        SslConnectionFactory connectionFactory = new SslConnectionFactory(ctxFactory, nextProtocol);
         connectionFactory.addBean(new SslHandshakeFailedListener(metric, connectorConfig.name(), connectorConfig.listenPort()));
         return connectionFactory;
     }
 
+    /**
+     * Jetty finds the ALPN implementation with the service loader of the context class loader,
+     * which does not see the bundle of the JDK implementation when running in OSGi.
+     */
+    private static ALPNServerConnectionFactory newAlpnConnectionFactory(String... protocols) {
+        Thread thread = Thread.currentThread();
+        ClassLoader contextClassLoader = thread.getContextClassLoader();
+        try {
+            thread.setContextClassLoader(JDK9ServerALPNProcessor.class.getClassLoader());
+            return new ALPNServerConnectionFactory(protocols);
+        } finally {
+            thread.setContextClassLoader(contextClassLoader);
+        }
+    }
+
     private static boolean isSslEffectivelyEnabled(ConnectorConfig config) {
         return config.ssl().enabled()
                 || (config.implicitTlsEnabled() && TransportSecurityUtils.isTransportSecurityEnabled());
@@ -13,6 +13,7 @@ import com.yahoo.jdisc.handler.RequestHandler;
 import com.yahoo.jdisc.http.ConnectorConfig;
 import com.yahoo.jdisc.http.HttpHeaders;
 import com.yahoo.jdisc.http.HttpRequest;
+import org.eclipse.jetty.http.HttpVersion;
 import org.eclipse.jetty.io.EofException;
 import org.eclipse.jetty.server.HttpConnection;
 import org.eclipse.jetty.server.Request;
@@ -55,6 +56,7 @@ class HttpRequestDispatch {
     private final ServletResponseController servletResponseController;
     private final RequestHandler requestHandler;
     private final RequestMetricReporter metricReporter;
+    private volatile Runnable completionListener = () -> { };
 
     public HttpRequestDispatch(JDiscContext jDiscContext,
                                AccessLogEntry accessLogEntry,
@@ -78,6 +80,12 @@ class HttpRequestDispatch {
         metricReporter.uriLength(jettyRequest.getOriginalURI().length());
     }
 
+    /** Sets a listener which is run when this request is completed, before the servlet request is */
+    HttpRequestDispatch whenCompleted(Runnable completionListener) {
+        this.completionListener = completionListener;
+        return this;
+    }
+
     public void dispatch() throws IOException {
         ServletRequestReader servletRequestReader;
         try {
@@ -129,6 +137,12 @@ class HttpRequestDispatch {
                 parent.metricReporter.successfulResponse();
             }
 
+            try {
+                parent.completionListener.run();
+            } catch (Throwable throwable) {
+                log.log(Level.WARNING, "Completion listener failed", throwable);
+            }
+
             try {
                 parent.async.complete();
                 log.finest(() -> "Request completed successfully: " + parent.jettyRequest.getRequestURI());
@@ -140,17 +154,17 @@ class HttpRequestDispatch {
     }
 
     private static void markConnectionAsNonPersistentIfThresholdReached(HttpServletRequest request) {
+        HttpConnection connection = getConnection(request);
+        if (connection == null) return; // HTTP/2
         ConnectorConfig connectorConfig = getConnector(request).connectorConfig();
         int maxRequestsPerConnection = connectorConfig.maxRequestsPerConnection();
         if (maxRequestsPerConnection > 0) {
-            HttpConnection connection = getConnection(request);
             if (connection.getMessagesIn() >= maxRequestsPerConnection) {
                 connection.getGenerator().setPersistent(false);
             }
         }
         double maxConnectionLifeInSeconds = connectorConfig.maxConnectionLife();
         if (maxConnectionLifeInSeconds > 0) {
-            HttpConnection connection = getConnection(request);
             Instant expireAt = Instant.ofEpochMilli((long)(connection.getCreatedTimeStamp() + maxConnectionLifeInSeconds * 1000));
             if (Instant.now().isAfter(expireAt)) {
                 connection.getGenerator().setPersistent(false);
@@ -182,12 +196,24 @@ class HttpRequestDispatch {
         ServletRequestReader servletRequestReader = new ServletRequestReader(servletInputStream,
                                                                              requestContentChannel,
                                                                              jDiscContext.janitor,
-                                                                             metricReporter);
+                                                                             metricReporter,
+                                                                             getConnector(jettyRequest).connectorConfig().requestContentBufferSize(),
+                                                                             maxPendingRequestContentBytes(jettyRequest),
+                                                                             jettyRequest.getContentLengthLong());
 
         servletInputStream.setReadListener(servletRequestReader);
         return servletRequestReader;
     }
 
+    /**
+     * HTTP/2 request content is only read as fast as the request handler completes its writes, such that the
+     * stream flow control window, rather than memory, bounds how much content a client can send ahead of it.
+     */
+    private static long maxPendingRequestContentBytes(Request request) {
+        if (request.getHttpVersion() != HttpVersion.HTTP_2) return Long.MAX_VALUE;
+        return getConnector(request).connectorConfig().http2().initialStreamRecvWindow();
+    }
+
     private static void onError(CompletableFuture<?> future, Consumer<Throwable> errorHandler) {
         future.whenComplete((result, exception) -> {
             if (exception != null) {
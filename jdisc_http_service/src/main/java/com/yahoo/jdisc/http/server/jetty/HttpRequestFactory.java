@@ -13,7 +13,7 @@ import java.security.cert.X509Certificate;
 import java.util.Enumeration;
 
 import static com.yahoo.jdisc.Response.Status.BAD_REQUEST;
-import static com.yahoo.jdisc.http.server.jetty.HttpServletRequestUtils.getConnection;
+import static com.yahoo.jdisc.http.server.jetty.HttpServletRequestUtils.getConnectionCreatedTimestamp;
 import static com.yahoo.jdisc.http.server.jetty.HttpServletRequestUtils.getConnectorLocalPort;
 
 /**
@@ -30,7 +30,7 @@ class HttpRequestFactory {
                     HttpRequest.Method.valueOf(servletRequest.getMethod()),
                     HttpRequest.Version.fromString(servletRequest.getProtocol()),
                     new InetSocketAddress(servletRequest.getRemoteAddr(), servletRequest.getRemotePort()),
-                    getConnection(servletRequest).getCreatedTimeStamp());
+                    getConnectionCreatedTimestamp(servletRequest));
             httpRequest.context().put(ServletRequest.JDISC_REQUEST_X509CERT, getCertChain(servletRequest));
             return httpRequest;
         } catch (Utf8Appendable.NotUtf8Exception e) {
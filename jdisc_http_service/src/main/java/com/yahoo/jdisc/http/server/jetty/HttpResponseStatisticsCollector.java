@@ -3,6 +3,7 @@ package com.yahoo.jdisc.http.server.jetty;
 
 import com.yahoo.jdisc.http.HttpRequest;
 import org.eclipse.jetty.http.HttpStatus;
+import org.eclipse.jetty.http.HttpVersion;
 import org.eclipse.jetty.server.AsyncContextEvent;
 import org.eclipse.jetty.server.Handler;
 import org.eclipse.jetty.server.HttpChannelState;
@@ -30,6 +31,7 @@ import java.util.concurrent.atomic.LongAdder;
  * (1xx, 2xx, etc). It is similar to {@link org.eclipse.jetty.server.handler.StatisticsHandler}
  * with the distinction that this class collects response type statistics grouped
  * by HTTP method and only collects the numbers that are reported as metrics from Vespa.
+ * Responses are also grouped by HTTP protocol version, such that HTTP/2 streams can be told apart from HTTP/1 requests.
  *
  * @author ollivir
  */
@@ -49,6 +51,10 @@ public class HttpResponseStatisticsCollector extends HandlerWrapper implements G
         HTTP, HTTPS, OTHER
     }
 
+    public enum HttpProtocol {
+        HTTP1, HTTP2
+    }
+
     private static final String[] HTTP_RESPONSE_GROUPS = {
             MetricDefinitions.RESPONSES_1XX,
             MetricDefinitions.RESPONSES_2XX,
@@ -60,19 +66,21 @@ public class HttpResponseStatisticsCollector extends HandlerWrapper implements G
     };
 
     private final AtomicLong inFlight = new AtomicLong();
-    private final LongAdder[][][][] statistics;
+    private final LongAdder[][][][][] statistics;
 
     public HttpResponseStatisticsCollector(List<String> monitoringHandlerPaths, List<String> searchHandlerPaths) {
         this.monitoringHandlerPaths = monitoringHandlerPaths;
         this.searchHandlerPaths = searchHandlerPaths;
-        statistics = new LongAdder[HttpScheme.values().length][HttpMethod.values().length][][];
-        for (int scheme = 0; scheme < HttpScheme.values().length; ++scheme) {
-            for (int method = 0; method < HttpMethod.values().length; method++) {
-                statistics[scheme][method] = new LongAdder[HTTP_RESPONSE_GROUPS.length][];
-                for (int group = 0; group < HTTP_RESPONSE_GROUPS.length; group++) {
-                    statistics[scheme][method][group] = new LongAdder[HttpRequest.RequestType.values().length];
-                    for (int requestType = 0; requestType < HttpRequest.RequestType.values().length; requestType++) {
-                        statistics[scheme][method][group][requestType] = new LongAdder();
+        statistics = new LongAdder[HttpProtocol.values().length][HttpScheme.values().length][HttpMethod.values().length][][];
+        for (int protocol = 0; protocol < HttpProtocol.values().length; protocol++) {
+            for (int scheme = 0; scheme < HttpScheme.values().length; ++scheme) {
+                for (int method = 0; method < HttpMethod.values().length; method++) {
+                    statistics[protocol][scheme][method] = new LongAdder[HTTP_RESPONSE_GROUPS.length][];
+                    for (int group = 0; group < HTTP_RESPONSE_GROUPS.length; group++) {
+                        statistics[protocol][scheme][method][group] = new LongAdder[HttpRequest.RequestType.values().length];
+                        for (int requestType = 0; requestType < HttpRequest.RequestType.values().length; requestType++) {
+                            statistics[protocol][scheme][method][group][requestType] = new LongAdder();
+                        }
                     }
                 }
             }
@@ -129,13 +137,13 @@ public class HttpResponseStatisticsCollector extends HandlerWrapper implements G
     private void observeEndOfRequest(Request request, HttpServletResponse flushableResponse) throws IOException {
         int group = groupIndex(request);
         if (group >= 0) {
-            HttpScheme scheme = getScheme(request);
+            LongAdder[][][] methodStatistics = statistics[getProtocol(request).ordinal()][getScheme(request).ordinal()];
             HttpMethod method = getMethod(request);
             HttpRequest.RequestType requestType = getRequestType(request);
 
-            statistics[scheme.ordinal()][method.ordinal()][group][requestType.ordinal()].increment();
+            methodStatistics[method.ordinal()][group][requestType.ordinal()].increment();
             if (group == 5 || group == 6) { // if 401/403, also increment 4xx
-                statistics[scheme.ordinal()][method.ordinal()][3][requestType.ordinal()].increment();
+                methodStatistics[method.ordinal()][3][requestType.ordinal()].increment();
             }
         }
 
@@ -161,13 +169,17 @@ public class HttpResponseStatisticsCollector extends HandlerWrapper implements G
         }
 
         index = index / 100 - 1; // 1xx = 0, 2xx = 1 etc.
-        if (index < 0 || index >= statistics[0].length) {
+        if (index < 0 || index >= HTTP_RESPONSE_GROUPS.length) {
             return -1;
         } else {
             return index;
         }
     }
 
+    private HttpProtocol getProtocol(Request request) {
+        return request.getHttpVersion() == HttpVersion.HTTP_2 ? HttpProtocol.HTTP2 : HttpProtocol.HTTP1;
+    }
+
     private HttpScheme getScheme(Request request) {
         switch (request.getScheme()) {
             case "http":
@@ -221,15 +233,19 @@ public class HttpResponseStatisticsCollector extends HandlerWrapper implements G
 
     public List<StatisticsEntry> takeStatistics() {
         var ret = new ArrayList<StatisticsEntry>();
-        for (HttpScheme scheme : HttpScheme.values()) {
-            int schemeIndex = scheme.ordinal();
-            for (HttpMethod method : HttpMethod.values()) {
-                int methodIndex = method.ordinal();
-                for (int group = 0; group < HTTP_RESPONSE_GROUPS.length; group++) {
-                    for (HttpRequest.RequestType type : HttpRequest.RequestType.values()) {
-                        long value = statistics[schemeIndex][methodIndex][group][type.ordinal()].sumThenReset();
-                        if (value > 0) {
-                            ret.add(new StatisticsEntry(scheme.name().toLowerCase(), method.name(), HTTP_RESPONSE_GROUPS[group], type.name().toLowerCase(), value));
+        for (HttpProtocol protocol : HttpProtocol.values()) {
+            int protocolIndex = protocol.ordinal();
+            for (HttpScheme scheme : HttpScheme.values()) {
+                int schemeIndex = scheme.ordinal();
+                for (HttpMethod method : HttpMethod.values()) {
+                    int methodIndex = method.ordinal();
+                    for (int group = 0; group < HTTP_RESPONSE_GROUPS.length; group++) {
+                        for (HttpRequest.RequestType type : HttpRequest.RequestType.values()) {
+                            long value = statistics[protocolIndex][schemeIndex][methodIndex][group][type.ordinal()].sumThenReset();
+                            if (value > 0) {
+                                ret.add(new StatisticsEntry(protocol.name().toLowerCase(), scheme.name().toLowerCase(), method.name(),
+                                                            HTTP_RESPONSE_GROUPS[group], type.name().toLowerCase(), value));
+                            }
                         }
                     }
                 }
@@ -272,6 +288,7 @@ public class HttpResponseStatisticsCollector extends HandlerWrapper implements G
 
     public static class StatisticsEntry {
 
+        public final String protocol;
         public final String scheme;
         public final String method;
         public final String name;
@@ -279,6 +296,11 @@ public class HttpResponseStatisticsCollector extends HandlerWrapper implements G
         public final long value;
 
         public StatisticsEntry(String scheme, String method, String name, String requestType, long value) {
+            this(HttpProtocol.HTTP1.name().toLowerCase(), scheme, method, name, requestType, value);
+        }
+
+        public StatisticsEntry(String protocol, String scheme, String method, String name, String requestType, long value) {
+            this.protocol = protocol;
             this.scheme = scheme;
             this.method = method;
             this.name = name;
@@ -288,7 +310,8 @@ public class HttpResponseStatisticsCollector extends HandlerWrapper implements G
 
         @Override
         public String toString() {
-            return "scheme: " + scheme +
+            return "protocol: " + protocol +
+                   ", scheme: " + scheme +
                    ", method: " + method +
                    ", name: " + name +
                    ", requestType: " + requestType +
@@ -1,7 +1,9 @@
 // Copyright 2017 Yahoo Holdings. Licensed under the terms of the Apache 2.0 license. See LICENSE in the project root.
 package com.yahoo.jdisc.http.server.jetty;
 
+import org.eclipse.jetty.server.Connector;
 import org.eclipse.jetty.server.HttpConnection;
+import org.eclipse.jetty.server.Request;
 
 import javax.servlet.http.HttpServletRequest;
 
@@ -11,16 +13,31 @@ import javax.servlet.http.HttpServletRequest;
 public class HttpServletRequestUtils {
     private HttpServletRequestUtils() {}
 
+    /** Returns the HTTP/1.x connection of the given request, or null if it was made with HTTP/2 */
     public static HttpConnection getConnection(HttpServletRequest request) {
         return (HttpConnection)request.getAttribute("org.eclipse.jetty.server.HttpConnection");
     }
 
+    /** Returns the connector which accepted the connection of the given request, for any HTTP version */
+    public static Connector getConnector(HttpServletRequest request) {
+        HttpConnection connection = getConnection(request);
+        if (connection != null) return connection.getConnector();
+        return Request.getBaseRequest(request).getHttpChannel().getConnector();
+    }
+
+    /** Returns the time the connection of the given request was created, in epoch milliseconds, for any HTTP version */
+    public static long getConnectionCreatedTimestamp(HttpServletRequest request) {
+        HttpConnection connection = getConnection(request);
+        if (connection != null) return connection.getCreatedTimeStamp();
+        return Request.getBaseRequest(request).getHttpChannel().getEndPoint().getCreatedTimeStamp();
+    }
+
     /**
      * Note: {@link HttpServletRequest#getLocalPort()} may return the local port of the load balancer / reverse proxy if proxy-protocol is enabled.
      * @return the actual local port of the underlying Jetty connector
      */
     public static int getConnectorLocalPort(HttpServletRequest request) {
-        JDiscServerConnector connector = (JDiscServerConnector) getConnection(request).getConnector();
+        JDiscServerConnector connector = (JDiscServerConnector) getConnector(request);
         int actualLocalPort = connector.getLocalPort();
         int localPortIfConnectorUnopened = -1;
         int localPortIfConnectorClosed = -2;
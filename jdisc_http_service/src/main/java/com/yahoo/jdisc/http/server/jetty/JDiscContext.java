@@ -5,6 +5,7 @@ import com.yahoo.jdisc.Metric;
 import com.yahoo.jdisc.http.ServerConfig;
 import com.yahoo.jdisc.service.CurrentContainer;
 
+import java.util.Optional;
 import java.util.concurrent.Executor;
 
 public class JDiscContext {
@@ -13,6 +14,7 @@ public class JDiscContext {
     final Executor janitor;
     final Metric metric;
     final ServerConfig serverConfig;
+    final Optional<AdaptiveConcurrencyLimiter> concurrencyLimiter;
 
     public JDiscContext(FilterBindings filterBindings,
                         CurrentContainer container,
@@ -25,6 +27,9 @@ public class JDiscContext {
         this.janitor = janitor;
         this.metric = metric;
         this.serverConfig = serverConfig;
+        this.concurrencyLimiter = serverConfig.admissionControl().enabled()
+                                  ? Optional.of(new AdaptiveConcurrencyLimiter(serverConfig.admissionControl()))
+                                  : Optional.empty();
     }
 
     public boolean developerMode() {
@@ -4,6 +4,7 @@ package com.yahoo.jdisc.http.server.jetty;
 import com.yahoo.container.logging.AccessLogEntry;
 import com.yahoo.jdisc.Metric;
 import com.yahoo.jdisc.handler.OverloadException;
+import com.yahoo.jdisc.http.HttpHeaders;
 import com.yahoo.jdisc.http.HttpRequest.Method;
 
 import javax.servlet.ServletException;
@@ -20,7 +21,6 @@ import java.util.logging.Logger;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
-import static com.yahoo.jdisc.http.server.jetty.HttpServletRequestUtils.getConnection;
 
 /**
  * @author Simon Thoresen Hult
@@ -104,7 +104,7 @@ class JDiscHttpServlet extends HttpServlet {
     }
 
     static JDiscServerConnector getConnector(HttpServletRequest request) {
-        return (JDiscServerConnector)getConnection(request).getConnector();
+        return (JDiscServerConnector)HttpServletRequestUtils.getConnector(request);
     }
 
     private void dispatchHttpRequest(HttpServletRequest request, HttpServletResponse response) throws IOException {
@@ -113,7 +113,27 @@ class JDiscHttpServlet extends HttpServlet {
         try {
             switch (request.getDispatcherType()) {
                 case REQUEST:
-                    new HttpRequestDispatch(context, accessLogEntry, getMetricContext(request), request, response).dispatch();
+                    Metric.Context metricContext = getMetricContext(request);
+                    if (context.concurrencyLimiter.isEmpty()) {
+                        new HttpRequestDispatch(context, accessLogEntry, metricContext, request, response).dispatch();
+                        break;
+                    }
+                    AdaptiveConcurrencyLimiter.Permit permit = context.concurrencyLimiter.get().tryAcquire(request.getRequestURI());
+                    if (permit == null) {
+                        context.metric.add(MetricDefinitions.ADMISSION_REJECTED, 1, metricContext);
+                        response.setHeader(HttpHeaders.Names.RETRY_AFTER,
+                                           Integer.toString(context.serverConfig.admissionControl().retryAfterSeconds()));
+                        response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+                        break;
+                    }
+                    try {
+                        new HttpRequestDispatch(context, accessLogEntry, metricContext, request, response)
+                                .whenCompleted(permit::release)
+                                .dispatch();
+                    } catch (IOException | RuntimeException e) {
+                        permit.release();
+                        throw e;
+                    }
                     break;
                 default:
                     if (log.isLoggable(Level.INFO)) {
@@ -6,6 +6,7 @@ import com.yahoo.container.logging.ConnectionLogEntry;
 import com.yahoo.container.logging.ConnectionLogEntry.SslHandshakeFailure.ExceptionEntry;
 import com.yahoo.io.HexDump;
 import com.yahoo.jdisc.http.ServerConfig;
+import org.eclipse.jetty.http2.server.HTTP2ServerConnection;
 import org.eclipse.jetty.io.Connection;
 import org.eclipse.jetty.io.EndPoint;
 import org.eclipse.jetty.io.SocketChannelEndPoint;
@@ -112,7 +113,7 @@ class JettyConnectionLogger extends AbstractLifeCycle implements Connection.List
             var endpointKey = IdentityKey.of(endpoint);
             ConnectionInfo info = connectionInfo.get(endpointKey);
             if (info == null) return; // Closed connection already handled
-            if (connection instanceof HttpConnection) {
+            if (connection instanceof HttpConnection || connection instanceof HTTP2ServerConnection) {
                 info.setHttpBytes(connection.getBytesIn(), connection.getBytesOut());
             }
             if (!endpoint.isOpen()) {
@@ -116,7 +116,7 @@ public class JettyHttpServer extends AbstractServerProvider {
                                                jdiscServlet,
                                                servletHolders,
                                                jDiscFilterInvokerFilter));
-        this.metricsReporter = new ServerMetricReporter(metric, server);
+        this.metricsReporter = new ServerMetricReporter(metric, server, jDiscContext.concurrencyLimiter);
     }
 
     private static void initializeJettyLogging() {
@@ -11,6 +11,7 @@ class MetricDefinitions {
     static final String PORT_DIMENSION = "serverPort";
     static final String METHOD_DIMENSION = "httpMethod";
     static final String SCHEME_DIMENSION = "scheme";
+    static final String PROTOCOL_DIMENSION = "protocol";
     static final String REQUEST_TYPE_DIMENSION = "requestType";
     static final String CLIENT_IP_DIMENSION = "clientIp";
     static final String CLIENT_AUTHENTICATED_DIMENSION = "clientAuthenticated";
@@ -70,6 +71,10 @@ class MetricDefinitions {
     static final String JETTY_THREADPOOL_TOTAL_THREADS = "jdisc.http.jetty.threadpool.thread.total";
     static final String JETTY_THREADPOOL_QUEUE_SIZE = "jdisc.http.jetty.threadpool.queue.size";
 
+    static final String ADMISSION_REJECTED = "jdisc.http.admission.rejected";
+    static final String ADMISSION_LIMIT = "jdisc.http.admission.limit";
+    static final String ADMISSION_IN_FLIGHT = "jdisc.http.admission.in_flight";
+
     static final String FILTERING_REQUEST_HANDLED = "jdisc.http.filtering.request.handled";
     static final String FILTERING_REQUEST_UNHANDLED = "jdisc.http.filtering.request.unhandled";
     static final String FILTERING_RESPONSE_HANDLED = "jdisc.http.filtering.response.handled";
@@ -13,6 +13,7 @@ import org.eclipse.jetty.util.thread.QueuedThreadPool;
 import java.time.Instant;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
@@ -28,10 +29,12 @@ class ServerMetricReporter {
             Executors.newScheduledThreadPool(1, new DaemonThreadFactory("jdisc-jetty-metric-reporter-"));
     private final Metric metric;
     private final Server jetty;
+    private final Optional<AdaptiveConcurrencyLimiter> concurrencyLimiter;
 
-    ServerMetricReporter(Metric metric, Server jetty) {
+    ServerMetricReporter(Metric metric, Server jetty, Optional<AdaptiveConcurrencyLimiter> concurrencyLimiter) {
         this.metric = metric;
         this.jetty = jetty;
+        this.concurrencyLimiter = concurrencyLimiter;
     }
 
     void start() {
@@ -71,6 +74,7 @@ class ServerMetricReporter {
             }
 
             setJettyThreadpoolMetrics();
+            concurrencyLimiter.ifPresent(this::setAdmissionMetrics);
         }
 
         private void setServerMetrics(HttpResponseStatisticsCollector statisticsCollector) {
@@ -85,6 +89,7 @@ class ServerMetricReporter {
                 Map<String, Object> dimensions = new HashMap<>();
                 dimensions.put(MetricDefinitions.METHOD_DIMENSION, metricEntry.method);
                 dimensions.put(MetricDefinitions.SCHEME_DIMENSION, metricEntry.scheme);
+                dimensions.put(MetricDefinitions.PROTOCOL_DIMENSION, metricEntry.protocol);
                 dimensions.put(MetricDefinitions.REQUEST_TYPE_DIMENSION, metricEntry.requestType);
                 metric.add(metricEntry.name, metricEntry.value, metric.createContext(dimensions));
             }
@@ -101,6 +106,11 @@ class ServerMetricReporter {
             metric.set(MetricDefinitions.JETTY_THREADPOOL_QUEUE_SIZE, threadpool.getQueueSize(), null);
         }
 
+        private void setAdmissionMetrics(AdaptiveConcurrencyLimiter limiter) {
+            metric.set(MetricDefinitions.ADMISSION_LIMIT, limiter.limit(), null);
+            metric.set(MetricDefinitions.ADMISSION_IN_FLIGHT, limiter.inFlight(), null);
+        }
+
         private void setConnectorMetrics(JDiscServerConnector connector) {
             ConnectionStatistics statistics = connector.getStatistics();
             metric.set(MetricDefinitions.NUM_CONNECTIONS, statistics.getConnectionsTotal(), connector.getConnectorMetricContext());
@@ -10,6 +10,7 @@ import java.nio.ByteBuffer;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Deque;
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
@@ -47,6 +48,12 @@ public class ServletOutputStreamWriter {
     // Other ways to express this are also possible, e.g. with a 'closed' state checked when queue goes empty.
     private static final ByteBuffer CLOSE_STREAM_BUFFER = ByteBuffer.allocate(0);
 
+    /** Buffers smaller than this are copied together with the following ones into a single write */
+    static final int MAX_COALESCED_BUFFER_SIZE = 8 * 1024;
+
+    /** The max size of a write made from coalesced buffers */
+    static final int MAX_COALESCED_WRITE_SIZE = 64 * 1024;
+
     private final Object monitor = new Object();
 
     // GuardedBy("monitor")
@@ -59,6 +66,9 @@ public class ServletOutputStreamWriter {
     // GuardedBy("monitor")
     private final Deque<ResponseContentPart> responseContentQueue = new ArrayDeque<>();
 
+    // Only accessed by the thread in state WRITING_BUFFERS
+    private final List<ResponseContentPart> partsToWrite = new ArrayList<>();
+
     private final RequestMetricReporter metricReporter;
 
     /**
@@ -153,6 +163,8 @@ public class ServletOutputStreamWriter {
                     state = State.WAITING_FOR_BUFFER;
                     return;
                 }
+                if (contentPart != null && contentPart.buf != CLOSE_STREAM_BUFFER)
+                    pollCoalescableParts_holdingLock(contentPart);
             }
 
             try {
@@ -168,16 +180,80 @@ public class ServletOutputStreamWriter {
                     callCompletionHandlerWhenDone(contentPart.handler, outputStream::close);
                     setFinished(Optional.empty());
                     return;
-                } else {
+                } else if (partsToWrite.size() == 1) {
+                    partsToWrite.clear();
                     writeBufferToOutputStream(contentPart);
+                } else {
+                    writeCoalescedBuffersToOutputStream();
                 }
             } catch (Throwable e) {
+                partsToWrite.clear();
                 setFinished(Optional.of(e));
                 return;
             }
         }
     }
 
+    /**
+     * Adds the given part, and any following small parts which can be written together with it, to partsToWrite.
+     * This lets streaming renderers write many small buffers without a servlet write, and lock round trip, for each.
+     */
+    private void pollCoalescableParts_holdingLock(ResponseContentPart first) {
+        assert Thread.holdsLock(monitor);
+
+        partsToWrite.add(first);
+        int size = first.buf.remaining();
+        if (size >= MAX_COALESCED_BUFFER_SIZE) return;
+
+        ResponseContentPart next;
+        while ((next = responseContentQueue.peekFirst()) != null
+               && next.buf != CLOSE_STREAM_BUFFER
+               && next.buf.remaining() < MAX_COALESCED_BUFFER_SIZE
+               && size + next.buf.remaining() <= MAX_COALESCED_WRITE_SIZE) {
+            partsToWrite.add(responseContentQueue.pollFirst());
+            size += next.buf.remaining();
+        }
+    }
+
+    /** Writes all the parts to write in one write, and signals their completion handlers in order when done */
+    private void writeCoalescedBuffersToOutputStream() throws Throwable {
+        int bytesToSend = 0;
+        for (ResponseContentPart part : partsToWrite)
+            bytesToSend += part.buf.remaining();
+        // A new array each time, as the output stream may hold on to it until the write is completed
+        byte[] array = new byte[bytesToSend];
+        int offset = 0;
+        for (ResponseContentPart part : partsToWrite) {
+            int length = part.buf.remaining();
+            part.buf.duplicate().get(array, offset, length);
+            offset += length;
+        }
+
+        try {
+            outputStream.write(array);
+            metricReporter.successfulWrite(bytesToSend);
+        } catch (Throwable e) {
+            metricReporter.failedWrite();
+            failPartsToWrite(0, e);
+            throw e;
+        }
+        for (int i = 0; i < partsToWrite.size(); i++) {
+            try {
+                partsToWrite.get(i).handler.completed();
+            } catch (Throwable e) { // Fail the rest as well, and handle this in the enclosing scope
+                failPartsToWrite(i + 1, e);
+                throw e;
+            }
+        }
+        partsToWrite.clear();
+    }
+
+    private void failPartsToWrite(int fromIndex, Throwable e) {
+        for (ResponseContentPart part : partsToWrite.subList(fromIndex, partsToWrite.size()))
+            runCompletionHandler_logOnExceptions(() -> part.handler.failed(e));
+        partsToWrite.clear();
+    }
+
     private void setFinished(Optional<Throwable> e) {
         synchronized (monitor) {
             state = State.FINISHED_OR_ERROR;
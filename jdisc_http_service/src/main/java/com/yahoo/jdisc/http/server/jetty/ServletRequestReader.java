@@ -19,7 +19,8 @@ import java.util.logging.Logger;
  * 1) There was an error
  * 2) There is no more data AND the number of pending completion handler invocations is 0
  *
- * Stops reading when a failure has happened.
+ * Stops reading when a failure has happened, and pauses reading while the request handler has not completed
+ * writes of more than a given number of bytes, which lets flow control push back on the client.
  *
  * The reason for not waiting for pending completions in error situations
  * is that if the error is reported through the finishedFuture,
@@ -35,7 +36,10 @@ class ServletRequestReader implements ReadListener {
 
     private static final Logger log = Logger.getLogger(ServletRequestReader.class.getName());
 
-    private static final int BUFFER_SIZE_BYTES = 8 * 1024;
+    private static final int DEFAULT_BUFFER_SIZE_BYTES = 64 * 1024;
+
+    /** Reads are done into a new buffer when less than this remains of the current one */
+    private static final int MIN_READ_SIZE_BYTES = 4 * 1024;
 
     private final Object monitor = new Object();
 
@@ -45,8 +49,22 @@ class ServletRequestReader implements ReadListener {
     private final Executor executor;
     private final RequestMetricReporter metricReporter;
 
+    private final int bufferSize;
+    private final int minReadSize;
+    private final long maxPendingBytes;
+    private final long contentLength;
+
     private int bytesRead;
 
+    /**
+     * The buffer content is read into, where the bytes before bufferOffset are passed to the request handler.
+     * Consecutive reads fill the same buffer, but bytes passed on are never overwritten, as handlers
+     * may keep the content they are passed after completing the write, e.g. through a ReadableContentChannel.
+     */
+    // GuardedBy("monitor")
+    private byte[] buffer = null;
+    private int bufferOffset = 0;
+
     /**
      * Rules:
      * 1. If state != State.READING,  then numberOfOutstandingUserCalls must not increase
@@ -76,6 +94,14 @@ class ServletRequestReader implements ReadListener {
     // GuardedBy("monitor")
     private int numberOfOutstandingUserCalls = 0;
 
+    /** Bytes written to the request content channel which are not yet completed */
+    // GuardedBy("monitor")
+    private long pendingBytes = 0;
+
+    /** Whether reading is paused until pending bytes are below the max */
+    // GuardedBy("monitor")
+    private boolean paused = false;
+
     /**
      * When this future completes there will be no more calls against the servlet input stream.
      * The framework is still allowed to invoke us though.
@@ -95,26 +121,68 @@ class ServletRequestReader implements ReadListener {
             ContentChannel requestContentChannel,
             Executor executor,
             RequestMetricReporter metricReporter) {
+        this(servletInputStream, requestContentChannel, executor, metricReporter, DEFAULT_BUFFER_SIZE_BYTES, Long.MAX_VALUE, -1);
+    }
+
+    /**
+     * Creates a reader which reads into buffers of the given size, or of the size of the remaining content
+     * if this is smaller, where the content length is -1 if unknown.
+     */
+    public ServletRequestReader(
+            ServletInputStream servletInputStream,
+            ContentChannel requestContentChannel,
+            Executor executor,
+            RequestMetricReporter metricReporter,
+            int bufferSize,
+            long maxPendingBytes,
+            long contentLength) {
 
         Preconditions.checkNotNull(servletInputStream);
         Preconditions.checkNotNull(requestContentChannel);
         Preconditions.checkNotNull(executor);
         Preconditions.checkNotNull(metricReporter);
+        Preconditions.checkArgument(bufferSize > 0, "Buffer size must be positive, not %s", bufferSize);
 
         this.servletInputStream = servletInputStream;
         this.requestContentChannel = requestContentChannel;
         this.executor = executor;
         this.metricReporter = metricReporter;
+        this.bufferSize = bufferSize;
+        this.minReadSize = Math.max(1, Math.min(MIN_READ_SIZE_BYTES, bufferSize / 4));
+        this.maxPendingBytes = maxPendingBytes;
+        this.contentLength = contentLength;
+    }
+
+    /**
+     * Returns the buffer size to use for the remaining content, which is at least 1, as reads must be able to
+     * tell the end of the stream, or that more content than announced is sent.
+     */
+    // GuardedBy("monitor")
+    private int nextBufferSize() {
+        if (contentLength < 0) return bufferSize;
+        return (int) Math.max(1, Math.min(bufferSize, contentLength - bytesRead));
     }
 
     @Override
     public void onDataAvailable() throws IOException {
         while (servletInputStream.isReady()) {
-            final byte[] buffer = new byte[BUFFER_SIZE_BYTES];
+            synchronized (monitor) {
+                if (pendingBytes >= maxPendingBytes) {
+                    // Resumed when enough writes are completed, as we will not be called again while ready
+                    paused = true;
+                    return;
+                }
+            }
+            ByteBuffer content;
             int numBytesRead;
 
             synchronized (monitor) {
-                numBytesRead = servletInputStream.read(buffer);
+                int nextBufferSize = nextBufferSize();
+                if (buffer == null || buffer.length - bufferOffset < Math.min(minReadSize, nextBufferSize)) {
+                    buffer = new byte[nextBufferSize];
+                    bufferOffset = 0;
+                }
+                numBytesRead = servletInputStream.read(buffer, bufferOffset, buffer.length - bufferOffset);
                 if (numBytesRead < 0) {
                     // End of stream; there should be no more data available, ever.
                     return;
@@ -129,10 +197,13 @@ class ServletRequestReader implements ReadListener {
                 //  - the write completion handler to be called
                 numberOfOutstandingUserCalls += 2;
                 bytesRead += numBytesRead;
+                pendingBytes += numBytesRead;
+                content = ByteBuffer.wrap(buffer, bufferOffset, numBytesRead).slice();
+                bufferOffset += numBytesRead;
             }
 
             try {
-                requestContentChannel.write(ByteBuffer.wrap(buffer, 0, numBytesRead), writeCompletionHandler);
+                requestContentChannel.write(content, new WriteCompletionHandler(numBytesRead));
                 metricReporter.successfulRead(numBytesRead);
             }
             catch (Throwable t) {
@@ -255,9 +326,40 @@ class ServletRequestReader implements ReadListener {
         doneReading();
     }
 
-    private final CompletionHandler writeCompletionHandler = new CompletionHandler() {
+    private void releasePendingBytes(int bytes) {
+        boolean resume;
+        synchronized (monitor) {
+            pendingBytes -= bytes;
+            resume = paused && pendingBytes < maxPendingBytes && state == State.READING;
+            if (resume) {
+                paused = false;
+            }
+        }
+        if (resume) {
+            // Don't read from a user thread, see rule 5
+            executor.execute(this::resumeReading);
+        }
+    }
+
+    private void resumeReading() {
+        try {
+            onDataAvailable();
+        } catch (Throwable t) {
+            onError(t);
+        }
+    }
+
+    private class WriteCompletionHandler implements CompletionHandler {
+
+        private final int bytes;
+
+        WriteCompletionHandler(int bytes) {
+            this.bytes = bytes;
+        }
+
         @Override
         public void completed() {
+            releasePendingBytes(bytes);
             decreaseOutstandingUserCallsAndCloseRequestContentChannelConditionally();
         }
 
@@ -266,5 +368,6 @@ class ServletRequestReader implements ReadListener {
             finishedFuture.completeExceptionally(t);
             decreaseOutstandingUserCallsAndCloseRequestContentChannelConditionally();
         }
-    };
+
+    }
 }
@@ -24,7 +24,7 @@ import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
-import static com.yahoo.jdisc.http.server.jetty.HttpServletRequestUtils.getConnection;
+import static com.yahoo.jdisc.http.server.jetty.HttpServletRequestUtils.getConnectionCreatedTimestamp;
 
 /**
  * Mutable wrapper to use a {@link javax.servlet.http.HttpServletRequest}
@@ -68,7 +68,7 @@ public class ServletRequest extends HttpServletRequestWrapper implements Servlet
         remoteHostAddress = request.getRemoteAddr();
         remoteHostName = request.getRemoteHost();
         remotePort = request.getRemotePort();
-        connectedAt = getConnection(request).getCreatedTimeStamp();
+        connectedAt = getConnectionCreatedTimestamp(request);
 
         headerFields = new HeaderFields();
         Enumeration<String> parentHeaders = request.getHeaderNames();
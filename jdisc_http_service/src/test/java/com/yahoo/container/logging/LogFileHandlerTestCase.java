@@ -17,7 +17,10 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
 import java.util.function.BiFunction;
 import java.util.logging.Formatter;
 import java.util.logging.Level;
@@ -73,6 +76,31 @@ public class LogFileHandlerTestCase {
       h.shutdown();
     }
 
+    @Test(timeout = /*5 minutes*/300_000)
+    public void testConcurrentPublishing() throws IOException, InterruptedException {
+        File logFile = temporaryFolder.newFile("testConcurrentPublishing.txt");
+        LogFileHandler<String> h = new LogFileHandler<>(Compression.NONE, logFile.getAbsolutePath(), "0 5 ...", null, 64, "thread-name", new StringLogWriter());
+        int threads = 8, recordsPerThread = 1000;
+        List<Thread> publishers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            publishers.add(new Thread(() -> {
+                for (int i = 0; i < recordsPerThread; i++)
+                    h.publish("record " + thread + " " + i);
+            }));
+        }
+        publishers.forEach(Thread::start);
+        for (Thread publisher : publishers)
+            publisher.join();
+        h.flush();
+
+        List<String> lines = Files.readAllLines(logFile.toPath());
+        assertThat(lines).hasSize(threads * recordsPerThread);
+        assertThat(new HashSet<>(lines)).hasSize(threads * recordsPerThread);
+        assertThat(lines).allMatch(line -> line.matches("record \\d \\d+"));
+        h.shutdown();
+    }
+
     @Test
     public void testDeleteFileDuringLogging() throws IOException {
       File logFile = temporaryFolder.newFile("testLogFileG2.txt");
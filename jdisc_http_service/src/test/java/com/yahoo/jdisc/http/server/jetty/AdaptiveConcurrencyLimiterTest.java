@@ -0,0 +1,97 @@
+// Copyright Verizon Media. Licensed under the terms of the Apache 2.0 license. See LICENSE in the project root.
+package com.yahoo.jdisc.http.server.jetty;
+
+import com.yahoo.jdisc.http.ServerConfig;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class AdaptiveConcurrencyLimiterTest {
+
+    private final AtomicLong nanoClock = new AtomicLong();
+
+    @Test
+    public void requests_above_limit_are_rejected() {
+        AdaptiveConcurrencyLimiter limiter = limiter(new ServerConfig.AdmissionControl.Builder().initialLimit(2).minLimit(1));
+        AdaptiveConcurrencyLimiter.Permit first = limiter.tryAcquire("/");
+        assertNotNull(first);
+        assertNotNull(limiter.tryAcquire("/"));
+        assertNull(limiter.tryAcquire("/"));
+        assertEquals(2, limiter.inFlight());
+
+        first.release();
+        assertEquals(1, limiter.inFlight());
+        assertNotNull(limiter.tryAcquire("/"));
+    }
+
+    @Test
+    public void limit_grows_when_saturated_with_stable_latency() {
+        AdaptiveConcurrencyLimiter limiter = limiter(new ServerConfig.AdmissionControl.Builder().initialLimit(10).maxLimit(100));
+        for (int i = 0; i < 50; i++)
+            runSaturated(limiter, 10_000_000);
+        assertEquals(100, limiter.limit());
+    }
+
+    @Test
+    public void limit_is_unchanged_when_not_used() {
+        AdaptiveConcurrencyLimiter limiter = limiter(new ServerConfig.AdmissionControl.Builder().initialLimit(10).maxLimit(100));
+        for (int i = 0; i < 100; i++) {
+            AdaptiveConcurrencyLimiter.Permit permit = limiter.tryAcquire("/");
+            nanoClock.addAndGet(10_000_000);
+            permit.release();
+        }
+        assertEquals(10, limiter.limit());
+    }
+
+    @Test
+    public void limit_shrinks_when_latency_rises() {
+        AdaptiveConcurrencyLimiter limiter = limiter(new ServerConfig.AdmissionControl.Builder().initialLimit(100).minLimit(5).maxLimit(200));
+        for (int i = 0; i < 10; i++)
+            runSaturated(limiter, 10_000_000);
+        assertEquals(200, limiter.limit());
+        runSaturated(limiter, 100_000_000);
+        assertTrue("Limit " + limiter.limit() + " is below 100", limiter.limit() < 100);
+    }
+
+    @Test
+    public void lower_priority_requests_are_rejected_first() {
+        AdaptiveConcurrencyLimiter limiter = limiter(new ServerConfig.AdmissionControl.Builder()
+                                                             .initialLimit(10)
+                                                             .defaultLimitShare(0.5)
+                                                             .priority(new ServerConfig.AdmissionControl.Priority.Builder()
+                                                                               .pathPrefix("/search/")
+                                                                               .limitShare(1.0))
+                                                             .priority(new ServerConfig.AdmissionControl.Priority.Builder()
+                                                                               .pathPrefix("/search/batch/")
+                                                                               .limitShare(0.2)));
+        for (int i = 0; i < 5; i++)
+            assertNotNull(limiter.tryAcquire("/document/v1/"));
+        assertNull(limiter.tryAcquire("/document/v1/"));
+        assertNull(limiter.tryAcquire("/search/batch/"));
+        for (int i = 0; i < 5; i++)
+            assertNotNull(limiter.tryAcquire("/search/"));
+        assertNull(limiter.tryAcquire("/search/"));
+    }
+
+    /** Runs as many requests as the limit allows concurrently, with the given latency */
+    private void runSaturated(AdaptiveConcurrencyLimiter limiter, long latencyNanos) {
+        List<AdaptiveConcurrencyLimiter.Permit> permits = new ArrayList<>();
+        AdaptiveConcurrencyLimiter.Permit permit;
+        while ((permit = limiter.tryAcquire("/")) != null)
+            permits.add(permit);
+        nanoClock.addAndGet(latencyNanos);
+        permits.forEach(AdaptiveConcurrencyLimiter.Permit::release);
+    }
+
+    private AdaptiveConcurrencyLimiter limiter(ServerConfig.AdmissionControl.Builder config) {
+        return new AdaptiveConcurrencyLimiter(new ServerConfig.AdmissionControl(config.enabled(true)), nanoClock::get);
+    }
+
+}
@@ -28,6 +28,7 @@ import java.util.List;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertEquals;
 
 /**
  * @author ollivir
@@ -127,6 +128,17 @@ public class HttpResponseStatisticsCollectorTest {
         assertStatisticsEntryWithRequestTypePresent(stats, "http", "GET", MetricDefinitions.RESPONSES_2XX, "write", 1L);
     }
 
+    @Test
+    public void statistics_include_protocol_dimension() {
+        testRequest("https", 200, "GET", "/search", null, HttpVersion.HTTP_2);
+        testRequest("https", 200, "GET", "/search", null, HttpVersion.HTTP_2);
+        testRequest("https", 200, "GET", "/search");
+
+        var stats = collector.takeStatistics();
+        assertEquals(2, stats.stream().filter(entry -> entry.protocol.equals("http2")).mapToLong(entry -> entry.value).sum());
+        assertEquals(1, stats.stream().filter(entry -> entry.protocol.equals("http1")).mapToLong(entry -> entry.value).sum());
+    }
+
     @Before
     public void initializeCollector() throws Exception {
         Server server = new Server();
@@ -160,8 +172,12 @@ public class HttpResponseStatisticsCollectorTest {
     }
     private Request testRequest(String scheme, int responseCode, String httpMethod, String path,
                                 com.yahoo.jdisc.Request.RequestType explicitRequestType) {
+        return testRequest(scheme, responseCode, httpMethod, path, explicitRequestType, HttpVersion.HTTP_1_1);
+    }
+    private Request testRequest(String scheme, int responseCode, String httpMethod, String path,
+                                com.yahoo.jdisc.Request.RequestType explicitRequestType, HttpVersion version) {
         HttpChannel channel = new HttpChannel(connector, new HttpConfiguration(), null, new DummyTransport());
-        MetaData.Request metaData = new MetaData.Request(httpMethod, new HttpURI(scheme + "://" + path), HttpVersion.HTTP_1_1, new HttpFields());
+        MetaData.Request metaData = new MetaData.Request(httpMethod, new HttpURI(scheme + "://" + path), version, new HttpFields());
         Request req = channel.getRequest();
         if (explicitRequestType != null)
             req.setAttribute("requestType", explicitRequestType);
@@ -43,6 +43,10 @@ import org.eclipse.jetty.client.HttpClient;
 import org.eclipse.jetty.client.ProxyProtocolClientConnectionFactory.V1;
 import org.eclipse.jetty.client.ProxyProtocolClientConnectionFactory.V2;
 import org.eclipse.jetty.client.api.ContentResponse;
+import org.eclipse.jetty.client.util.BytesContentProvider;
+import org.eclipse.jetty.http.HttpVersion;
+import org.eclipse.jetty.http2.client.HTTP2Client;
+import org.eclipse.jetty.http2.client.http.HttpClientTransportOverHTTP2;
 import org.eclipse.jetty.server.handler.AbstractHandlerContainer;
 import org.eclipse.jetty.util.ssl.SslContextFactory;
 import org.junit.Rule;
@@ -72,8 +76,11 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.Random;
 import java.util.TreeMap;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
@@ -85,11 +92,13 @@ import static com.yahoo.jdisc.Response.Status.INTERNAL_SERVER_ERROR;
 import static com.yahoo.jdisc.Response.Status.NOT_FOUND;
 import static com.yahoo.jdisc.Response.Status.OK;
 import static com.yahoo.jdisc.Response.Status.REQUEST_URI_TOO_LONG;
+import static com.yahoo.jdisc.Response.Status.SERVICE_UNAVAILABLE;
 import static com.yahoo.jdisc.Response.Status.UNAUTHORIZED;
 import static com.yahoo.jdisc.Response.Status.UNSUPPORTED_MEDIA_TYPE;
 import static com.yahoo.jdisc.http.HttpHeaders.Names.CONNECTION;
 import static com.yahoo.jdisc.http.HttpHeaders.Names.CONTENT_TYPE;
 import static com.yahoo.jdisc.http.HttpHeaders.Names.COOKIE;
+import static com.yahoo.jdisc.http.HttpHeaders.Names.RETRY_AFTER;
 import static com.yahoo.jdisc.http.HttpHeaders.Names.X_DISABLE_CHUNKING;
 import static com.yahoo.jdisc.http.HttpHeaders.Values.APPLICATION_X_WWW_FORM_URLENCODED;
 import static com.yahoo.jdisc.http.HttpHeaders.Values.CLOSE;
@@ -104,6 +113,7 @@ import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.startsWith;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.anyOf;
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertTrue;
@@ -633,6 +643,38 @@ public class HttpServerTest {
         assertTrue(driver.close());
     }
 
+    @Test
+    public void requireThatRequestsAboveConcurrencyLimitAreRejected() throws Exception {
+        HeldRequestHandler requestHandler = new HeldRequestHandler();
+        TestDriver driver = TestDrivers.newConfiguredInstance(
+                requestHandler,
+                new ServerConfig.Builder()
+                        .admissionControl(new ServerConfig.AdmissionControl.Builder()
+                                                  .enabled(true)
+                                                  .initialLimit(1)
+                                                  .minLimit(1)
+                                                  .maxLimit(1)
+                                                  .retryAfterSeconds(3)),
+                new ConnectorConfig.Builder());
+        CompletableFuture<ResponseValidator> held = CompletableFuture.supplyAsync(() -> {
+            try {
+                return driver.client().get("/held");
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        });
+        assertTrue(requestHandler.received.await(60, TimeUnit.SECONDS));
+        driver.client().get("/status.html")
+              .expectStatusCode(is(SERVICE_UNAVAILABLE))
+              .expectHeader(RETRY_AFTER, is("3"));
+
+        ResponseDispatch.newInstance(OK).dispatch(requestHandler.responseHandler);
+        held.get(60, TimeUnit.SECONDS).expectStatusCode(is(OK));
+        driver.client().get("/status.html")
+              .expectStatusCode(is(OK));
+        assertTrue(driver.close());
+    }
+
     @Test
     public void requireThatMetricIsIncrementedWhenClientIsMissingCertificateOnHandshake() throws IOException {
         Path privateKeyFile = tmpFolder.newFile().toPath();
@@ -759,6 +801,70 @@ public class HttpServerTest {
 
     }
 
+    @Test
+    public void requireThatServerCanEchoOverHttp2WithPriorKnowledge() throws Exception {
+        TestDriver driver = TestDrivers.newConfiguredInstance(
+                new EchoRequestHandler(),
+                new ServerConfig.Builder(),
+                new ConnectorConfig.Builder()
+                        .http2(new ConnectorConfig.Http2.Builder()
+                                       .enabled(true)
+                                       .initialStreamRecvWindow(65535)));
+        // Larger than the stream window, so the client must wait for the handler to consume content
+        byte[] content = new byte[1 << 20];
+        new Random(1).nextBytes(content);
+        HttpClient client = new HttpClient(new HttpClientTransportOverHTTP2(new HTTP2Client()), null);
+        client.start();
+        try {
+            ContentResponse response = client.POST("http://localhost:" + driver.server().getListenPort() + "/echo")
+                                             .content(new BytesContentProvider(content))
+                                             .send();
+            assertEquals(OK, response.getStatus());
+            assertEquals(HttpVersion.HTTP_2, response.getVersion());
+            assertArrayEquals(content, response.getContent());
+        } finally {
+            client.stop();
+        }
+        assertTrue(driver.close());
+    }
+
+    @Test
+    public void requireThatHttp2IsNegotiatedWithAlpn() throws Exception {
+        Path privateKeyFile = tmpFolder.newFile().toPath();
+        Path certificateFile = tmpFolder.newFile().toPath();
+        generatePrivateKeyAndCertificate(privateKeyFile, certificateFile);
+        TestDriver driver = TestDrivers.newConfiguredInstance(
+                new EchoRequestHandler(),
+                new ServerConfig.Builder(),
+                new ConnectorConfig.Builder()
+                        .http2(new ConnectorConfig.Http2.Builder().enabled(true))
+                        .ssl(new ConnectorConfig.Ssl.Builder()
+                                     .enabled(true)
+                                     .privateKeyFile(privateKeyFile.toString())
+                                     .certificateFile(certificateFile.toString())
+                                     .caCertificateFile(certificateFile.toString())));
+        SslContextFactory.Client clientSslCtxFactory = new SslContextFactory.Client();
+        clientSslCtxFactory.setHostnameVerifier(NoopHostnameVerifier.INSTANCE);
+        clientSslCtxFactory.setSslContext(new SslContextBuilder().withTrustStore(certificateFile).build());
+        HttpClient http2Client = new HttpClient(new HttpClientTransportOverHTTP2(new HTTP2Client()), clientSslCtxFactory);
+        http2Client.start();
+        HttpClient http1Client = createJettyHttpClient(certificateFile);
+        try {
+            String uri = "https://localhost:" + driver.server().getListenPort() + "/status.html";
+            ContentResponse response = http2Client.GET(uri);
+            assertEquals(OK, response.getStatus());
+            assertEquals(HttpVersion.HTTP_2, response.getVersion());
+
+            response = http1Client.GET(uri);
+            assertEquals(OK, response.getStatus());
+            assertEquals(HttpVersion.HTTP_1_1, response.getVersion());
+        } finally {
+            http2Client.stop();
+            http1Client.stop();
+        }
+        assertTrue(driver.close());
+    }
+
     @Test
     public void requireThatProxyProtocolIsAcceptedAndActualRemoteAddressStoredInAccessLog() throws Exception {
         Path privateKeyFile = tmpFolder.newFile().toPath();
@@ -1145,6 +1251,22 @@ public class HttpServerTest {
         }
     }
 
+    private static class HeldRequestHandler extends AbstractRequestHandler {
+
+        final CountDownLatch received = new CountDownLatch(1);
+        volatile ResponseHandler responseHandler;
+
+        @Override
+        public ContentChannel handleRequest(Request request, ResponseHandler handler) {
+            if ( ! request.getUri().getPath().equals("/held"))
+                return handler.handleResponse(new Response(OK));
+
+            responseHandler = handler;
+            received.countDown();
+            return null;
+        }
+    }
+
     private static class EchoRequestHandler extends AbstractRequestHandler {
 
         @Override
@@ -0,0 +1,120 @@
+// Copyright Verizon Media. Licensed under the terms of the Apache 2.0 license. See LICENSE in the project root.
+package com.yahoo.jdisc.http.server.jetty;
+
+import com.yahoo.jdisc.Metric;
+import com.yahoo.jdisc.handler.CompletionHandler;
+import org.junit.Test;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+public class ServletOutputStreamWriterTest {
+
+    @Test
+    public void small_writes_are_coalesced_and_completed_in_order() throws Exception {
+        MockOutputStream out = new MockOutputStream();
+        ServletOutputStreamWriter writer = new ServletOutputStreamWriter(out, Runnable::run, reporter());
+        List<Integer> completed = new ArrayList<>();
+        StringBuilder expected = new StringBuilder();
+
+        // Queue while waiting for the write listener, as when renderers are faster than the network
+        for (int i = 0; i < 1000; i++) {
+            String part = "part " + i + "\n";
+            expected.append(part);
+            writer.writeBuffer(ByteBuffer.wrap(part.getBytes(StandardCharsets.UTF_8)), completionHandler(i, completed));
+        }
+        writer.close();
+        out.listener.onWritePossible();
+
+        assertTrue(writer.finishedFuture.isDone());
+        assertEquals(expected.toString(), out.content());
+        assertEquals(1000, completed.size());
+        for (int i = 0; i < 1000; i++)
+            assertEquals(i, (int)completed.get(i));
+        assertTrue("Expected few writes, got " + out.writes, out.writes <= 2);
+    }
+
+    @Test
+    public void large_writes_are_not_copied() throws Exception {
+        MockOutputStream out = new MockOutputStream();
+        ServletOutputStreamWriter writer = new ServletOutputStreamWriter(out, Runnable::run, reporter());
+        List<Integer> completed = new ArrayList<>();
+        byte[] large = new byte[ServletOutputStreamWriter.MAX_COALESCED_BUFFER_SIZE];
+        writer.writeBuffer(ByteBuffer.wrap(new byte[] { 1 }), completionHandler(0, completed));
+        writer.writeBuffer(ByteBuffer.wrap(large), completionHandler(1, completed));
+        writer.writeBuffer(ByteBuffer.wrap(new byte[] { 2 }), completionHandler(2, completed));
+        writer.close();
+        out.listener.onWritePossible();
+
+        assertEquals(3, completed.size());
+        assertEquals(3, out.writes);
+        assertEquals(large.length + 2, out.buffer.size());
+    }
+
+    @Test
+    public void coalesced_parts_are_failed_when_write_fails() throws Exception {
+        MockOutputStream out = new MockOutputStream();
+        out.failWrites = true;
+        ServletOutputStreamWriter writer = new ServletOutputStreamWriter(out, Runnable::run, reporter());
+        List<Throwable> failures = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            writer.writeBuffer(ByteBuffer.wrap(new byte[] { (byte)i }), new CompletionHandler() {
+                @Override public void completed() { throw new AssertionError("Should not complete"); }
+                @Override public void failed(Throwable t) { failures.add(t); }
+            });
+        }
+        out.listener.onWritePossible();
+
+        assertEquals(10, failures.size());
+        assertTrue(writer.finishedFuture.isCompletedExceptionally());
+    }
+
+    private static RequestMetricReporter reporter() {
+        return new RequestMetricReporter(mock(Metric.class), null, 0);
+    }
+
+    private static CompletionHandler completionHandler(int index, List<Integer> completed) {
+        return new CompletionHandler() {
+            @Override public void completed() { completed.add(index); }
+            @Override public void failed(Throwable t) { throw new AssertionError(t); }
+        };
+    }
+
+    private static class MockOutputStream extends ServletOutputStream {
+
+        final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        WriteListener listener;
+        int writes = 0;
+        boolean failWrites = false;
+
+        @Override public boolean isReady() { return true; }
+
+        @Override public void setWriteListener(WriteListener writeListener) { this.listener = writeListener; }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[] { (byte)b }, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (failWrites) throw new IOException("Failed write");
+            writes++;
+            buffer.write(b, off, len);
+        }
+
+        String content() { return buffer.toString(StandardCharsets.UTF_8); }
+
+    }
+
+}
@@ -0,0 +1,145 @@
+// Copyright Verizon Media. Licensed under the terms of the Apache 2.0 license. See LICENSE in the project root.
+package com.yahoo.jdisc.http.server.jetty;
+
+import com.yahoo.jdisc.Metric;
+import com.yahoo.jdisc.handler.CompletionHandler;
+import com.yahoo.jdisc.handler.ContentChannel;
+import com.yahoo.jdisc.handler.ReadableContentChannel;
+import org.junit.Test;
+
+import javax.servlet.ReadListener;
+import javax.servlet.ServletInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+public class ServletRequestReaderTest {
+
+    @Test
+    public void consecutive_reads_share_buffer_without_overwriting_content() throws Exception {
+        byte[] content = new byte[10_000];
+        for (int i = 0; i < content.length; i++)
+            content[i] = (byte) i;
+        MockInputStream in = new MockInputStream(content, 1000);
+        ReadableContentChannel channel = new ReadableContentChannel();
+        ServletRequestReader reader = new ServletRequestReader(in, channel, Runnable::run, reporter(), 4096, Long.MAX_VALUE, -1);
+
+        reader.onDataAvailable();
+        reader.onAllDataRead();
+
+        // Reading completes each write before the content is consumed, so collect all buffers first
+        List<ByteBuffer> buffers = new ArrayList<>();
+        for (ByteBuffer buffer : channel)
+            buffers.add(buffer);
+
+        assertEquals(10, buffers.size());
+        assertSame(buffers.get(0).array(), buffers.get(3).array());
+        assertEquals(0, buffers.get(0).position());
+        assertEquals(3000, buffers.get(3).arrayOffset());
+        assertTrue(buffers.get(3).array() != buffers.get(4).array());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (ByteBuffer buffer : buffers) {
+            byte[] bytes = new byte[buffer.remaining()];
+            buffer.get(bytes);
+            out.write(bytes);
+        }
+        assertArrayEquals(content, out.toByteArray());
+        assertTrue(reader.finishedFuture.isDone());
+    }
+
+    @Test
+    public void reading_pauses_until_pending_writes_complete() throws Exception {
+        MockInputStream in = new MockInputStream(new byte[10_000], 1000);
+        List<CompletionHandler> pending = new ArrayList<>();
+        ServletRequestReader reader = new ServletRequestReader(in,
+                                                               new ContentChannel() {
+                                                                   @Override public void write(ByteBuffer buf, CompletionHandler handler) { pending.add(handler); }
+                                                                   @Override public void close(CompletionHandler handler) { handler.completed(); }
+                                                               },
+                                                               Runnable::run, reporter(), 4096, 2000, -1);
+        reader.onDataAvailable();
+        assertEquals(2, pending.size());
+
+        pending.get(0).completed();
+        assertEquals(3, pending.size());
+    }
+
+    @Test
+    public void buffers_are_no_larger_than_the_remaining_content() throws Exception {
+        byte[] content = new byte[6000];
+        MockInputStream in = new MockInputStream(content, 1000);
+        ReadableContentChannel channel = new ReadableContentChannel();
+        ServletRequestReader reader = new ServletRequestReader(in, channel, Runnable::run, reporter(), 4096, Long.MAX_VALUE, content.length);
+
+        reader.onDataAvailable();
+        reader.onAllDataRead();
+
+        List<ByteBuffer> buffers = new ArrayList<>();
+        for (ByteBuffer buffer : channel)
+            buffers.add(buffer);
+
+        assertEquals(6, buffers.size());
+        assertEquals(4096, buffers.get(0).array().length);
+        assertSame(buffers.get(0).array(), buffers.get(3).array());
+        assertEquals(2000, buffers.get(4).array().length);
+        assertSame(buffers.get(4).array(), buffers.get(5).array());
+    }
+
+    @Test
+    public void small_content_is_read_into_a_buffer_of_its_size() throws Exception {
+        MockInputStream in = new MockInputStream(new byte[100], 1000);
+        ReadableContentChannel channel = new ReadableContentChannel();
+        ServletRequestReader reader = new ServletRequestReader(in, channel, Runnable::run, reporter(), 64 * 1024, Long.MAX_VALUE, 100);
+
+        reader.onDataAvailable();
+        reader.onAllDataRead();
+
+        assertEquals(100, channel.read().array().length);
+    }
+
+    private static RequestMetricReporter reporter() {
+        return new RequestMetricReporter(mock(Metric.class), null, 0);
+    }
+
+    private static class MockInputStream extends ServletInputStream {
+
+        private final byte[] content;
+        private final int maxReadSize;
+        private int position = 0;
+
+        MockInputStream(byte[] content, int maxReadSize) {
+            this.content = content;
+            this.maxReadSize = maxReadSize;
+        }
+
+        @Override public boolean isFinished() { return position == content.length; }
+
+        @Override public boolean isReady() { return ! isFinished(); }
+
+        @Override public void setReadListener(ReadListener readListener) { }
+
+        @Override
+        public int read() {
+            return isFinished() ? -1 : content[position++];
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (isFinished()) return -1;
+            int read = Math.min(Math.min(len, maxReadSize), content.length - position);
+            System.arraycopy(content, position, b, off, read);
+            position += read;
+            return read;
+        }
+
+    }
+
+}
@@ -1,15 +1,21 @@
 // Copyright 2017 Yahoo Holdings. Licensed under the terms of the Apache 2.0 license. See LICENSE in the project root.
 package com.yahoo.jrt;
 
-
+/**
+ * A hashed timer wheel. Tasks which are not due within the current
+ * rotation are kept in an overflow wheel with one bucket per rotation,
+ * and are moved into the wheel when their rotation begins, so that
+ * each tick only visits the tasks that expire.
+ **/
 class Scheduler {
-    private static final int TICK  = 100;
-    private static final int SLOTS = 512;
-    private static final int MASK  = 511;
-    private static final int SHIFT = 9;
+    private static final int TICK     = 100;
+    private static final int SLOTS    = 512;
+    private static final int MASK     = 511;
+    private static final int SHIFT    = 9;
+    private static final int OVERFLOW = SLOTS + 1;
 
-    private Task[] slots    = new Task[SLOTS + 1];
-    private int[]  counts   = new int[SLOTS + 1];
+    private Task[] slots    = new Task[OVERFLOW + SLOTS];
+    private int[]  counts   = new int[OVERFLOW + SLOTS];
     private Queue  queue    = new Queue(TICK);
     private int    currIter = 0;
     private int    currSlot = 0;
@@ -20,34 +26,34 @@ class Scheduler {
     }
 
     private void linkIn(Task task) {
-        Task head = slots[task.slot()];
+        Task head = slots[task.bucket()];
         if (head == null) {
             task.next(task);
             task.prev(task);
-            slots[task.slot()] = task;
+            slots[task.bucket()] = task;
         } else {
             task.next(head);
             task.prev(head.prev());
             head.prev().next(task);
             head.prev(task);
         }
-        ++counts[task.slot()];
+        ++counts[task.bucket()];
     }
 
     private void linkOut(Task task) {
-        Task head = slots[task.slot()];
+        Task head = slots[task.bucket()];
         if (task.next() == task) {
-            slots[task.slot()] = null;
+            slots[task.bucket()] = null;
         } else {
             task.prev().next(task.next());
             task.next().prev(task.prev());
             if (head == task) {
-                slots[task.slot()] = task.next();
+                slots[task.bucket()] = task.next();
             }
         }
         task.next(null);
         task.prev(null);
-        --counts[task.slot()];
+        --counts[task.bucket()];
     }
 
     public Scheduler(long now) {
@@ -67,6 +73,7 @@ class Scheduler {
         }
         task.slot((ticks + currSlot) & MASK);
         task.iter(currIter + ((ticks + currSlot) >> SHIFT));
+        task.bucket(task.iter() == currIter ? task.slot() : OVERFLOW + (task.iter() & MASK));
         linkIn(task);
     }
 
@@ -79,6 +86,7 @@ class Scheduler {
         }
         task.slot(SLOTS);
         task.iter(0);
+        task.bucket(SLOTS);
         linkIn(task);
     }
 
@@ -112,6 +120,21 @@ class Scheduler {
         }
     }
 
+    private void cascadeTasks(int iter) {
+        int bucket = OVERFLOW + (iter & MASK);
+        int cnt = counts[bucket];
+        Task task = slots[bucket];
+        for (int i = 0; i < cnt; i++) {
+            Task next = task.next();
+            if (task.iter() == iter) {
+                linkOut(task);
+                task.bucket(task.slot());
+                linkIn(task);
+            }
+            task = next;
+        }
+    }
+
     public void checkTasks(long now) {
         if (slots[SLOTS] == null && now < nextTick) {
             return;
@@ -123,6 +146,7 @@ class Scheduler {
                     if (++currSlot >= SLOTS) {
                         currSlot = 0;
                         currIter++;
+                        cascadeTasks(currIter);
                     }
                     queueTasks(currSlot, currIter);
                 }
@@ -17,6 +17,7 @@ public class Task {
     private Runnable  doit;
     private int       slot;
     private int       iter;
+    private int       bucket;
     private Task      next;
     private Task      prev;
     private boolean   killed;
@@ -26,6 +27,8 @@ public class Task {
     void    slot(int val)  { slot = val;    }
     int     iter()         { return iter;   }
     void    iter(int val)  { iter = val;    }
+    int     bucket()       { return bucket; }
+    void    bucket(int val) { bucket = val; }
     Task    next()         { return next;   }
     void    next(Task val) { next = val;    }
     Task    prev()         { return prev;   }
@@ -244,4 +244,54 @@ public class SchedulerTest {
         assertTrue(cnt2 > 10 && cnt2 < 30);
     }
 
+    @org.junit.Test
+    public void testTasksBeyondCurrentRotation() {
+        MyTask nextRotation = new MyTask(60_000);          // one rotation is 512 ticks, or 51.2 seconds
+        MyTask laterRotation = new MyTask(15 * 51_200 + 10_000);
+        MyTask wrappedRotation = new MyTask(527 * 51_200 + 10_000); // uses the same overflow bucket as laterRotation
+        nextRotation.schedule();
+        laterRotation.schedule();
+        wrappedRotation.schedule();
+
+        runUntil(nextRotation.target + 1000);
+        assertTrue(nextRotation.check());
+        assertFalse(laterRotation.done());
+
+        runUntil(laterRotation.target + 1000);
+        assertTrue(laterRotation.check());
+        assertFalse(wrappedRotation.done());
+
+        runUntil(wrappedRotation.target + 1000);
+        assertTrue(nextRotation.check());
+        assertTrue(laterRotation.check());
+        assertTrue(wrappedRotation.check());
+    }
+
+    @org.junit.Test
+    public void testUnscheduleInOverflowBucket() {
+        MyTask t1 = new MyTask(60_000);
+        MyTask t2 = new MyTask(60_000);
+        MyTask t3 = new MyTask(60_000);
+        t1.schedule();
+        t2.schedule();
+        t3.schedule();
+
+        runUntil(30_000);
+        assertTrue(t2.unschedule());
+        assertFalse(t2.unschedule());
+
+        runUntil(120_000);
+        assertTrue(t1.check());
+        assertFalse(t2.done());
+        assertTrue(t3.check());
+    }
+
+    /** Advances time one tick at a time, as the scheduler handles at most a few ticks per check */
+    private void runUntil(long time) {
+        while (now < time) {
+            now += 100;
+            scheduler.checkTasks(now);
+        }
+    }
+
 }
@@ -7,9 +7,9 @@ import com.yahoo.messagebus.Message;
 import com.yahoo.messagebus.Reply;
 import com.yahoo.messagebus.TraceLevel;
 
-import java.util.PriorityQueue;
-import java.util.LinkedList;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.PriorityQueue;
 
 /**
  * The resender handles scheduling and execution of sending instances of {@link RoutingNode}. An instance of this class
@@ -102,8 +102,8 @@ public class Resender {
 
         long now = SystemTimer.INSTANCE.milliTime();
         synchronized (queue) {
-            if (queue.isEmpty()) return;
-            sendList = new LinkedList<>();
+            if (queue.isEmpty() || queue.peek().time > now) return;
+            sendList = new ArrayList<>();
             while (!queue.isEmpty() && queue.peek().time <= now) {
                 sendList.add(queue.poll().node);
             }
@@ -133,7 +133,7 @@ public class Resender {
     private static class Entry implements Comparable<Entry> {
 
         final RoutingNode node;
-        final Long time;
+        final long time;
 
         /**
          * The default constructor requires initial values for both members.
@@ -148,7 +148,7 @@ public class Resender {
 
         @Override
         public int compareTo(Entry rhs) {
-            return time.compareTo(rhs.time);
+            return Long.compare(time, rhs.time);
         }
     }
 }
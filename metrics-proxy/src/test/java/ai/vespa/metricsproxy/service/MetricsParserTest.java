@@ -0,0 +1,62 @@
+// Copyright Verizon Media. Licensed under the terms of the Apache 2.0 license. See LICENSE in the project root.
+package ai.vespa.metricsproxy.service;
+
+import ai.vespa.metricsproxy.metric.Metrics;
+import com.yahoo.component.ComponentId;
+import com.yahoo.component.provider.ComponentRegistry;
+import com.yahoo.container.core.ApplicationMetadataConfig;
+import com.yahoo.container.jdisc.RequestHandlerTestDriver;
+import com.yahoo.container.jdisc.state.GaugeMetric;
+import com.yahoo.container.jdisc.state.HistogramSketch;
+import com.yahoo.container.jdisc.state.MetricSet;
+import com.yahoo.container.jdisc.state.MetricSnapshot;
+import com.yahoo.container.jdisc.state.SnapshotProvider;
+import com.yahoo.container.jdisc.state.StateHandler;
+import com.yahoo.container.jdisc.state.StateMetricContext;
+import com.yahoo.container.jdisc.state.StateMonitor;
+import org.junit.Test;
+
+import java.io.PrintStream;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests parsing of the state/v1 metrics output of the container.
+ */
+public class MetricsParserTest {
+
+    @Test
+    public void state_handler_output_with_sketches_is_parsed() throws Exception {
+        var sketch = new HistogramSketch();
+        for (int i = 1; i <= 100; i++)
+            sketch.record(i);
+        var gauge = GaugeMetric.newInstance(100, 100, 1, 5050, 100, Optional.empty(), Optional.of(sketch));
+        var snapshot = new MetricSnapshot(0, 300, TimeUnit.SECONDS,
+                                          Map.of(StateMetricContext.newInstance(Map.of("dim1", "value1")),
+                                                 new MetricSet(Map.of("latency", gauge))));
+
+        Metrics metrics = MetricsParser.parse(stateMetricsOutput(snapshot));
+        assertEquals(50.5, metrics.getMetric("latency.average").getValue().doubleValue(), 0.001);
+        assertEquals(100, metrics.getMetric("latency.count").getValue().longValue());
+        assertEquals(7, metrics.size());
+    }
+
+    private static String stateMetricsOutput(MetricSnapshot snapshot) {
+        ComponentRegistry<SnapshotProvider> snapshotProviders = new ComponentRegistry<>();
+        snapshotProviders.register(new ComponentId("snapshot-provider"), new SnapshotProvider() {
+            @Override public MetricSnapshot latestSnapshot() { return snapshot; }
+            @Override public void histogram(PrintStream output) { }
+        });
+        StateHandler handler = new StateHandler(StateMonitor.createForTesting(),
+                                                () -> 0,
+                                                new ApplicationMetadataConfig(new ApplicationMetadataConfig.Builder()),
+                                                snapshotProviders);
+        try (RequestHandlerTestDriver driver = new RequestHandlerTestDriver(handler)) {
+            return driver.sendRequest("http://localhost/state/v1/metrics").readAll();
+        }
+    }
+
+}
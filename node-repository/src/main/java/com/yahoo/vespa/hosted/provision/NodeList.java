@@ -1,6 +1,8 @@
 // Copyright Verizon Media. Licensed under the terms of the Apache 2.0 license. See LICENSE in the project root.
 package com.yahoo.vespa.hosted.provision;
 
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
 import com.yahoo.collections.AbstractFilteringList;
 import com.yahoo.component.Version;
 import com.yahoo.config.provision.ApplicationId;
@@ -9,8 +11,10 @@ import com.yahoo.config.provision.ClusterSpec;
 import com.yahoo.config.provision.NodeResources;
 import com.yahoo.config.provision.NodeType;
 
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -23,14 +27,19 @@ import static java.util.stream.Collectors.collectingAndThen;
 
 /**
  * A filterable node list. The result of a filter operation is immutable.
+ * Lookups by hostname, parent hostname and owner use indexes which are built the first time they are needed.
  *
  * @author bratseth
  * @author mpolden
  */
 public class NodeList extends AbstractFilteringList<Node, NodeList> {
 
+    private final boolean negate;
+    private final Supplier<Index> index = Suppliers.memoize(() -> new Index(asList()));
+
     protected NodeList(List<Node> nodes, boolean negate) {
         super(nodes, negate, NodeList::new);
+        this.negate = negate;
     }
 
     /** Returns the subset of nodes which are retired */
@@ -121,6 +130,7 @@ public class NodeList extends AbstractFilteringList<Node, NodeList> {
 
     /** Returns the subset of nodes owned by the given application */
     public NodeList owner(ApplicationId application) {
+        if ( ! negate) return copyOf(index.get().byOwner.getOrDefault(application, List.of()));
         return matching(node -> node.allocation().map(a -> a.owner().equals(application)).orElse(false));
     }
 
@@ -145,6 +155,7 @@ public class NodeList extends AbstractFilteringList<Node, NodeList> {
 
     /** Returns the child nodes of the given parent node */
     public NodeList childrenOf(String hostname) {
+        if ( ! negate) return copyOf(index.get().byParentHostname.getOrDefault(hostname, List.of()));
         return matching(node -> node.hasParent(hostname));
     }
 
@@ -188,11 +199,14 @@ public class NodeList extends AbstractFilteringList<Node, NodeList> {
                              n.allocation().get().membership().cluster().group().equals(Optional.of(ClusterSpec.Group.from(index))));
     }
 
+    /** Returns the node with the given hostname, if it is in this list */
+    public Optional<Node> node(String hostname) {
+        return Optional.ofNullable(index.get().byHostname.get(hostname));
+    }
+
     /** Returns the parent node of the given child node */
     public Optional<Node> parentOf(Node child) {
-        return child.parentHostname()
-                    .flatMap(parentHostname -> stream().filter(node -> node.hostname().equals(parentHostname))
-                                                       .findFirst());
+        return child.parentHostname().map(index.get().byHostname::get);
     }
 
     /**
@@ -259,6 +273,23 @@ public class NodeList extends AbstractFilteringList<Node, NodeList> {
             throw new IllegalStateException("Nodes belong to multiple clusters");
     }
 
+    /** Indexes of the nodes in a list, where nodes keep their order in the list */
+    private static class Index {
+
+        private final Map<String, Node> byHostname = new HashMap<>();
+        private final Map<String, List<Node>> byParentHostname = new HashMap<>();
+        private final Map<ApplicationId, List<Node>> byOwner = new HashMap<>();
+
+        Index(List<Node> nodes) {
+            for (Node node : nodes) {
+                byHostname.putIfAbsent(node.hostname(), node);
+                node.parentHostname().ifPresent(parent -> byParentHostname.computeIfAbsent(parent, __ -> new ArrayList<>()).add(node));
+                node.allocation().ifPresent(allocation -> byOwner.computeIfAbsent(allocation.owner(), __ -> new ArrayList<>()).add(node));
+            }
+        }
+
+    }
+
     /** Returns the nodes of this as a stream */
     public Stream<Node> stream() { return asList().stream(); }
 
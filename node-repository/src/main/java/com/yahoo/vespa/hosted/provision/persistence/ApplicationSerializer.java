@@ -71,8 +71,16 @@ public class ApplicationSerializer {
         }
     }
 
+    /** Returns the given application as binary slime, which is more compact and faster to read than JSON */
+    public static byte[] toBinary(Application application) {
+        Slime slime = new Slime();
+        toSlime(application, slime.setObject());
+        return SlimeEncoding.toBinary(slime);
+    }
+
+    /** Returns the application in the given data, which may be either JSON or binary slime */
     public static Application fromJson(byte[] data) {
-        return applicationFromSlime(SlimeUtils.jsonToSlime(data).get());
+        return applicationFromSlime(SlimeEncoding.decode(data).get());
     }
 
     // ---------------------------------------------------------------------------------------
@@ -1,10 +1,17 @@
 // Copyright 2020 Oath Inc. Licensed under the terms of the Apache 2.0 license. See LICENSE in the project root.
 package com.yahoo.vespa.hosted.provision.persistence;
 
+import com.yahoo.path.Path;
 import com.yahoo.vespa.curator.Curator;
 import com.yahoo.vespa.curator.recipes.CuratorCounter;
+import com.yahoo.vespa.curator.transaction.CuratorOperation;
 import com.yahoo.vespa.curator.transaction.CuratorTransaction;
 
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
 /**
  * CuratorTransaction wrapper which increments a counter, to signal invalidation of node repository caches.
  *
@@ -17,37 +24,66 @@ import com.yahoo.vespa.curator.transaction.CuratorTransaction;
  * The usual locking for modifications of shared data is then enough to ensure the cache provides a
  * consistent view of the shared data, with one exception: when incrementing the counter fails. This is
  * assumed to be extremely rare, and the consequence is temporary neglect of cache invalidation.
+ * When prepare or commit succeeds, the paths written by this are recorded with the generation its increment
+ * produced, such that a cache only needs to drop these paths when no one else has written in the meantime.
  *
  * @author jonmv
  */
 class CountingCuratorTransaction extends CuratorTransaction {
 
     private final CuratorCounter counter;
+    private final CuratorDatabase.ChangeLog changes;
 
-    public CountingCuratorTransaction(Curator curator, CuratorCounter counter) {
+    public CountingCuratorTransaction(Curator curator, CuratorCounter counter, CuratorDatabase.ChangeLog changes) {
         super(curator);
         this.counter = counter;
+        this.changes = changes;
     }
 
     @Override
     public void prepare() {
+        boolean prepared = false;
         try {
             counter.get();
             super.prepare();
+            prepared = true;
         }
         finally {
-            counter.next();
+            long generation = counter.next();
+            if (prepared) changedPaths().ifPresent(paths -> changes.record(generation, paths));
         }
     }
 
     @Override
     public void commit() {
+        boolean committed = false;
         try {
             super.commit();
+            committed = true;
         }
         finally {
-            counter.next();
+            long generation = counter.next();
+            if (committed) changedPaths().ifPresent(paths -> changes.record(generation, paths));
+        }
+    }
+
+    @Override
+    public CompletableFuture<Void> commitAsync() {
+        return super.commitAsync().whenCompleteAsync((result, exception) -> {
+            long generation = counter.next();
+            if (exception == null) changedPaths().ifPresent(paths -> changes.record(generation, paths));
+        });
+    }
+
+    /** Returns the paths written by this, or empty if any operation may write unknown paths */
+    private Optional<Set<Path>> changedPaths() {
+        Set<Path> paths = new HashSet<>();
+        for (Operation operation : operations()) {
+            Optional<Path> path = ((CuratorOperation) operation).path();
+            if (path.isEmpty()) return Optional.empty();
+            paths.add(path.get());
         }
+        return Optional.of(paths);
     }
 
     @Override
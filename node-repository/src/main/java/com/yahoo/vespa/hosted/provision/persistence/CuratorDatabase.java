@@ -13,9 +13,13 @@ import com.yahoo.vespa.curator.transaction.CuratorTransaction;
 
 import java.time.Duration;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Supplier;
@@ -26,6 +30,8 @@ import java.util.stream.Collectors;
  * It serves reads from an in-memory cache of the content which is invalidated when changed on another node
  * using a global, shared counter. The counter is updated on all write operations, ensured by wrapping write
  * operations in a try block, with the counter increment in a finally block. Locks must be used to ensure consistency.
+ * When the counter has only been incremented by writes made through this, the paths these wrote are known, and
+ * the cache for the new generation keeps the content of all other paths.
  *
  * @author bratseth
  * @author jonmv
@@ -45,6 +51,9 @@ public class CuratorDatabase {
 
     private final Object cacheCreationLock = new Object();
 
+    /** The paths changed by writes through this, used to keep unchanged content when the generation changes */
+    private final ChangeLog changes = new ChangeLog();
+
     /**
      * Creates a curator database
      *
@@ -81,7 +90,7 @@ public class CuratorDatabase {
      */
     public CuratorTransaction newCuratorTransactionIn(NestedTransaction transaction) {
         // Wrap the curator transaction with an increment of the generation counter.
-        CountingCuratorTransaction curatorTransaction = new CountingCuratorTransaction(curator, changeGenerationCounter);
+        CountingCuratorTransaction curatorTransaction = new CountingCuratorTransaction(curator, changeGenerationCounter, changes);
         transaction.add(curatorTransaction);
         return curatorTransaction;
     }
@@ -111,8 +120,9 @@ public class CuratorDatabase {
     Session getSession() {
         if (changeGenerationCounter.get() != cache.get().generation)
             synchronized (cacheCreationLock) {
-                while (changeGenerationCounter.get() != cache.get().generation)
-                    cache.set(newCache(changeGenerationCounter.get()));
+                long generation;
+                while ((generation = changeGenerationCounter.get()) != cache.get().generation)
+                    cache.set(nextCache(generation, cache.get()));
             }
             
         return cache.get();
@@ -122,11 +132,19 @@ public class CuratorDatabase {
         return cache.get().stats();
     }
 
-    /** Caches must only be instantiated using this method */
+    /** Caches must only be instantiated using this method or {@link #nextCache} */
     private Cache newCache(long generation) {
         return useCache ? new Cache(generation, curator) : new NoCache(generation, curator);
     }
 
+    /** Returns a cache of the given generation, with the content of the previous cache which is known to be unchanged */
+    private Cache nextCache(long generation, Cache previous) {
+        if ( ! useCache) return newCache(generation);
+        return changes.changedAfter(previous.generation, generation)
+                      .map(changedPaths -> new Cache(generation, previous, changedPaths))
+                      .orElseGet(() -> newCache(generation));
+    }
+
     /**
      * A thread safe partial snapshot of the curator database content with a given generation.
      * This is merely a recording of what Curator returned at various points in time when 
@@ -153,6 +171,18 @@ public class CuratorDatabase {
             this.curator = curator;
         }
 
+        /** Create a snapshot at a given generation with the content of the given snapshot, except the given paths */
+        private Cache(long generation, Cache previous, Set<Path> changedPaths) {
+            this(generation, previous.curator);
+            children.putAll(previous.children);
+            data.putAll(previous.data);
+            for (Path path : changedPaths) {
+                data.remove(path);
+                children.remove(path);
+                children.remove(path.getParentPath());
+            }
+        }
+
         @Override
         public List<String> getChildren(Path path) {
             return get(children, path, () -> ImmutableList.copyOf(curator.getChildren(path)));
@@ -194,6 +224,48 @@ public class CuratorDatabase {
 
     }
 
+    /**
+     * The paths written through this database, by the generation produced by the counter increment of each write.
+     * Writes through other instances, e.g., on other config servers, are not known, so any generation missing
+     * from this means all content may have changed.
+     */
+    static class ChangeLog {
+
+        /** Changes older than this are not needed */
+        private static final int maxChanges = 1000;
+
+        private final SortedMap<Long, Set<Path>> changes = new TreeMap<>();
+
+        /** The highest generation a cache has been created for, for which older changes are no longer needed */
+        private long lastGeneration = Long.MIN_VALUE;
+
+        synchronized void record(long generation, Set<Path> paths) {
+            if (generation <= lastGeneration) return;
+            changes.put(generation, paths);
+            if (changes.size() > maxChanges)
+                changes.remove(changes.firstKey());
+        }
+
+        /** Returns the paths changed after the first generation, up to and including the second, if all are known */
+        synchronized Optional<Set<Path>> changedAfter(long fromGeneration, long toGeneration) {
+            try {
+                if (toGeneration <= fromGeneration || toGeneration - fromGeneration > changes.size()) return Optional.empty();
+                Set<Path> changed = new HashSet<>();
+                for (long generation = fromGeneration + 1; generation <= toGeneration; generation++) {
+                    Set<Path> paths = changes.get(generation);
+                    if (paths == null) return Optional.empty();
+                    changed.addAll(paths);
+                }
+                return Optional.of(changed);
+            }
+            finally {
+                lastGeneration = Math.max(lastGeneration, toGeneration);
+                changes.headMap(lastGeneration + 1).clear();
+            }
+        }
+
+    }
+
     interface Session {
 
         /**
@@ -20,7 +20,11 @@ import com.yahoo.vespa.curator.Lock;
 import com.yahoo.vespa.curator.recipes.CuratorCounter;
 import com.yahoo.vespa.curator.transaction.CuratorOperations;
 import com.yahoo.vespa.curator.transaction.CuratorTransaction;
+import com.yahoo.vespa.flags.BooleanFlag;
+import com.yahoo.vespa.flags.FlagSource;
+import com.yahoo.vespa.flags.Flags;
 import com.yahoo.vespa.hosted.provision.Node;
+import com.yahoo.vespa.hosted.provision.NodeList;
 import com.yahoo.vespa.hosted.provision.applications.Application;
 import com.yahoo.vespa.hosted.provision.lb.LoadBalancer;
 import com.yahoo.vespa.hosted.provision.lb.LoadBalancerId;
@@ -38,6 +42,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.logging.Level;
@@ -79,11 +84,18 @@ public class CuratorDatabaseClient {
     private final Clock clock;
     private final Zone zone;
     private final CuratorCounter provisionIndexCounter;
+    private final boolean useCache;
+    private final BooleanFlag binarySerialization;
+
+    /** All nodes, as read in the session they are valid for */
+    private final AtomicReference<NodeSnapshot> nodeSnapshot = new AtomicReference<>();
 
     public CuratorDatabaseClient(NodeFlavors flavors, Curator curator, Clock clock, Zone zone, boolean useCache,
-                                 long nodeCacheSize) {
+                                 long nodeCacheSize, FlagSource flagSource) {
         this.nodeSerializer = new NodeSerializer(flavors, nodeCacheSize);
         this.zone = zone;
+        this.useCache = useCache;
+        this.binarySerialization = Flags.NODE_REPOSITORY_BINARY_SERIALIZATION.bindTo(flagSource);
         this.db = new CuratorDatabase(curator, root, useCache);
         this.clock = clock;
         this.provisionIndexCounter = new CuratorCounter(curator, root.append("provisionIndexCounter").getAbsolute());
@@ -118,7 +130,7 @@ public class CuratorDatabaseClient {
                 throw new IllegalArgumentException(node + " is not in the " + expectedState + " state");
 
             node = node.with(node.history().recordStateTransition(null, expectedState, agent, clock.instant()));
-            curatorTransaction.add(CuratorOperations.create(toPath(node).getAbsolute(), nodeSerializer.toJson(node)));
+            curatorTransaction.add(CuratorOperations.create(toPath(node).getAbsolute(), serialize(node)));
         }
         transaction.commit();
 
@@ -232,7 +244,7 @@ public class CuratorDatabaseClient {
     }
 
     private void writeNode(Node.State toState, CuratorTransaction curatorTransaction, Node node, Node newNode) {
-        byte[] nodeData = nodeSerializer.toJson(newNode);
+        byte[] nodeData = serialize(newNode);
         String currentNodePath = toPath(node).getAbsolute();
         String newNodePath = toPath(toState, newNode.hostname()).getAbsolute();
         if (newNodePath.equals(currentNodePath)) {
@@ -243,6 +255,10 @@ public class CuratorDatabaseClient {
         }
     }
 
+    private byte[] serialize(Node node) {
+        return binarySerialization.value() ? nodeSerializer.toBinary(node) : nodeSerializer.toJson(node);
+    }
+
     private Status newNodeStatus(Node node, Node.State toState) {
         if (node.state() != Node.State.failed && toState == Node.State.failed) return node.status().withIncreasedFailCount();
         if (node.state() == Node.State.failed && toState == Node.State.active) return node.status().withDecreasedFailCount(); // fail undo
@@ -268,10 +284,28 @@ public class CuratorDatabaseClient {
      * @return the nodes in a mutable list owned by the caller
      */
     public List<Node> readNodes(Node.State ... states) {
+        return readNodes(db.getSession(), states);
+    }
+
+    /**
+     * Returns all nodes. The returned list is shared by all readers until the next change to the database,
+     * such that indexes built by the list are reused.
+     */
+    public NodeList readNodeList() {
+        CuratorDatabase.Session session = db.getSession();
+        NodeSnapshot snapshot = nodeSnapshot.get();
+        if (snapshot != null && snapshot.session == session) return snapshot.nodes;
+
+        NodeList nodes = NodeList.copyOf(readNodes(session));
+        if (useCache)
+            nodeSnapshot.set(new NodeSnapshot(session, nodes));
+        return nodes;
+    }
+
+    private List<Node> readNodes(CuratorDatabase.Session session, Node.State ... states) {
         List<Node> nodes = new ArrayList<>();
         if (states.length == 0)
             states = Node.State.values();
-        CuratorDatabase.Session session = db.getSession();
         for (Node.State state : states) {
             for (String hostname : session.getChildren(toPath(state))) {
                 Optional<Node> node = readNode(session, hostname, state);
@@ -374,7 +408,8 @@ public class CuratorDatabaseClient {
     public void writeApplication(Application application, NestedTransaction transaction) {
         db.newCuratorTransactionIn(transaction)
           .add(createOrSet(applicationPath(application.id()),
-                                        ApplicationSerializer.toJson(application)));
+                           binarySerialization.value() ? ApplicationSerializer.toBinary(application)
+                                                       : ApplicationSerializer.toJson(application)));
     }
 
     public void deleteApplication(ApplicationTransaction transaction) {
@@ -561,4 +596,16 @@ public class CuratorDatabaseClient {
                                             : CuratorOperations.create(path.getAbsolute(), data);
     }
 
+    private static class NodeSnapshot {
+
+        private final CuratorDatabase.Session session;
+        private final NodeList nodes;
+
+        private NodeSnapshot(CuratorDatabase.Session session, NodeList nodes) {
+            this.session = session;
+            this.nodes = nodes;
+        }
+
+    }
+
 }
@@ -0,0 +1,35 @@
+// Copyright Verizon Media. Licensed under the terms of the Apache 2.0 license. See LICENSE in the project root.
+package com.yahoo.vespa.hosted.provision.persistence;
+
+import com.yahoo.slime.BinaryFormat;
+import com.yahoo.slime.Slime;
+import com.yahoo.slime.SlimeUtils;
+
+/**
+ * Encodings of slime data stored in ZooKeeper: JSON, or binary slime, which stores each field name once per
+ * serialized value rather than once per object, and is faster to decode. Binary slime is prefixed by a version
+ * byte which JSON never starts with, such that data in either encoding is read regardless of which is written.
+ */
+class SlimeEncoding {
+
+    private static final byte binaryVersion = 1;
+
+    private SlimeEncoding() {}
+
+    /** Returns the given slime as binary slime, prefixed by its version */
+    static byte[] toBinary(Slime slime) {
+        byte[] encoded = BinaryFormat.encode(slime);
+        byte[] data = new byte[encoded.length + 1];
+        data[0] = binaryVersion;
+        System.arraycopy(encoded, 0, data, 1, encoded.length);
+        return data;
+    }
+
+    /** Returns the slime in the given data, which is either JSON or binary slime */
+    static Slime decode(byte[] data) {
+        if (data.length > 0 && data[0] == binaryVersion)
+            return BinaryFormat.decode(data, 1, data.length - 1);
+        return SlimeUtils.jsonToSlime(data);
+    }
+
+}
@@ -70,23 +70,37 @@ public class GroupPreparer {
 
         // Try preparing in memory without global unallocated lock. Most of the time there should be no changes and we
         // can return nodes previously allocated.
-        {
-            NodeAllocation probeAllocation = prepareAllocation(application, cluster, requestedNodes, surplusActiveNodes,
-                                                               indices::probeNext, wantedGroups, PROBE_LOCK,
-                                                               allocateOsRequirement);
-            if (probeAllocation.fulfilledAndNoChanges()) {
-                List<Node> acceptedNodes = probeAllocation.finalNodes();
-                surplusActiveNodes.removeAll(acceptedNodes);
-                indices.commitProbe();
-                return acceptedNodes;
+        NodeAllocation probeAllocation = prepareAllocation(application, cluster, requestedNodes, surplusActiveNodes,
+                                                           indices::probeNext, wantedGroups, PROBE_LOCK,
+                                                           allocateOsRequirement);
+        if (probeAllocation.fulfilledAndNoChanges()) {
+            List<Node> acceptedNodes = probeAllocation.finalNodes();
+            surplusActiveNodes.removeAll(acceptedNodes);
+            indices.commitProbe();
+            return acceptedNodes;
+        }
+
+        try (Mutex lock = nodeRepository.nodes().lock(application)) {
+            // There were some changes. If the probe allocation could be fulfilled by existing nodes, and the nodes it
+            // depends on are unchanged, commit it while holding the global unallocated lock, without redoing it
+            if (probeAllocation.fulfilled() && probeAllocation.nodeType() == NodeType.tenant) {
+                try (Mutex allocationLock = nodeRepository.nodes().lockUnallocated()) {
+                    if (probeAllocation.isUnchangedIn(nodeRepository.nodes().list())) {
+                        indices.commitProbe();
+                        return commit(probeAllocation, surplusActiveNodes, allocationLock);
+                    }
+                }
             }
             indices.resetProbe();
+            return prepareWithLock(application, cluster, requestedNodes, surplusActiveNodes, indices, wantedGroups, allocateOsRequirement);
         }
+    }
 
-        // There were some changes, so re-do the allocation with locks
-        try (Mutex lock = nodeRepository.nodes().lock(application);
-             Mutex allocationLock = nodeRepository.nodes().lockUnallocated()) {
-
+    /** Prepares by redoing the allocation while holding the global unallocated lock */
+    private List<Node> prepareWithLock(ApplicationId application, ClusterSpec cluster, NodeSpec requestedNodes,
+                                       List<Node> surplusActiveNodes, NodeIndices indices, int wantedGroups,
+                                       String allocateOsRequirement) {
+        try (Mutex allocationLock = nodeRepository.nodes().lockUnallocated()) {
             NodeAllocation allocation = prepareAllocation(application, cluster, requestedNodes, surplusActiveNodes,
                                                           indices::next, wantedGroups, allocationLock,
                                                           allocateOsRequirement);
@@ -132,15 +146,19 @@ public class GroupPreparer {
                 throw new OutOfCapacityException((cluster.group().isPresent() ? "Out of capacity on " + cluster.group().get() :"") +
                                                  allocation.outOfCapacityDetails());
 
-            // Carry out and return allocation
-            nodeRepository.nodes().reserve(allocation.reservableNodes());
-            nodeRepository.nodes().addReservedNodes(new LockedNodeList(allocation.newNodes(), allocationLock));
-            List<Node> acceptedNodes = allocation.finalNodes();
-            surplusActiveNodes.removeAll(acceptedNodes);
-            return acceptedNodes;
+            return commit(allocation, surplusActiveNodes, allocationLock);
         }
     }
 
+    /** Carries out and returns the given allocation */
+    private List<Node> commit(NodeAllocation allocation, List<Node> surplusActiveNodes, Mutex allocationLock) {
+        nodeRepository.nodes().reserve(allocation.reservableNodes());
+        nodeRepository.nodes().addReservedNodes(new LockedNodeList(allocation.newNodes(), allocationLock));
+        List<Node> acceptedNodes = allocation.finalNodes();
+        surplusActiveNodes.removeAll(acceptedNodes);
+        return acceptedNodes;
+    }
+
     private NodeAllocation prepareAllocation(ApplicationId application, ClusterSpec cluster, NodeSpec requestedNodes,
                                              List<Node> surplusActiveNodes, Supplier<Integer> nextIndex, int wantedGroups,
                                              Mutex allocationLock, String allocateOsRequirement) {
@@ -289,6 +289,36 @@ class NodeAllocation {
         return fulfilled() && reservableNodes().isEmpty() && newNodes().isEmpty();
     }
 
+    /**
+     * Returns whether all nodes this allocation depends on are the same in the given list as in the list this
+     * was made from: The nodes accepted, their parents and the other children of those, and the nodes of the
+     * application, and whether the spare hosts are the same, as those depend on all hosts in the zone.
+     * If so, this allocation is still valid, and can be committed without being redone.
+     * Nodes are immutable, and are read as the same instances while unchanged and cached, so any other
+     * instance is taken to be a change.
+     */
+    boolean isUnchangedIn(NodeList current) {
+        if ( ! spareHosts(allNodes).equals(spareHosts(current))) return false;
+
+        Set<String> hostnames = new HashSet<>(nodes.keySet());
+        for (NodeCandidate candidate : nodes.values()) {
+            candidate.parentHostname().ifPresent(parent -> {
+                hostnames.add(parent);
+                allNodes.childrenOf(parent).forEach(child -> hostnames.add(child.hostname()));
+                current.childrenOf(parent).forEach(child -> hostnames.add(child.hostname()));
+            });
+        }
+        allNodes.owner(application).forEach(node -> hostnames.add(node.hostname()));
+        current.owner(application).forEach(node -> hostnames.add(node.hostname()));
+        return hostnames.stream().allMatch(hostname -> allNodes.node(hostname).orElse(null) == current.node(hostname).orElse(null));
+    }
+
+    private Set<Node> spareHosts(NodeList nodes) {
+        return NodePrioritizer.findSpareHosts(new HostCapacity(nodes, nodeRepository.resourcesCalculator()),
+                                              nodeRepository.zone().getCloud().dynamicProvisioning(),
+                                              nodeRepository.spareCount());
+    }
+
     /**
      * Returns {@link HostDeficit} describing the host deficit for the given {@link NodeSpec}.
      *
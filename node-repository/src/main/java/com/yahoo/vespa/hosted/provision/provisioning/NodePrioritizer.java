@@ -56,9 +56,7 @@ public class NodePrioritizer {
         this.clusterSpec = clusterSpec;
         this.application = application;
         this.dynamicProvisioning = dynamicProvisioning;
-        this.spareHosts = dynamicProvisioning ?
-                capacity.findSpareHostsInDynamicallyProvisionedZones(allNodes.asList()) :
-                capacity.findSpareHosts(allNodes.asList(), spareCount);
+        this.spareHosts = findSpareHosts(capacity, dynamicProvisioning, spareCount);
         this.nameResolver = nameResolver;
 
         NodeList nodesInCluster = allNodes.owner(application).type(clusterSpec.type()).cluster(clusterSpec.id());
@@ -85,6 +83,13 @@ public class NodePrioritizer {
                               && (!dynamicProvisioning || !requestedNodes.isExclusive());
     }
 
+    /** Returns the spare hosts among all the nodes of the given capacity, which allocations avoid */
+    static Set<Node> findSpareHosts(HostCapacity capacity, boolean dynamicProvisioning, int spareCount) {
+        return dynamicProvisioning ?
+               capacity.findSpareHostsInDynamicallyProvisionedZones(capacity.allNodes().asList()) :
+               capacity.findSpareHosts(capacity.allNodes().asList(), spareCount);
+    }
+
     /** Collects all node candidates for this application and returns them in the most-to-least preferred order */
     public List<NodeCandidate> collect(List<Node> surplusActiveNodes) {
         addApplicationNodes();
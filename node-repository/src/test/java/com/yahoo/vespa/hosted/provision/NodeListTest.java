@@ -0,0 +1,87 @@
+// Copyright Verizon Media. Licensed under the terms of the Apache 2.0 license. See LICENSE in the project root.
+package com.yahoo.vespa.hosted.provision;
+
+import com.yahoo.config.provision.ApplicationId;
+import com.yahoo.config.provision.ClusterMembership;
+import com.yahoo.config.provision.ClusterSpec;
+import com.yahoo.config.provision.Flavor;
+import com.yahoo.config.provision.NodeResources;
+import com.yahoo.config.provision.NodeType;
+import org.junit.Ignore;
+import org.junit.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.Assert.assertEquals;
+
+public class NodeListTest {
+
+    private static final NodeResources resources = new NodeResources(1, 4, 10, 1);
+
+    @Test
+    public void testIndexedLookups() {
+        NodeList nodes = createNodes(3, 2, 2);
+        Node host1 = nodes.asList().get(1);
+        ApplicationId owner0 = application(0);
+
+        assertEquals(List.of("node2", "node3"), hostnames(nodes.childrenOf(host1)));
+        assertEquals(7, nodes.not().childrenOf(host1).size());
+        assertEquals(List.of(), hostnames(nodes.childrenOf("unknown")));
+
+        assertEquals(List.of("node0", "node2", "node4"), hostnames(nodes.owner(owner0)));
+        assertEquals(List.of("host0", "host1", "host2", "node1", "node3", "node5"), hostnames(nodes.not().owner(owner0)));
+
+        Node child = nodes.childrenOf(host1).first().get();
+        assertEquals(Optional.of(host1), nodes.parentOf(child));
+        assertEquals(Optional.empty(), nodes.childrenOf(host1).parentOf(child));
+        assertEquals(List.of("host0", "host1", "host2"), hostnames(nodes.parentsOf(nodes.owner(owner0))));
+    }
+
+    /** Microbenchmark of the lookups done by maintainers per host and application */
+    @Test
+    @Ignore
+    public void testLargeNodeList() {
+        NodeList nodes = createNodes(5000, 9, 1000);
+        long startTime = System.currentTimeMillis();
+        for (Node host : nodes.hosts())
+            nodes.childrenOf(host);
+        for (int i = 0; i < 1000; i++)
+            nodes.parentsOf(nodes.owner(application(i)));
+        System.out.println("Complete in " + (System.currentTimeMillis() - startTime) + " ms");
+    }
+
+    /** Returns the given number of hosts, each having the given number of children, spread over the given applications */
+    private static NodeList createNodes(int hostCount, int childrenPerHost, int applicationCount) {
+        List<Node> hosts = new ArrayList<>();
+        List<Node> children = new ArrayList<>();
+        for (int i = 0; i < hostCount; i++) {
+            Node host = Node.create("host" + i, "host" + i, new Flavor(resources), Node.State.reserved, NodeType.host).build();
+            hosts.add(host);
+            for (int j = 0; j < childrenPerHost; j++) {
+                int index = children.size();
+                ApplicationId owner = application(index % applicationCount);
+                ClusterSpec cluster = ClusterSpec.request(ClusterSpec.Type.container, ClusterSpec.Id.from("cluster"))
+                                                 .vespaVersion("7")
+                                                 .build();
+                children.add(Node.create("node" + index, "node" + index, new Flavor(resources), Node.State.reserved, NodeType.tenant)
+                                 .parentHostname(host.hostname())
+                                 .build()
+                                 .allocate(owner, ClusterMembership.from(cluster, index), resources, Instant.EPOCH));
+            }
+        }
+        hosts.addAll(children);
+        return NodeList.copyOf(hosts);
+    }
+
+    private static ApplicationId application(int index) {
+        return ApplicationId.from("tenant" + index, "application", "default");
+    }
+
+    private static List<String> hostnames(NodeList nodes) {
+        return nodes.mapToList(Node::hostname);
+    }
+
+}
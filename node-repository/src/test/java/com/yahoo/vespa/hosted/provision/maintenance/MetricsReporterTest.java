@@ -117,14 +117,14 @@ public class MetricsReporterTest {
         expectedMetrics.put("suspendedSeconds", 123L);
         expectedMetrics.put("numberOfServices", 0L);
 
-        expectedMetrics.put("cache.nodeObject.hitRate", 0.6D);
+        expectedMetrics.put("cache.nodeObject.hitRate", 1D / 3);
         expectedMetrics.put("cache.nodeObject.evictionCount", 0L);
         expectedMetrics.put("cache.nodeObject.size", 2L);
 
         nodeRepository.nodes().list();
-        expectedMetrics.put("cache.curator.hitRate", 0.52D);
+        expectedMetrics.put("cache.curator.hitRate", 11D / 13);
         expectedMetrics.put("cache.curator.evictionCount", 0L);
-        expectedMetrics.put("cache.curator.size", 12L);
+        expectedMetrics.put("cache.curator.size", 32L);
 
         tester.clock().setInstant(Instant.ofEpochSecond(124));
 
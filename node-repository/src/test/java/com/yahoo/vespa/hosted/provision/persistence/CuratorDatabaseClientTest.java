@@ -7,16 +7,22 @@ import com.yahoo.config.provision.InstanceName;
 import com.yahoo.config.provision.NodeType;
 import com.yahoo.config.provision.TenantName;
 import com.yahoo.config.provision.Zone;
+import com.yahoo.path.Path;
 import com.yahoo.vespa.curator.Curator;
 import com.yahoo.vespa.curator.mock.MockCurator;
+import com.yahoo.vespa.flags.Flags;
+import com.yahoo.vespa.flags.InMemoryFlagSource;
 import com.yahoo.vespa.hosted.provision.Node;
+import com.yahoo.vespa.hosted.provision.node.Agent;
 import com.yahoo.vespa.hosted.provision.provisioning.FlavorConfigBuilder;
 import org.junit.Test;
 
 import java.time.Clock;
 import java.util.List;
+import java.util.Optional;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
 
 /**
  * @author mpolden
@@ -25,7 +31,7 @@ public class CuratorDatabaseClientTest {
 
     private final Curator curator = new MockCurator();
     private final CuratorDatabaseClient zkClient = new CuratorDatabaseClient(
-            FlavorConfigBuilder.createDummies("default"), curator, Clock.systemUTC(), Zone.defaultZone(), true, 1000);
+            FlavorConfigBuilder.createDummies("default"), curator, Clock.systemUTC(), Zone.defaultZone(), true, 1000, new InMemoryFlagSource());
 
     @Test
     public void can_read_stored_host_information() throws Exception {
@@ -37,6 +43,21 @@ public class CuratorDatabaseClientTest {
         assertEquals(NodeType.host, allocatedNodes.get(0).type());
     }
 
+    @Test
+    public void nodes_written_as_binary_slime_are_read_by_any_client() {
+        InMemoryFlagSource flagSource = new InMemoryFlagSource().withBooleanFlag(Flags.NODE_REPOSITORY_BINARY_SERIALIZATION.id(), true);
+        CuratorDatabaseClient binaryClient = new CuratorDatabaseClient(FlavorConfigBuilder.createDummies("default"), curator,
+                                                                       Clock.systemUTC(), Zone.defaultZone(), true, 1000, flagSource);
+        Node node = Node.create("host1", "host1", FlavorConfigBuilder.createDummies("default").getFlavorOrThrow("default"),
+                                Node.State.provisioned, NodeType.host).build();
+        binaryClient.addNodesInState(List.of(node), Node.State.provisioned, Agent.system);
+        binaryClient.writeTo(Node.State.dirty, node, Agent.system, Optional.empty());
+
+        assertNotEquals('{', curator.getData(Path.fromString("/provision/v1/dirty/host1")).get()[0]);
+        assertEquals("host1", zkClient.readNodes(Node.State.dirty).get(0).hostname());
+        assertEquals("host1", binaryClient.readNodes(Node.State.dirty).get(0).hostname());
+    }
+
     @Test
     public void locks_can_be_acquired_and_released() {
         ApplicationId app = ApplicationId.from(TenantName.from("testTenant"), ApplicationName.from("testApp"), InstanceName.from("testInstance"));
@@ -16,7 +16,6 @@ import java.util.List;
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
-import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.fail;
 
 /**
@@ -49,8 +48,32 @@ public class CuratorDatabaseTest {
         commitCreate("/2/2", database);
         List<String> children1Call3 = database.getChildren(Path.fromString("/1"));
         assertEquals(2, database.getChildren(Path.fromString("/2")).size());
-        assertFalse("We do not reuse cached data in different parts of the tree when there are commits",
-                    children1Call3 == children1Call2);
+        assertTrue("We reuse cached data in different parts of the tree when there are only our own commits",
+                   children1Call3 == children1Call2);
+    }
+
+    @Test
+    public void testCacheIsOnlyInvalidatedForChangedPathsWhenAllChangesAreKnown() throws Exception {
+        MockCurator curator = new MockCurator();
+        CuratorDatabase database = new CuratorDatabase(curator, Path.fromString("/"), true);
+        commitCreate("/1", database);
+        commitCreate("/2", database);
+        assertArrayEquals(new byte[0], database.getData(Path.fromString("/1")).get());
+        assertArrayEquals(new byte[0], database.getData(Path.fromString("/2")).get());
+        assertEquals(0, database.getChildren(Path.fromString("/2")).size());
+
+        // Written without incrementing the counter, so only visible when the path is read from ZooKeeper again
+        curator.set(Path.fromString("/1"), "stale".getBytes());
+
+        commitWrite("/2", "hello".getBytes(), database);
+        commitCreate("/2/1", database);
+        assertArrayEquals("hello".getBytes(), database.getData(Path.fromString("/2")).get());
+        assertEquals(1, database.getChildren(Path.fromString("/2")).size());
+        assertArrayEquals("Unchanged path is kept in the cache", new byte[0], database.getData(Path.fromString("/1")).get());
+
+        // Writes from another database instance are unknown to this, so the whole cache is invalidated
+        commitCreate("/3", new CuratorDatabase(curator, Path.fromString("/"), true));
+        assertArrayEquals("stale".getBytes(), database.getData(Path.fromString("/1")).get());
     }
 
     @Test
@@ -123,6 +146,12 @@ public class CuratorDatabaseTest {
         t.commit();
     }
 
+    private void commitWrite(String path, byte[] data, CuratorDatabase database) {
+        NestedTransaction transaction = new NestedTransaction();
+        database.newCuratorTransactionIn(transaction).add(CuratorOperations.setData(path, data));
+        transaction.commit();
+    }
+
     private void commitReadingWrite(String path, byte[] data, CuratorDatabase database) {
         NestedTransaction transaction = new NestedTransaction();
         byte[] oldData = database.getData(Path.fromString(path)).get();
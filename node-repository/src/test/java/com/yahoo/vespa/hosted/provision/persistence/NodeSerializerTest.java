@@ -69,6 +69,24 @@ public class NodeSerializerTest {
         assertEquals(0, copy.history().events().size());
     }
 
+    @Test
+    public void binary_node_serialization() {
+        Node node = createNode().allocate(ApplicationId.from(TenantName.from("myTenant"),
+                                                             ApplicationName.from("myApplication"),
+                                                             InstanceName.from("myInstance")),
+                                          ClusterMembership.from("content/myId/0/0/stateful", Vtag.currentVersion, Optional.empty()),
+                                          new NodeResources(1, 2, 3, 4),
+                                          clock.instant());
+        node = node.with(node.history().with(new History.Event(History.Event.Type.readied, Agent.system, clock.instant())));
+
+        byte[] binary = nodeSerializer.toBinary(node);
+        byte[] json = nodeSerializer.toJson(node);
+        assertTrue("Binary slime is more compact than JSON", binary.length < json.length);
+        Node copy = nodeSerializer.fromJson(State.active, binary);
+        assertEquals(new String(json, StandardCharsets.UTF_8), new String(nodeSerializer.toJson(copy), StandardCharsets.UTF_8));
+        assertEquals(State.active, copy.state());
+    }
+
     @Test
     public void reserved_node_serialization() {
         Node node = createNode();
@@ -11,6 +11,7 @@ import com.yahoo.config.provision.OutOfCapacityException;
 import com.yahoo.config.provision.RegionName;
 import com.yahoo.config.provision.SystemName;
 import com.yahoo.config.provision.Zone;
+import com.yahoo.vespa.hosted.provision.LockedNodeList;
 import com.yahoo.vespa.hosted.provision.Node;
 import com.yahoo.vespa.hosted.provision.node.Agent;
 import org.junit.Test;
@@ -20,9 +21,12 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 
 /**
  * Tests provisioning of virtual nodes
@@ -75,6 +79,38 @@ public class VirtualNodeProvisioningTest {
         assertDistinctParentHosts(nodes3, ClusterSpec.Type.container, containerNodeCount);
     }
 
+    @Test
+    public void allocation_made_without_lock_is_valid_while_the_nodes_it_depends_on_are_unchanged() {
+        tester.makeReadyHosts(4, new NodeResources(8, 16, 200, 2))
+              .activateTenantHosts();
+        NodeAllocation allocation = allocate(containerClusterSpec, 2);
+        assertTrue(allocation.fulfilled());
+        assertTrue(allocation.isUnchangedIn(tester.nodeRepository().nodes().list()));
+
+        // Adding another host changes neither the nodes allocated, nor their hosts
+        tester.makeReadyHosts(1, new NodeResources(8, 16, 200, 2));
+        assertTrue(allocation.isUnchangedIn(tester.nodeRepository().nodes().list()));
+
+        // Allocating another application to all hosts changes the capacity of the hosts of this allocation
+        tester.prepare(ProvisioningTester.applicationId("other"), containerClusterSpec, 4, 1, resources);
+        assertFalse(allocation.isUnchangedIn(tester.nodeRepository().nodes().list()));
+    }
+
+    @Test
+    public void allocation_made_without_lock_is_invalid_when_the_spare_hosts_change() {
+        tester = new ProvisioningTester.Builder().spareCount(1).build();
+        tester.makeReadyHosts(3, new NodeResources(8, 16, 200, 2))
+              .activateTenantHosts();
+        NodeAllocation allocation = allocate(containerClusterSpec, 2);
+        assertTrue(allocation.fulfilled());
+        assertTrue(allocation.isUnchangedIn(tester.nodeRepository().nodes().list()));
+
+        // A new, larger host becomes the spare instead of the host which was spare when allocating
+        tester.makeReadyHosts(1, new NodeResources(16, 32, 400, 4))
+              .activateTenantHosts();
+        assertFalse(allocation.isUnchangedIn(tester.nodeRepository().nodes().list()));
+    }
+
     @Test
     public void allow_same_parent_host_for_nodes_in_a_cluster_in_cd_and_non_prod() {
         final int containerNodeCount = 2;
@@ -248,4 +284,19 @@ public class VirtualNodeProvisioningTest {
         tester.activate(applicationId, hosts);
     }
 
+    /** Allocates the given number of nodes to the given cluster, in memory, as done without holding locks */
+    private NodeAllocation allocate(ClusterSpec cluster, int count) {
+        LockedNodeList allNodes = tester.nodeRepository().nodes().list(() -> {});
+        NodeSpec spec = NodeSpec.from(count, resources, false, true);
+        AtomicInteger index = new AtomicInteger();
+        NodeAllocation allocation = new NodeAllocation(allNodes, applicationId, cluster, spec, index::getAndIncrement,
+                                                       tester.nodeRepository());
+        NodePrioritizer prioritizer = new NodePrioritizer(allNodes, applicationId, cluster, spec, 1, false,
+                                                          tester.nodeRepository().nameResolver(),
+                                                          tester.nodeRepository().resourcesCalculator(),
+                                                          tester.nodeRepository().spareCount(), "rhel7");
+        allocation.offer(prioritizer.collect(List.of()));
+        return allocation;
+    }
+
 }
@@ -16,11 +16,14 @@ public class Counter {
     private final Point defaultPosition;
     private final String name;
     private final MetricReceiver metricReceiver;
+    /** The identifier of this at its default position, created once as most updates are there */
+    private final Identifier defaultIdentifier;
 
     Counter(String name, Point defaultPosition, MetricReceiver receiver) {
         this.name = name;
         this.defaultPosition = defaultPosition;
         this.metricReceiver = receiver;
+        this.defaultIdentifier = new Identifier(name, defaultPosition);
     }
 
     /**
@@ -57,7 +60,7 @@ public class Counter {
      *            the point in the metric space at which to add to the metric
      */
     public void add(long n, Point p) {
-        metricReceiver.update(new Sample(new Measurement(Long.valueOf(n)), new Identifier(name, p), AssumedType.COUNTER));
+        metricReceiver.update(p == defaultPosition ? defaultIdentifier : new Identifier(name, p), AssumedType.COUNTER, n);
     }
 
     /**
@@ -17,11 +17,14 @@ public class Gauge {
     private final Point defaultPosition;
     private final String name;
     private final MetricReceiver receiver;
+    /** The identifier of this at its default position, created once as most samples are there */
+    private final Identifier defaultIdentifier;
 
     Gauge(String name, Point defaultPosition, MetricReceiver receiver) {
         this.name = name;
         this.defaultPosition = defaultPosition;
         this.receiver = receiver;
+        this.defaultIdentifier = new Identifier(name, defaultPosition);
     }
 
     /**
@@ -43,7 +46,7 @@ public class Gauge {
      *            position/dimension values for the sample
      */
     public void sample(double x, Point p) {
-        receiver.update(new Sample(new Measurement(Double.valueOf(x)), new Identifier(name, p), AssumedType.GAUGE));
+        receiver.update(p == defaultPosition ? defaultIdentifier : new Identifier(name, p), AssumedType.GAUGE, x);
     }
 
     /**
@@ -44,6 +44,8 @@ public class MetricManager extends AbstractComponent implements Provider<MetricR
         // interval as possible
         executor.scheduleAtFixedRate(new MetricAggregator(metricsCollection, currentSnapshot, settings), 1, 1, TimeUnit.SECONDS);
         receiver = new MetricReceiver(metricsCollection, currentSnapshot);
+        for (String histogram : settings.histograms())
+            receiver.addMetricDefinition(histogram, new MetricSettings.Builder().histogram(true).build());
     }
 
     static MetricManager constructWithCustomUpdater(ManagerConfig settings, Updater<Bucket, Sample> updater) {
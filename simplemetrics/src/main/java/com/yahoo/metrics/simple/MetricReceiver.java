@@ -9,6 +9,7 @@ import java.util.concurrent.atomic.AtomicReference;
 import com.google.common.annotations.Beta;
 import com.google.common.collect.ImmutableMap;
 import com.yahoo.concurrent.ThreadLocalDirectory;
+import com.yahoo.metrics.simple.UntypedMetric.AssumedType;
 
 /**
  * The reception point for measurements. This is the class users should inject
@@ -23,6 +24,8 @@ public class MetricReceiver {
     public static final MetricReceiver nullImplementation = new NullReceiver();
     private final ThreadLocalDirectory<Bucket, Sample> metricsCollection;
     private final AtomicReference<Bucket> currentSnapshot;
+    /** A sample per thread which is reused for each update, as samples are not retained */
+    private final ThreadLocal<Sample> reusableSample = ThreadLocal.withInitial(Sample::new);
 
     // metricSettings is volatile for reading, the lock is for updates
     private final Object histogramDefinitionsLock = new Object();
@@ -115,6 +118,22 @@ public class MetricReceiver {
         public void update(Sample s) {
         }
 
+        @Override
+        void update(Identifier id, AssumedType type, long value) {
+        }
+
+        @Override
+        void update(Identifier id, AssumedType type, double value) {
+        }
+
+        @Override
+        public void update(String name, Point point, AssumedType type, Number value) {
+        }
+
+        @Override
+        void update(Identifier id, AssumedType type, Number value) {
+        }
+
         @Override
         public Counter declareCounter(String name) {
             return new NullCounter();
@@ -181,6 +200,33 @@ public class MetricReceiver {
         metricsCollection.update(sample);
     }
 
+    /** Updates a metric without allocating */
+    void update(Identifier id, AssumedType type, long value) {
+        update(reusableSample.get().set(id, type, value));
+    }
+
+    /** Updates a metric without allocating */
+    void update(Identifier id, AssumedType type, double value) {
+        update(reusableSample.get().set(id, type, value));
+    }
+
+    /**
+     * Updates the named metric at the given point without allocating when the point is reused,
+     * as is the case for jdisc metric contexts.
+     *
+     * @param name the name of the metric
+     * @param point the point in the metric space to update, or null for the empty point
+     * @param type whether the value is a gauge sample or a counter increment
+     * @param value the value to record
+     */
+    public void update(String name, Point point, AssumedType type, Number value) {
+        update((point == null ? Point.emptyPoint() : point).identifier(name), type, value);
+    }
+
+    void update(Identifier id, AssumedType type, Number value) {
+        update(reusableSample.get().set(id, type, value));
+    }
+
     /**
      * Declare a counter metric without setting any default position.
      *
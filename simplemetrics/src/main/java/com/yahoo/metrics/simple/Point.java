@@ -4,6 +4,7 @@ package com.yahoo.metrics.simple;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.google.common.annotations.Beta;
 import com.google.common.collect.ImmutableList;
@@ -20,6 +21,10 @@ public final class Point implements Context {
 
     private final Value[] location;
     private final String[] dimensions;
+    private final int hashCode;
+
+    /** The identifiers of the metrics updated at this point, created lazily as points are commonly reused */
+    private volatile Map<String, Identifier> identifiers = null;
 
     public Point(Map<String, ?> properties) {
         this(buildParameters(properties));
@@ -38,6 +43,7 @@ public final class Point implements Context {
     Point(String[] dimensions, Value[] location) {
         this.dimensions = dimensions;
         this.location = location;
+        this.hashCode = 31 * (31 + Arrays.hashCode(dimensions)) + Arrays.hashCode(location);
     }
 
     private static final Point theEmptyPoint = new Point(new String[0], new Value[0]);
@@ -79,11 +85,7 @@ public final class Point implements Context {
 
     @Override
     public int hashCode() {
-        final int prime = 31;
-        int result = 1;
-        result = prime * result + Arrays.hashCode(dimensions);
-        result = prime * result + Arrays.hashCode(location);
-        return result;
+        return hashCode;
     }
 
     @Override
@@ -120,6 +122,27 @@ public final class Point implements Context {
         return dimensions.length;
     }
 
+    /**
+     * Returns the identifier of the given metric at this point, such that updating metrics at
+     * a point which is kept by the caller, as with jdisc metric contexts, does not allocate.
+     */
+    Identifier identifier(String metricName) {
+        Map<String, Identifier> identifiers = this.identifiers;
+        if (identifiers == null) {
+            synchronized (this) {
+                if (this.identifiers == null)
+                    this.identifiers = new ConcurrentHashMap<>();
+                identifiers = this.identifiers;
+            }
+        }
+        Identifier identifier = identifiers.get(metricName);
+        if (identifier == null) {
+            identifier = new Identifier(metricName, this);
+            identifiers.putIfAbsent(metricName, identifier);
+        }
+        return identifier;
+    }
+
     /** package private accessor only for simplemetrics itself */
     String[] getDimensions() {
         return dimensions;
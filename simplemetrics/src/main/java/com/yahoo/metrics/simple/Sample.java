@@ -5,29 +5,62 @@ import com.yahoo.metrics.simple.UntypedMetric.AssumedType;
 
 /**
  * A single metric measurement and all the meta data needed to route it
- * correctly.
+ * correctly. Samples are not retained after being passed to a {@link MetricReceiver},
+ * so simplemetrics itself reuses a sample per thread to record values.
  *
  * @author Steinar Knutsen
  */
 public class Sample {
 
-    private final Identifier identifier;
-    private final Measurement measurement;
-    private final AssumedType metricType;
+    private Identifier identifier;
+    private long longValue;
+    private double doubleValue;
+    private AssumedType metricType;
     private MetricReceiver metricReceiver = null;
 
     public Sample(Measurement measurement, Identifier id, AssumedType t) {
+        set(id, t, measurement.getMagnitude());
+    }
+
+    /** Creates an empty sample to be reused by calling one of the set methods */
+    Sample() { }
+
+    Sample set(Identifier id, AssumedType t, Number value) {
+        this.identifier = id;
+        this.metricType = t;
+        this.longValue = value.longValue();
+        this.doubleValue = value.doubleValue();
+        return this;
+    }
+
+    Sample set(Identifier id, AssumedType t, long value) {
         this.identifier = id;
-        this.measurement = measurement;
         this.metricType = t;
+        this.longValue = value;
+        this.doubleValue = value;
+        return this;
+    }
+
+    Sample set(Identifier id, AssumedType t, double value) {
+        this.identifier = id;
+        this.metricType = t;
+        this.longValue = (long)value;
+        this.doubleValue = value;
+        return this;
     }
 
     Identifier getIdentifier() {
         return identifier;
     }
 
-    Measurement getMeasurement() {
-        return measurement;
+    /** Returns the value of this as a long, as used by counters */
+    long getLongValue() {
+        return longValue;
+    }
+
+    /** Returns the value of this as a double, as used by gauges */
+    double getDoubleValue() {
+        return doubleValue;
     }
 
     AssumedType getMetricType() {
@@ -38,13 +38,21 @@ public class UntypedMetric {
     }
 
     void add(Number x) {
+        add(x.longValue());
+    }
+
+    void add(long x) {
         outputFormat = AssumedType.COUNTER;
-        count += x.longValue();
+        count += x;
     }
 
     void put(Number x) {
+        put(x.doubleValue());
+    }
+
+    void put(double x) {
         outputFormat = AssumedType.GAUGE;
-        current = x.doubleValue();
+        current = x;
         if (histogram != null) {
             histogram.recordValue(current);
         }
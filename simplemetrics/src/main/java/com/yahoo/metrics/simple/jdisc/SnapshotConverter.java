@@ -7,6 +7,7 @@ import java.util.concurrent.TimeUnit;
 import java.util.logging.Logger;
 
 import org.HdrHistogram.DoubleHistogram;
+import org.HdrHistogram.DoubleHistogramIterationValue;
 
 import com.yahoo.collections.Tuple2;
 import com.yahoo.container.jdisc.state.*;
@@ -69,11 +70,22 @@ class SnapshotConverter {
                 return GaugeMetric.newInstance(val.getLast(), val.getMax(), val.getMin(), val.getSum(), val.getCount());
             } else {
                 return GaugeMetric.newInstance(val.getLast(), val.getMax(), val.getMin(), val.getSum(), val.getCount(),
-                        Optional.of(buildPercentileList(val.getHistogram())));
+                        Optional.of(buildPercentileList(val.getHistogram())),
+                        Optional.of(buildSketch(val.getHistogram())));
             }
         }
     }
 
+    /** Converts a histogram to a sketch, which is less precise but can be merged across nodes */
+    private static HistogramSketch buildSketch(DoubleHistogram histogram) {
+        HistogramSketch sketch = new HistogramSketch();
+        for (DoubleHistogramIterationValue bucket : histogram.recordedValues()) {
+            sketch.record(histogram.medianEquivalentValue(bucket.getValueIteratedTo()),
+                          bucket.getCountAddedInThisIterationStep());
+        }
+        return sketch;
+    }
+
     private static List<Tuple2<String, Double>> buildPercentileList(DoubleHistogram histogram) {
         List<Tuple2<String, Double>> prefixAndValues = new ArrayList<>(2);
         prefixAndValues.add(new Tuple2<>("95", histogram.getValueAtPercentile(95.0d)));
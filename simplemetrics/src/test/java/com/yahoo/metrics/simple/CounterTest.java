@@ -62,6 +62,21 @@ public class CounterTest {
         assertEquals(twoToThePowerOfFourtyeight, x.get(0).getValue().getCount());
     }
 
+    @Test
+    public final void testUpdateByNameAndPoint() {
+        final String metricName = "unitTestCounter";
+        Point p = receiver.pointBuilder().set("x", 2L).build();
+        for (int i = 0; i < 3; i++) {
+            receiver.update(metricName, p, UntypedMetric.AssumedType.COUNTER, 2);
+            receiver.update(metricName, null, UntypedMetric.AssumedType.COUNTER, 1L);
+        }
+        Bucket b = receiver.getSnapshot();
+        List<Entry<Point, UntypedMetric>> x = b.getValuesByMetricName().get(metricName);
+        assertEquals(2, x.size());
+        for (Entry<Point, UntypedMetric> e : x)
+            assertEquals(e.getKey().equals(p) ? 6L : 3L, e.getValue().getCount());
+    }
+
     @Test
     public final void testAddPoint() throws InterruptedException {
         final String metricName = "unitTestCounter";
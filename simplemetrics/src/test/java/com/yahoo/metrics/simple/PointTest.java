@@ -7,6 +7,7 @@ import java.util.Collections;
 import java.util.HashMap;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 
 /**
  * @author bratseth
@@ -20,5 +21,15 @@ public class PointTest {
         assertEquals(a.hashCode(), b.hashCode());
         assertEquals(a, b);
     }
-    
+
+    @Test
+    public void testIdentifiersAreReusedPerPoint() {
+        Point a = new Point(Collections.singletonMap("x", "1"));
+        Point b = new Point(Collections.singletonMap("x", "1"));
+        assertSame(a.identifier("m"), a.identifier("m"));
+        assertEquals(new Identifier("m", a), a.identifier("m"));
+        assertEquals(a.identifier("m"), b.identifier("m"));
+        assertEquals(new Identifier("n", a), a.identifier("n"));
+    }
+
 }
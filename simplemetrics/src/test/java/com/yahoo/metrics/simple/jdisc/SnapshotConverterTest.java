@@ -3,13 +3,16 @@ package com.yahoo.metrics.simple.jdisc;
 
 import com.yahoo.container.jdisc.state.CountMetric;
 import com.yahoo.container.jdisc.state.GaugeMetric;
+import com.yahoo.container.jdisc.state.HistogramSketch;
 import com.yahoo.container.jdisc.state.MetricDimensions;
 import com.yahoo.container.jdisc.state.MetricSet;
 import com.yahoo.container.jdisc.state.MetricSnapshot;
 import com.yahoo.container.jdisc.state.MetricValue;
 import com.yahoo.metrics.simple.Bucket;
+import com.yahoo.metrics.simple.Gauge;
 import com.yahoo.metrics.simple.Identifier;
 import com.yahoo.metrics.simple.MetricReceiver;
+import com.yahoo.metrics.simple.MetricSettings;
 import com.yahoo.metrics.simple.Point;
 import com.yahoo.metrics.simple.UntypedMetric;
 import org.junit.Test;
@@ -17,6 +20,7 @@ import org.junit.Test;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
@@ -74,4 +78,19 @@ public class SnapshotConverterTest {
         }
     }
 
+    @Test
+    public void testHistogramConversion() {
+        MetricReceiver mock = new MetricReceiver.MockReceiver();
+        Gauge latency = mock.declareGauge("latency", Optional.empty(), new MetricSettings.Builder().histogram(true).build());
+        for (int i = 1; i <= 1000; i++)
+            latency.sample(i);
+
+        MetricSnapshot snapshot = new SnapshotConverter(mock.getSnapshot()).convert();
+        GaugeMetric gauge = (GaugeMetric)snapshot.iterator().next().getValue().get("latency");
+        HistogramSketch sketch = gauge.getSketch().get();
+        assertEquals(1000, sketch.getCount());
+        assertEquals(990, sketch.getValueAtQuantile(0.99), 990 * 0.02);
+        assertEquals(500, sketch.getValueAtQuantile(0.5), 500 * 0.02);
+    }
+
 }
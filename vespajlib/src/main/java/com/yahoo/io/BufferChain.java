@@ -72,6 +72,24 @@ public final class BufferChain {
         }
     }
 
+    /**
+     * Appends a copy of the given bytes. Unlike {@link #append(byte[], int, int)}, this never
+     * keeps a reference to the given array, so the caller may reuse it immediately. The bytes
+     * are copied once, directly into the chain's own buffers, filling each buffer before
+     * starting a new one.
+     */
+    public void appendCopy(final byte[] source, int offset, int length) throws java.io.IOException {
+        while (length > 0) {
+            if ( ! current.hasRemaining()) {
+                scratch();
+            }
+            final int chunk = Math.min(length, current.remaining());
+            current.put(source, offset, chunk);
+            offset += chunk;
+            length -= chunk;
+        }
+    }
+
     public void append(final ByteBuffer alreadyEncoded) throws java.io.IOException {
         if (alreadyEncoded.remaining() == 0) {
             return;
@@ -213,6 +213,26 @@ public class ByteWriterTestCase {
         assertEquals(valid, res[0]);
     }
 
+    @Test
+    public void testCopyingAppendDoesNotRetainArray() throws java.io.IOException {
+        final int length = BufferChain.BUFFERSIZE * 5 / 2;
+        ByteArrayOutputStream sink = new ByteArrayOutputStream();
+        BufferChain chain = new BufferChain(b -> sink.write(b.array(), b.arrayOffset() + b.position(), b.remaining()));
+        byte[] c = new byte[length + 2];
+        Arrays.fill(c, (byte) 2);
+        chain.appendCopy(c, 1, length);
+        Arrays.fill(c, (byte) 3);
+        chain.appendCopy(c, 0, 1);
+        chain.flush();
+        byte[] res = sink.toByteArray();
+        assertEquals(length + 1, res.length);
+        assertEquals(length + 1, chain.appended());
+        for (int i = 0; i < length; ++i) {
+            assertEquals(2, res[i]);
+        }
+        assertEquals(3, res[length]);
+    }
+
     @Test
     public void testStrings() throws java.io.IOException {
         stream.reset();
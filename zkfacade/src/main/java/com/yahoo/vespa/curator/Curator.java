@@ -7,6 +7,7 @@ import com.yahoo.cloud.config.CuratorConfig;
 import com.yahoo.path.Path;
 import com.yahoo.vespa.curator.api.VespaCurator;
 import com.yahoo.vespa.curator.recipes.CuratorCounter;
+import com.yahoo.vespa.curator.transaction.BatchingCommitter;
 import com.yahoo.vespa.defaults.Defaults;
 import com.yahoo.vespa.zookeeper.VespaZooKeeperServer;
 import com.yahoo.vespa.zookeeper.client.ZkClientConfigBuilder;
@@ -68,6 +69,9 @@ public class Curator implements VespaCurator, AutoCloseable {
     // All lock keys, to allow re-entrancy. This will grow forever, but this should be too slow to be a problem
     private final ConcurrentHashMap<Path, Lock> locks = new ConcurrentHashMap<>();
 
+    private final Object committerLock = new Object();
+    private BatchingCommitter batchingCommitter = null;
+
     /** Creates a curator instance from a comma-separated string of ZooKeeper host:port strings */
     public static Curator create(String connectionSpec) {
         return new Curator(ConnectionSpec.create(connectionSpec), Optional.of(ZK_CLIENT_CONFIG_FILE));
@@ -320,8 +324,21 @@ public class Curator implements VespaCurator, AutoCloseable {
         return curatorFramework;
     }
 
+    /** Returns the committer of transactions which are committed asynchronously against this, creating it on first use */
+    public BatchingCommitter batchingCommitter() {
+        synchronized (committerLock) {
+            if (batchingCommitter == null)
+                batchingCommitter = new BatchingCommitter(this);
+            return batchingCommitter;
+        }
+    }
+
     @Override
     public void close() {
+        synchronized (committerLock) {
+            if (batchingCommitter != null)
+                batchingCommitter.close();
+        }
         curatorFramework.close();
     }
 
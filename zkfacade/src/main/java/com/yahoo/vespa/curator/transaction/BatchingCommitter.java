@@ -0,0 +1,149 @@
+// Copyright Verizon Media. Licensed under the terms of the Apache 2.0 license. See LICENSE in the project root.
+package com.yahoo.vespa.curator.transaction;
+
+import com.yahoo.vespa.curator.Curator;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Commits transactions submitted from any thread, in the order they are submitted, on a single writer thread.
+ * Transactions which are submitted while a previous commit is in progress are combined into a single ZooKeeper
+ * multi-operation, such that many small, independent transactions share each round trip to ZooKeeper.
+ * If a combined commit fails, its transactions are committed one by one, such that each transaction
+ * still succeeds or fails atomically, and independently of the others.
+ *
+ * @see CuratorTransaction#commitAsync()
+ */
+public class BatchingCommitter implements AutoCloseable {
+
+    private static final Logger log = Logger.getLogger(BatchingCommitter.class.getName());
+
+    /** The max number of operations in a combined commit, to stay well below the max request size of ZooKeeper */
+    static final int DEFAULT_MAX_BATCH_OPERATIONS = 100;
+
+    private final Curator curator;
+    private final int maxBatchOperations;
+    private final Thread writer;
+
+    private final Object monitor = new Object();
+    private final Deque<Submission> pending = new ArrayDeque<>();
+    private boolean closed = false;
+
+    public BatchingCommitter(Curator curator) {
+        this(curator, DEFAULT_MAX_BATCH_OPERATIONS);
+    }
+
+    BatchingCommitter(Curator curator, int maxBatchOperations) {
+        this.curator = curator;
+        this.maxBatchOperations = maxBatchOperations;
+        this.writer = new Thread(this::run, "curator-batching-committer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Submits the given operations for commit as a single transaction, after all previously submitted transactions.
+     * The operations are not checked before they are committed, but are all rejected by ZooKeeper if any
+     * cannot be performed, after the transactions submitted before them are committed.
+     *
+     * @return a future which is completed when the operations are committed,
+     *         or exceptionally if they could not be committed
+     * @throws IllegalStateException if this is closed
+     */
+    public CompletableFuture<Void> submit(List<CuratorOperation> operations) {
+        Submission submission = new Submission(List.copyOf(operations));
+        synchronized (monitor) {
+            if (closed) throw new IllegalStateException("Cannot commit " + operations + ": Committer is closed");
+            pending.add(submission);
+            monitor.notifyAll();
+        }
+        return submission.result;
+    }
+
+    /** Commits all transactions submitted before this is called, and then stops the writer thread */
+    @Override
+    public void close() {
+        synchronized (monitor) {
+            closed = true;
+            monitor.notifyAll();
+        }
+        try {
+            writer.join();
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        for (List<Submission> batch = nextBatch(); ! batch.isEmpty(); batch = nextBatch())
+            commit(batch);
+    }
+
+    /** Returns the next pending submissions to commit, waiting for one if none are pending, or empty when closed */
+    private List<Submission> nextBatch() {
+        synchronized (monitor) {
+            while (pending.isEmpty() && ! closed) {
+                try {
+                    monitor.wait();
+                }
+                catch (InterruptedException e) {
+                    // Keep waiting; this thread is stopped by closing this
+                }
+            }
+
+            List<Submission> batch = new ArrayList<>();
+            int operations = 0;
+            while ( ! pending.isEmpty() && (batch.isEmpty() || operations + pending.peek().operations.size() <= maxBatchOperations)) {
+                operations += pending.peek().operations.size();
+                batch.add(pending.poll());
+            }
+            return batch;
+        }
+    }
+
+    private void commit(List<Submission> batch) {
+        if (batch.size() > 1) {
+            List<CuratorOperation> operations = new ArrayList<>();
+            for (Submission submission : batch)
+                operations.addAll(submission.operations);
+            try {
+                CuratorTransaction.commit(operations, curator);
+                for (Submission submission : batch)
+                    submission.result.complete(null);
+                return;
+            }
+            catch (Exception e) {
+                log.log(Level.FINE, e, () -> "Combined commit of " + batch.size() + " transactions failed, committing each separately");
+            }
+        }
+
+        for (Submission submission : batch) {
+            try {
+                CuratorTransaction.commit(submission.operations, curator);
+                submission.result.complete(null);
+            }
+            catch (Exception e) {
+                submission.result.completeExceptionally(new IllegalStateException(e));
+            }
+        }
+    }
+
+    private static class Submission {
+
+        private final List<CuratorOperation> operations;
+        private final CompletableFuture<Void> result = new CompletableFuture<>();
+
+        private Submission(List<CuratorOperation> operations) {
+            this.operations = operations;
+        }
+
+    }
+
+}
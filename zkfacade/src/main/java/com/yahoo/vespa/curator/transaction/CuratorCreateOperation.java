@@ -42,6 +42,9 @@ class CuratorCreateOperation implements CuratorOperation {
         }
     }
 
+    @Override
+    public Optional<Path> path() { return Optional.of(Path.fromString(path)); }
+
     @Override
     public String toString() {
         return "CREATE " + path;
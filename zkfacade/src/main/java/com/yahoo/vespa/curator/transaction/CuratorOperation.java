@@ -1,10 +1,13 @@
 // Copyright 2017 Yahoo Holdings. Licensed under the terms of the Apache 2.0 license. See LICENSE in the project root.
 package com.yahoo.vespa.curator.transaction;
 
+import com.yahoo.path.Path;
 import com.yahoo.transaction.Transaction;
 import com.yahoo.vespa.curator.Curator;
 import org.apache.curator.framework.api.transaction.CuratorTransaction;
 
+import java.util.Optional;
+
 /**
  * The ZooKeeper operations that we support doing transactional.
  *
@@ -42,4 +45,7 @@ public interface CuratorOperation extends Transaction.Operation {
      */
     void check(Curator curator, TransactionChanges changes);
 
+    /** Returns the path changed by this operation, or empty if this may change any path */
+    default Optional<Path> path() { return Optional.empty(); }
+
 }
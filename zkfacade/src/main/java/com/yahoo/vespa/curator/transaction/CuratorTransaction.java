@@ -6,6 +6,7 @@ import com.yahoo.vespa.curator.Curator;
 import org.apache.curator.framework.api.transaction.CuratorTransactionFinal;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 /**
@@ -56,16 +57,41 @@ public class CuratorTransaction extends AbstractTransaction {
         try {
             if ( ! prepared)
                 prepare();
-            org.apache.curator.framework.api.transaction.CuratorTransaction transaction = curator.framework().inTransaction();
-            for (Operation operation : operations()) {
-                transaction = ((CuratorOperation)operation).and(transaction);
-            }
-            ((CuratorTransactionFinal) transaction).commit();
+            commit(curatorOperations(), curator);
         } catch (Exception e) {
             throw new IllegalStateException(e);
         }
     }
 
+    /**
+     * Commits this transaction asynchronously.
+     * Transactions committed asynchronously against the same curator are committed in the order this is called,
+     * and may be combined with each other to save round trips to ZooKeeper, while each remains atomic.
+     * Transactions committed synchronously are not ordered with respect to pending asynchronous commits.
+     *
+     * This does not prepare the transaction: The checks of prepare would read ZooKeeper before transactions
+     * committed earlier are written, and so reject a transaction depending on those. Instead, ZooKeeper
+     * rejects the whole transaction when committing if any of its operations cannot be performed.
+     *
+     * @return a future which is completed when this is committed, or exceptionally if it could not be committed
+     */
+    public CompletableFuture<Void> commitAsync() {
+        return curator.batchingCommitter().submit(curatorOperations());
+    }
+
+    private List<CuratorOperation> curatorOperations() {
+        return operations().stream().map(operation -> (CuratorOperation) operation).collect(Collectors.toList());
+    }
+
+    /** Commits the given operations atomically, in a single ZooKeeper multi-operation */
+    static void commit(List<CuratorOperation> operations, Curator curator) throws Exception {
+        org.apache.curator.framework.api.transaction.CuratorTransaction transaction = curator.framework().inTransaction();
+        for (CuratorOperation operation : operations) {
+            transaction = operation.and(transaction);
+        }
+        ((CuratorTransactionFinal) transaction).commit();
+    }
+
     @Override
     public String toString() {
         return operations().stream().map(Object::toString).collect(Collectors.joining(","));
@@ -0,0 +1,144 @@
+// Copyright Verizon Media. Licensed under the terms of the Apache 2.0 license. See LICENSE in the project root.
+package com.yahoo.vespa.curator.transaction;
+
+import com.yahoo.path.Path;
+import com.yahoo.vespa.curator.Curator;
+import com.yahoo.vespa.curator.mock.MockCurator;
+import org.apache.zookeeper.server.ServerCnxnFactory;
+import org.apache.zookeeper.server.ZooKeeperServer;
+import org.junit.Ignore;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class BatchingCommitterTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void transactions_are_committed_in_order_and_fail_independently() {
+        Curator curator = new MockCurator();
+        try (BatchingCommitter committer = new BatchingCommitter(curator, 4)) {
+            List<CompletableFuture<Void>> results = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                results.add(committer.submit(List.of(CuratorOperations.create("/node" + i, "first".getBytes(UTF_8)))));
+                results.add(committer.submit(List.of(CuratorOperations.setData("/node" + i, "second".getBytes(UTF_8)),
+                                                     CuratorOperations.create("/node" + i + "/child"))));
+                // Fails, as the node already exists, and leaves no partial changes
+                results.add(committer.submit(List.of(CuratorOperations.setData("/node" + i, "third".getBytes(UTF_8)),
+                                                     CuratorOperations.create("/node" + i))));
+            }
+
+            for (int i = 0; i < results.size(); i++) {
+                if (i % 3 < 2) {
+                    results.get(i).join();
+                }
+                else {
+                    try {
+                        results.get(i).join();
+                        fail("Expected transaction " + i + " to fail");
+                    }
+                    catch (CompletionException expected) { }
+                }
+            }
+            for (int i = 0; i < 10; i++) {
+                assertEquals("second", new String(curator.getData(Path.fromString("/node" + i)).get(), UTF_8));
+                assertTrue(curator.exists(Path.fromString("/node" + i + "/child")));
+            }
+        }
+    }
+
+    @Test
+    public void transactions_submitted_before_close_are_committed() {
+        Curator curator = new MockCurator();
+        BatchingCommitter committer = new BatchingCommitter(curator);
+        CompletableFuture<Void> result = committer.submit(List.of(CuratorOperations.create("/node")));
+        committer.close();
+        assertTrue(result.isDone());
+        assertTrue(curator.exists(Path.fromString("/node")));
+
+        try {
+            committer.submit(List.of(CuratorOperations.create("/other")));
+            fail("Expected exception");
+        }
+        catch (IllegalStateException expected) { }
+        assertFalse(curator.exists(Path.fromString("/other")));
+    }
+
+    @Test
+    public void async_commit_of_curator_transaction() {
+        Curator curator = new MockCurator();
+        CuratorTransaction.from(CuratorOperations.create("/node"), curator).commitAsync().join();
+        assertTrue(curator.exists(Path.fromString("/node")));
+
+        try {
+            CuratorTransaction.from(CuratorOperations.delete("/other"), curator).commitAsync().join();
+            fail("Expected commit to fail");
+        }
+        catch (CompletionException expected) { }
+    }
+
+    @Test
+    public void async_commits_of_curator_transactions_may_depend_on_earlier_ones() {
+        Curator curator = new MockCurator();
+        CompletableFuture<Void> created = CuratorTransaction.from(CuratorOperations.create("/node"), curator).commitAsync();
+        CompletableFuture<Void> updated = CuratorTransaction.from(List.of(CuratorOperations.setData("/node", "data".getBytes(UTF_8)),
+                                                                          CuratorOperations.create("/node/child")),
+                                                                  curator)
+                                                            .commitAsync();
+        created.join();
+        updated.join();
+        assertEquals("data", new String(curator.getData(Path.fromString("/node")).get(), UTF_8));
+        assertTrue(curator.exists(Path.fromString("/node/child")));
+    }
+
+    /** Benchmark of small transactions per second, against a local ZooKeeper server */
+    @Test
+    @Ignore
+    public void benchmarkTransactionsAgainstLocalZooKeeper() throws Exception {
+        File directory = temporaryFolder.newFolder();
+        ZooKeeperServer server = new ZooKeeperServer(directory, directory, 2000);
+        ServerCnxnFactory connections = ServerCnxnFactory.createFactory(0, 100);
+        connections.startup(server);
+        try (Curator curator = Curator.create("localhost:" + connections.getLocalPort(), Optional.empty())) {
+            int count = 10_000;
+            curator.create(Path.fromString("/sync"));
+            curator.create(Path.fromString("/async"));
+
+            long startTime = System.nanoTime();
+            for (int i = 0; i < count; i++)
+                CuratorTransaction.from(CuratorOperations.create("/sync/node" + i, new byte[100]), curator).commit();
+            report("Synchronous", count, startTime);
+
+            startTime = System.nanoTime();
+            List<CompletableFuture<Void>> results = new ArrayList<>();
+            for (int i = 0; i < count; i++)
+                results.add(CuratorTransaction.from(CuratorOperations.create("/async/node" + i, new byte[100]), curator).commitAsync());
+            results.forEach(CompletableFuture::join);
+            report("Asynchronous", count, startTime);
+        }
+        finally {
+            connections.shutdown();
+        }
+    }
+
+    private static void report(String kind, int count, long startNanos) {
+        double seconds = (System.nanoTime() - startNanos) * 1e-9;
+        System.out.printf("%s: %d transactions in %.2f s, %.0f per second%n", kind, count, seconds, count / seconds);
+    }
+
+}